@@ -0,0 +1,37 @@
+package fr.esipe.elevatorsim.bench;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+
+/**
+ * Scénarios des benchmarks : préréglages de ScenarioPreset (graine fixe).
+ */
+public final class BenchmarkScenarios {
+
+    private BenchmarkScenarios() {
+    }
+
+    public static SimulationConfig config(String size) {
+        return ScenarioPreset.fromName(size).generate();
+    }
+
+    /**
+     * Simulation prête à lancer (requêtes déjà générées), sans résumé console.
+     */
+    public static Simulation newSimulation(SimulationConfig config, String strategy, SimulationOptions options) {
+        Building building = ModelFactory.buildFromConfig(config);
+        SimulationClock clock = new SimulationClock(
+                config.simulation.dayDurationSeconds,
+                config.simulation.tickSeconds
+        );
+        SimulationOptions o = options.copy();
+        o.printSummary = false;
+        return new Simulation(building, clock, StrategyFactory.dispatcherFromName(strategy), o);
+    }
+}
@@ -0,0 +1,46 @@
+package fr.esipe.elevatorsim.bench;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elevator.step d'une cabine qui fait la navette entre le RDC et le 20e étage
+ * (accélération, croisière, freinage, portes).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElevatorStepBenchmark {
+
+    private Elevator elevator;
+    private boolean up;
+
+    @Setup
+    public void setUp() {
+        elevator = new Elevator(1, 8, 1.0, 0.5, 2);
+    }
+
+    @Benchmark
+    public double step() {
+        if (!elevator.hasStops() && !elevator.isDoorOpen()) {
+            up = !up;
+            elevator.addStop(up ? 20 : 0);
+        }
+        elevator.step(1);
+        return elevator.getPosition();
+    }
+}
@@ -0,0 +1,101 @@
+package fr.esipe.elevatorsim.bench;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.ColumnarReportWriter;
+import fr.esipe.elevatorsim.stats.ElevatorStopsJsonWriter;
+import fr.esipe.elevatorsim.stats.JsonReportWriter;
+import fr.esipe.elevatorsim.stats.ResidentsReportJsonWriter;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Écriture des rapports d'une journée simulée (bâtiment medium) dans un répertoire temporaire.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportWriterBenchmark {
+
+    @Param({"medium"})
+    public String size;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private Simulation simulation;
+    private Building building;
+    private SimulationStats stats;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        SimulationConfig config = BenchmarkScenarios.config(size);
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        building = ModelFactory.buildFromConfig(config);
+        simulation = new Simulation(building,
+                new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                new NearestRequestStrategy(), options);
+        simulation.run();
+        stats = simulation.getStats();
+        directory = Files.createTempDirectory("elevator-bench-");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        simulation.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void report() {
+        JsonReportWriter.write(directory.resolve("report.json").toString(), stats, simulation.getAllRequests(), compact);
+    }
+
+    @Benchmark
+    public void elevatorStops() {
+        ElevatorStopsJsonWriter.write(directory.resolve("elevators.json").toString(),
+                simulation.getElevatorStopEvents(), compact);
+    }
+
+    @Benchmark
+    public void residents() {
+        ResidentsReportJsonWriter.write(directory.resolve("residents.json").toString(),
+                building, simulation.getAllRequests(), compact);
+    }
+
+    @Benchmark
+    public void columnar() {
+        ColumnarReportWriter.writeRequests(directory.resolve("requests").toString(), simulation.getAllRequests(), compact);
+        ColumnarReportWriter.writeStops(directory.resolve("stops").toString(), simulation.getElevatorStopEvents(), compact);
+    }
+}
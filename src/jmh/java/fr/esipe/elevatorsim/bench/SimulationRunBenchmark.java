@@ -0,0 +1,70 @@
+package fr.esipe.elevatorsim.bench;
+
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation.run complet (une journée) ; la construction du modèle est hors mesure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationRunBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    @Param({"tick", "event"})
+    public String engine;
+
+    @Param({"nearest", "look", "cost"})
+    public String strategy;
+
+    private SimulationConfig config;
+    private SimulationOptions options;
+    private Simulation simulation;
+
+    @Setup(Level.Trial)
+    public void loadConfig() {
+        config = BenchmarkScenarios.config(size);
+        options = new SimulationOptions();
+        options.engineMode = EngineMode.fromName(engine);
+    }
+
+    @Setup(Level.Invocation)
+    public void newSimulation() {
+        simulation = BenchmarkScenarios.newSimulation(config, strategy, options);
+    }
+
+    @TearDown(Level.Invocation)
+    public void close() {
+        simulation.close();
+    }
+
+    @Benchmark
+    public SimulationStats run() {
+        simulation.run();
+        return simulation.getStats();
+    }
+}
@@ -0,0 +1,87 @@
+package fr.esipe.elevatorsim.bench;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.PendingRequestIndex;
+import fr.esipe.elevatorsim.strategy.ElevatorStrategy;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ElevatorStrategy.step sur une cabine libre face à N requêtes non assignées.
+ *
+ * Régime stationnaire : après chaque décision, la requête choisie est servie
+ * (pickup + dropoff) et remplacée par une nouvelle, puis la cabine (unique, créée au setup)
+ * est libérée par clearStops() : l'index ne grossit pas d'un run à l'autre, et ce recyclage
+ * fait partie de la mesure (coût constant, indépendant de N).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StrategyStepBenchmark {
+
+    private static final int FLOORS = 100;
+
+    @Param({"fcfs", "nearest"})
+    public String strategy;
+
+    @Param({"10", "1000", "100000"})
+    public int pending;
+
+    private ElevatorStrategy elevatorStrategy;
+    private Building building;
+    private Elevator elevator;
+    private PendingRequestIndex index;
+    private SplittableRandom random;
+    private int nextTime;
+    private int nextResident;
+
+    @Setup
+    public void setUp() {
+        elevatorStrategy = StrategyFactory.fromName(strategy);
+        building = new Building(FLOORS, 3.0);
+        elevator = new Elevator(1, 8, 1.0, 0.5, 2);
+        index = new PendingRequestIndex(FLOORS);
+        random = new SplittableRandom(42);
+        for (int i = 0; i < pending; i++) {
+            index.activate(newRequest());
+        }
+    }
+
+    @Benchmark
+    public Elevator step() {
+        ElevatorRequest chosen = index.oldestUnassigned();   // candidat FCFS, écrasé ci-dessous
+        elevatorStrategy.step(building, elevator, index, nextTime, 1);
+        for (ElevatorRequest r : index.awaitingPickup(elevator)) {
+            chosen = r;
+        }
+        index.pickedUp(chosen, nextTime);
+        index.droppedOff(chosen, nextTime);
+        elevator.clearStops();
+        index.activate(newRequest());
+        return elevator;
+    }
+
+    private ElevatorRequest newRequest() {
+        int origin = random.nextInt(FLOORS);
+        int destination = (origin + 1 + random.nextInt(FLOORS - 1)) % FLOORS;
+        return new ElevatorRequest(nextResident++, nextTime++, origin, destination);
+    }
+}
@@ -0,0 +1,52 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.bench.BenchmarkScenarios;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation.computeStats après une journée simulée (même paquetage : méthode non publique,
+ * getStats mettant le résultat en cache).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComputeStatsBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    private Simulation simulation;
+
+    @Setup
+    public void setUp() {
+        simulation = BenchmarkScenarios.newSimulation(BenchmarkScenarios.config(size), "nearest", new SimulationOptions());
+        simulation.run();
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.close();
+    }
+
+    @Benchmark
+    public SimulationStats computeStats() {
+        return simulation.computeStats();
+    }
+}
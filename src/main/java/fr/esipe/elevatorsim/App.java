@@ -2,16 +2,35 @@ package fr.esipe.elevatorsim;
 
 import fr.esipe.elevatorsim.config.ConfigLoader;
 import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
 import fr.esipe.elevatorsim.config.SimulationConfig;
 import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.ParameterSweep;
+import fr.esipe.elevatorsim.simulation.ReplicationRunner;
 import fr.esipe.elevatorsim.simulation.Simulation;
 import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.simulation.TraceReader;
+import fr.esipe.elevatorsim.stats.ColumnarReportWriter;
 import fr.esipe.elevatorsim.stats.JsonReportWriter;
+import fr.esipe.elevatorsim.stats.ReplicationSummary;
+import fr.esipe.elevatorsim.stats.ReplicationSummaryJsonWriter;
 import fr.esipe.elevatorsim.stats.SimulationStats;
-import fr.esipe.elevatorsim.strategy.ElevatorStrategy;
+import fr.esipe.elevatorsim.stats.StatsMetric;
+import fr.esipe.elevatorsim.stats.SweepReportWriter;
+import fr.esipe.elevatorsim.stats.SweepResult;
 import fr.esipe.elevatorsim.strategy.StrategyFactory;
 import fr.esipe.elevatorsim.ui.ConsoleUI;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class App {
 
     public static void main(String[] args) {
@@ -19,7 +38,30 @@ public class App {
         String configPath = "config/demo-config.json";
         String strategyName = "nearest";
         String reportPath = "target/reports/demo-report.json";
+        String engineName = "tick";
         boolean interactive = false;
+        boolean compactJson = false;
+        String reportFormat = "json";
+        boolean compressColumns = false;
+        boolean profile = false;
+        int checkpointEvery = 0;
+        Integer parallelStep = null;
+        boolean fleetState = false;
+        String checkpointPath = null;
+        String restorePath = null;
+        String tracePath = null;
+        String traceInspect = null;
+        String traceVerify = null;
+        int traceFrom = 0;
+        int traceTo = Integer.MAX_VALUE;
+        Integer traceElevator = null;
+        int traceLimit = 50;
+        String generatePreset = null;
+        String generateOut = null;
+        int replications = 0;
+        Long baseSeed = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> sweepArgs = new ArrayList<>();
 
         // Parse args
         for (String arg : args) {
@@ -32,25 +74,104 @@ public class App {
                 strategyName = arg.substring("--strategy=".length());
             } else if (arg.startsWith("--report=")) {
                 reportPath = arg.substring("--report=".length());
+            } else if (arg.startsWith("--engine=")) {
+                engineName = arg.substring("--engine=".length());
+            } else if (arg.startsWith("--replications=")) {
+                replications = Integer.parseInt(arg.substring("--replications=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                baseSeed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--sweep-")) {
+                sweepArgs.add(arg);
+            } else if (arg.startsWith("--report-format=")) {
+                reportFormat = arg.substring("--report-format=".length());
+            } else if (arg.startsWith("--generate=")) {
+                generatePreset = arg.substring("--generate=".length());
+            } else if (arg.startsWith("--generate-out=")) {
+                generateOut = arg.substring("--generate-out=".length());
+            } else if ("--fleet-state".equals(arg)) {
+                fleetState = true;
+            } else if (arg.startsWith("--parallel-step=")) {
+                parallelStep = Integer.parseInt(arg.substring("--parallel-step=".length()));
+            } else if (arg.startsWith("--checkpoint-every=")) {
+                checkpointEvery = Integer.parseInt(arg.substring("--checkpoint-every=".length()));
+            } else if (arg.startsWith("--checkpoint=")) {
+                checkpointPath = arg.substring("--checkpoint=".length());
+            } else if (arg.startsWith("--restore=")) {
+                restorePath = arg.substring("--restore=".length());
+            } else if (arg.startsWith("--trace=")) {
+                tracePath = arg.substring("--trace=".length());
+            } else if (arg.startsWith("--trace-inspect=")) {
+                traceInspect = arg.substring("--trace-inspect=".length());
+            } else if (arg.startsWith("--trace-verify=")) {
+                traceVerify = arg.substring("--trace-verify=".length());
+            } else if (arg.startsWith("--trace-from=")) {
+                traceFrom = Integer.parseInt(arg.substring("--trace-from=".length()));
+            } else if (arg.startsWith("--trace-to=")) {
+                traceTo = Integer.parseInt(arg.substring("--trace-to=".length()));
+            } else if (arg.startsWith("--trace-elevator=")) {
+                traceElevator = Integer.parseInt(arg.substring("--trace-elevator=".length()));
+            } else if (arg.startsWith("--trace-limit=")) {
+                traceLimit = Integer.parseInt(arg.substring("--trace-limit=".length()));
+            } else if ("--profile".equals(arg)) {
+                profile = true;
+            } else if ("--compress-columns".equals(arg)) {
+                compressColumns = true;
+            } else if ("--compact-json".equals(arg)) {
+                compactJson = true;
             } else if ("--interactive".equals(arg)) {
                 interactive = true;
             }
         }
 
+        if (traceInspect != null) {
+            inspectTrace(traceInspect, traceFrom, traceTo, traceElevator, traceLimit);
+            return;
+        }
+
+        if (generatePreset != null) {
+            ScenarioPreset preset = ScenarioPreset.fromName(generatePreset);
+            String out = (generateOut != null)
+                    ? generateOut
+                    : "target/scenarios/" + preset.name().toLowerCase() + ".json";
+            preset.generator().write(out);
+            System.out.println("Scénario " + preset.name().toLowerCase() + " écrit dans " + out);
+            return;
+        }
+
         // Charger modèle depuis la config
         SimulationConfig config = ConfigLoader.load(configPath);
         Building building = ModelFactory.buildFromConfig(config);
-        ElevatorStrategy strategy = StrategyFactory.fromName(strategyName);
-
         if (interactive) {
             // UI console minimaliste (pas de lib externe)
-            new ConsoleUI(building, config, strategy, reportPath).start();
+            new ConsoleUI(building, config, strategyName, reportPath).start();
+            return;
+        }
+
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = EngineMode.fromName(engineName);
+        options.profile = profile;
+        if (parallelStep != null) {
+            options.parallelStepMinFleet = parallelStep;
+        }
+        options.fleetState = fleetState;
+
+        if (!sweepArgs.isEmpty()) {
+            runSweep(config, options, sweepArgs, threads, reportPath);
+            return;
+        }
+
+        if (replications > 0) {
+            runReplications(config, strategyName, options, replications,
+                    (baseSeed != null) ? baseSeed : config.simulation.randomSeed, threads, reportPath);
             return;
         }
 
         // Mode non interactif (batch)
         System.out.println("Configuration: " + configPath);
         System.out.println("Stratégie    : " + strategyName);
+        System.out.println("Moteur       : " + engineName);
         System.out.println("Rapport JSON : " + reportPath);
 
         SimulationClock clock = new SimulationClock(
@@ -58,45 +179,268 @@ public class App {
                 config.simulation.tickSeconds
         );
 
-        Simulation simulation = new Simulation(building, clock, strategy);
+        options.checkpointIntervalSeconds = checkpointEvery;
+        if (checkpointPath != null) {
+            options.checkpointPath = checkpointPath;
+        }
+        Path verifyTrace = null;
+        if (traceVerify != null) {
+            try {
+                verifyTrace = Files.createTempFile("elevator-trace-", ".bin");
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to create trace file", e);
+            }
+            options.tracePath = verifyTrace.toString();
+        } else {
+            options.tracePath = tracePath;
+        }
+        Simulation simulation = new Simulation(building, clock, StrategyFactory.dispatcherFromName(strategyName), options);
+        if (restorePath != null) {
+            simulation.restoreCheckpoint(Paths.get(restorePath));
+            System.out.println("Reprise      : " + restorePath + " (t = " + clock.getCurrentTimeSeconds() + " s)");
+        }
         simulation.run();
+        if (tracePath != null && traceVerify == null) {
+            System.out.println("Trace écrite dans " + tracePath);
+        }
+        if (verifyTrace != null) {
+            verifyTrace(Paths.get(traceVerify), verifyTrace);
+        }
 
         SimulationStats stats = simulation.getStats();
-        JsonReportWriter.write(reportPath, stats, simulation.getAllRequests());
+
+        if ("binary".equalsIgnoreCase(reportFormat)) {
+            // Statistiques en JSON (petites), requêtes et arrêts en colonnes binaires
+            String base = reportPath.replace(".json", "");
+            JsonReportWriter.write(reportPath, stats, List.of(), compactJson);
+            ColumnarReportWriter.writeRequests(base + "-requests", simulation.getAllRequests(), compressColumns);
+            ColumnarReportWriter.writeStops(base + "-stops", simulation.getElevatorStopEvents(), compressColumns);
+            System.out.println("Rapports binaires écrits sous " + base + "-requests/ et " + base + "-stops/");
+            simulation.close();
+            return;
+        }
+        if (!"json".equalsIgnoreCase(reportFormat)) {
+            System.out.println("[WARN] Format de rapport inconnu '" + reportFormat + "', JSON utilisé.");
+        }
+
+        JsonReportWriter.write(reportPath, stats, simulation.getAllRequests(), compactJson);
 
         // Si vous avez les writers détaillés :
         try {
             fr.esipe.elevatorsim.stats.ElevatorStopsJsonWriter.write(
                     reportPath.replace(".json", "-elevators.json"),
-                    simulation.getElevatorStopEvents()
+                    simulation.getElevatorStopEvents(),
+                    compactJson
             );
             fr.esipe.elevatorsim.stats.ResidentsReportJsonWriter.write(
                     reportPath.replace(".json", "-residents.json"),
                     building,
-                    simulation.getAllRequests()
+                    simulation.getAllRequests(),
+                    compactJson
             );
         } catch (Throwable ignored) {
             // MVP : ignorer si absents
         }
+        simulation.close();
 
         System.out.println("Rapports écrits sous " + reportPath);
     }
 
+    /**
+     * Affiche les enregistrements d'une trace : fenêtre de temps, éventuellement d'une seule cabine.
+     */
+    private static void inspectTrace(String path, int from, int to, Integer elevatorId, int limit) {
+        try (TraceReader trace = new TraceReader(Paths.get(path))) {
+            System.out.printf("Trace %s : %d enregistrements, tick %d s%n", path, trace.size(), trace.getTickSeconds());
+            if (elevatorId != null) {
+                // Chaînage arrière de la cabine, affiché dans l'ordre chronologique
+                List<Long> records = new ArrayList<>();
+                for (long i = trace.lastOfElevator(elevatorId); i >= 0 && trace.tick(i) >= from - trace.getTickSeconds();
+                     i = trace.previousOfElevator(i)) {
+                    if (trace.time(i) >= from && trace.time(i) <= to) {
+                        records.add(i);
+                    }
+                }
+                for (int k = records.size() - 1; k >= Math.max(0, records.size() - limit); k--) {
+                    System.out.println(trace.format(records.get(k)));
+                }
+                return;
+            }
+            int printed = 0;
+            for (long i = trace.seekTime(from); i < trace.size() && trace.tick(i) <= to && printed < limit; i++) {
+                System.out.println(trace.format(i));
+                printed++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read trace " + path, e);
+        }
+    }
+
+    /**
+     * Compare la trace du run courant à une trace de référence (premier écart et son contexte).
+     */
+    private static void verifyTrace(Path expectedPath, Path actualPath) {
+        try (TraceReader expected = new TraceReader(expectedPath);
+             TraceReader actual = new TraceReader(actualPath)) {
+            if (expected.getRequestsFingerprint() != actual.getRequestsFingerprint()
+                    || expected.getTickSeconds() != actual.getTickSeconds()) {
+                System.out.println("[WARN] La trace de référence vient d'un autre scénario (config, graine ou tick).");
+            }
+            long diff = expected.firstDifference(actual);
+            if (diff < 0) {
+                System.out.printf("[OK] Trace identique à %s (%d enregistrements)%n", expectedPath, expected.size());
+                return;
+            }
+            System.out.printf("[DIFF] Premier écart à l'enregistrement %d :%n", diff);
+            for (long i = Math.max(0, diff - 3); i <= diff; i++) {
+                System.out.println("  attendu : " + ((i < expected.size()) ? expected.format(i) : "(fin de trace)"));
+                System.out.println("  obtenu  : " + ((i < actual.size()) ? actual.format(i) : "(fin de trace)"));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compare traces", e);
+        } finally {
+            try {
+                Files.deleteIfExists(actualPath);
+            } catch (IOException ignored) {
+                // fichier temporaire
+            }
+        }
+    }
+
+    private static void runReplications(SimulationConfig config,
+                                        String strategyName,
+                                        SimulationOptions options,
+                                        int replications,
+                                        long baseSeed,
+                                        int threads,
+                                        String reportPath) {
+        System.out.printf("Réplications : %d (graine de base %d, %d threads)%n", replications, baseSeed, threads);
+
+        long start = System.nanoTime();
+        ReplicationRunner runner = new ReplicationRunner(
+                config, strategyName, options);
+        ReplicationSummary summary = runner.run(replications, baseSeed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("=== Résumé des réplications ===");
+        System.out.printf("%-20s %12s %12s %25s%n", "Métrique", "Moyenne", "Écart-type", "IC 95 %");
+        summary.metrics.forEach((name, m) ->
+                System.out.printf("%-20s %12.4f %12.4f [%11.4f ; %11.4f]%n",
+                        name, m.mean, m.stdDev, m.ci95Low, m.ci95High));
+        System.out.printf("Durée : %.2f s%n", seconds);
+
+        String out = reportPath.replace(".json", "-replications.json");
+        ReplicationSummaryJsonWriter.write(out, summary);
+        System.out.println("Résumé écrit sous " + out);
+    }
+
+    private static void runSweep(SimulationConfig config,
+                                 SimulationOptions options,
+                                 List<String> sweepArgs,
+                                 int threads,
+                                 String reportPath) {
+        ParameterSweep sweep = new ParameterSweep(config, options);
+        StatsMetric sortMetric = StatsMetric.AVERAGE_WAIT;
+        boolean descending = false;
+
+        for (String arg : sweepArgs) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--sweep-elevators=")) {
+                sweep.elevatorCounts = ParameterSweep.parseIntRange(value);
+            } else if (arg.startsWith("--sweep-capacity=")) {
+                sweep.capacities = ParameterSweep.parseIntRange(value);
+            } else if (arg.startsWith("--sweep-speed=")) {
+                sweep.maxSpeeds = ParameterSweep.parseDoubleRange(value);
+            } else if (arg.startsWith("--sweep-acceleration=")) {
+                sweep.accelerations = ParameterSweep.parseDoubleRange(value);
+            } else if (arg.startsWith("--sweep-door=")) {
+                sweep.doorOpenTimes = ParameterSweep.parseIntRange(value);
+            } else if (arg.startsWith("--sweep-strategies=")) {
+                sweep.strategies = Arrays.asList(value.split(","));
+            } else if (arg.startsWith("--sweep-sort=")) {
+                sortMetric = StatsMetric.fromName(value);
+            } else if ("--sweep-desc".equals(arg)) {
+                descending = true;
+            } else {
+                System.out.println("[WARN] Option de balayage inconnue : " + arg);
+            }
+        }
+
+        int points = sweep.expand().size();
+        System.out.printf("Balayage : %d configurations sur %d threads%n", points, threads);
+
+        long start = System.nanoTime();
+        List<SweepResult> results = SweepResult.sortedBy(sweep.run(threads), sortMetric, descending);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-4s %-4s %-6s %-6s %-4s %-10s %12s%n",
+                "Asc", "Cap", "Vmax", "Accel", "Port", "Stratégie", sortMetric.getFieldName());
+        for (SweepResult r : results.subList(0, Math.min(10, results.size()))) {
+            System.out.printf("%-4d %-4d %-6.2f %-6.2f %-4d %-10s %12.4f%n",
+                    r.elevators, r.capacity, r.maxSpeedFloorsPerSecond, r.accelerationFloorsPerSecond2,
+                    r.doorOpenTimeSeconds, r.strategy, r.metrics.get(sortMetric.getFieldName()));
+        }
+        System.out.printf("Durée : %.2f s%n", seconds);
+
+        String base = reportPath.replace(".json", "-sweep");
+        SweepReportWriter.writeCsv(base + ".csv", results);
+        SweepReportWriter.writeJson(base + ".json", results);
+        System.out.println("Tableau comparatif écrit sous " + base + ".csv / .json");
+    }
+
     private static void printHelp() {
         System.out.println("""
                 Usage:
                   java -jar target/elevator-simulator.jar [options]
                 
                 Options:
-                  --config=PATH         Chemin classpath vers le JSON de configuration (def: config/demo-config.json)
-                  --strategy=NAME       fcfs | nearest (def: nearest)
+                  --config=PATH         Fichier JSON de configuration (éventuellement .gz) ou ressource classpath
+                                        (def: config/demo-config.json)
+                  --strategy=NAME       fcfs | nearest | scan | look | cost | destination (def: nearest)
                   --report=PATH         Chemin du rapport JSON (def: target/reports/demo-report.json)
+                  --engine=NAME         tick | event : pas fixe ou événementiel (def: tick)
+                  --replications=N      Lance N réplications Monte Carlo en parallèle (moyennes, IC 95 %)
+                  --seed=S              Graine de base des réplications (def: randomSeed de la config)
+                  --threads=T           Threads pour les réplications et balayages (def: nombre de coeurs)
+                  --sweep-elevators=R   Balayage : nombre d'ascenseurs (R = 2,4,8 ou 1:6 ou 2:10:2)
+                  --sweep-capacity=R    Balayage : capacité
+                  --sweep-speed=R       Balayage : vitesse max (étages/s), ex. 0.5,1.0 ou 0.5:2.0:0.5 (pas obligatoire)
+                  --sweep-acceleration=R  Balayage : accélération (étages/s^2)
+                  --sweep-door=R        Balayage : temps d'ouverture des portes (s)
+                  --sweep-strategies=L  Balayage : stratégies, ex. fcfs,nearest
+                  --sweep-sort=METRIC   Tri du tableau (def: averageWait) ; --sweep-desc pour décroissant
+                  --compact-json        Rapports JSON sans indentation (plus compacts, plus rapides à écrire)
+                  --report-format=F     json | binary : requêtes et arrêts en colonnes int32 (def: json)
+                  --compress-columns    Compresse chaque colonne binaire (Deflate)
+                  --generate=PRESET     Écrit un scénario synthétique (small | medium | large | tower) et quitte
+                  --generate-out=PATH   Fichier du scénario généré (def: target/scenarios/<preset>.json)
+                  --fleet-state         État des cabines en tableaux parallèles, flotte avancée en une boucle
+                                        (-Delevatorsim.vector=true : jdk.incubator.vector, profil Maven vector)
+                  --parallel-step=N     Pas des cabines en parallèle à partir de N cabines (def: 64, 0 = jamais)
+                  --checkpoint-every=S  Point de reprise binaire toutes les S secondes simulées (écrit en tâche de fond)
+                  --checkpoint=PATTERN  Fichier des points de reprise, %d = instant simulé
+                                        (def: target/checkpoints/checkpoint-%d.ckpt)
+                  --restore=PATH        Reprend le run depuis un point de reprise (même config, stratégie et moteur)
+                  --trace=PATH          Trace binaire des décisions (activations, affectations, arrêts, portes,
+                                        montées, descentes) dans un fichier projeté en mémoire
+                  --trace-inspect=PATH  Affiche une trace et quitte ; filtres --trace-from=T, --trace-to=T,
+                                        --trace-elevator=ID, --trace-limit=N (def: 50)
+                  --trace-verify=PATH   Rejoue le run et compare ses décisions à une trace de référence
+                  --profile             Chronos par phase du moteur (résumé + MBean JMX SimulationProfiler)
                   --interactive         Lance l'interface console interactive
                   --help, -h            Affiche cette aide
                 
                 Exemples:
                   java -jar ... --interactive
                   java -jar ... --strategy=fcfs --report=target/reports/fcfs.json
+                  java -jar ... --engine=event
+                  java -jar ... --strategy=cost --checkpoint-every=3600
+                  java -jar ... --strategy=cost --restore=target/checkpoints/checkpoint-43200.ckpt
+                  java -jar ... --strategy=cost --trace=target/traces/cost.trace
+                  java -jar ... --trace-inspect=target/traces/cost.trace --trace-elevator=2 --trace-from=28800
+                  java -jar ... --strategy=cost --trace-verify=target/traces/cost.trace
+                  java -jar ... --replications=1000 --seed=7 --engine=event
+                  java -jar ... --engine=event --sweep-elevators=1:4 --sweep-capacity=6,8 --sweep-strategies=fcfs,nearest
                 """);
     }
 }
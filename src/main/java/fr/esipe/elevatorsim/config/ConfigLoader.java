@@ -1,29 +1,129 @@
 package fr.esipe.elevatorsim.config;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 /**
- * Charge un SimulationConfig depuis un fichier JSON dans le classpath.
+ * Charge un SimulationConfig depuis un fichier JSON (système de fichiers, éventuellement
+ * compressé gzip) ou, à défaut, depuis le classpath.
+ *
+ * La lecture se fait en flux : les sections usuelles sont petites et lues d'un bloc,
+ * la liste explicite de résidents (residentList) n'est jamais chargée en entier ;
+ * elle est relue résident par résident par streamResidents.
  */
 public final class ConfigLoader {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_BYTES = 1 << 16;
 
     private ConfigLoader() {
     }
 
-    public static SimulationConfig load(String resourcePath) {
-        ClassLoader cl = Thread.currentThread().getContextClassLoader();
-        try (InputStream in = cl.getResourceAsStream(resourcePath)) {
-            if (in == null) {
-                throw new IllegalArgumentException("Config resource not found: " + resourcePath);
+    public static SimulationConfig load(String location) {
+        try (InputStream in = open(location);
+             JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            SimulationConfig config = parse(parser);
+            config.source = location;
+            return config;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load config from " + location, e);
+        }
+    }
+
+    /**
+     * Passe chaque entrée de residentList, une à la fois, au consommateur.
+     */
+    public static void streamResidents(SimulationConfig config, Consumer<SimulationConfig.ResidentEntry> consumer) {
+        if (!config.residentListPresent) {
+            return;
+        }
+        try (InputStream in = open(config.source);
+             JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (!"residentList".equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    consumer.accept(MAPPER.readValue(parser, SimulationConfig.ResidentEntry.class));
+                }
+                return;
             }
-            return MAPPER.readValue(in, SimulationConfig.class);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load config from " + resourcePath, e);
+            throw new RuntimeException("Failed to read residentList from " + config.source, e);
+        }
+    }
+
+    /**
+     * Fichier si le chemin existe, sinon ressource classpath ; gzip détecté par son en-tête.
+     */
+    static InputStream open(String location) throws IOException {
+        InputStream raw;
+        Path path = Path.of(location);
+        if (Files.isRegularFile(path)) {
+            raw = Files.newInputStream(path);
+        } else {
+            ClassLoader cl = Thread.currentThread().getContextClassLoader();
+            raw = cl.getResourceAsStream(location);
+            if (raw == null) {
+                throw new IllegalArgumentException("Config not found (file or classpath resource): " + location);
+            }
+        }
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER_BYTES);
+        in.mark(2);
+        int b0 = in.read();
+        int b1 = in.read();
+        in.reset();
+        if (b0 == 0x1f && b1 == 0x8b) {
+            return new BufferedInputStream(new GZIPInputStream(in, BUFFER_BYTES), BUFFER_BYTES);
+        }
+        return in;
+    }
+
+    private static SimulationConfig parse(JsonParser parser) throws IOException {
+        SimulationConfig config = new SimulationConfig();
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "building" -> config.building = MAPPER.readValue(parser, SimulationConfig.BuildingConfig.class);
+                case "residents" -> config.residents = MAPPER.readValue(parser, SimulationConfig.ResidentsConfig.class);
+                case "elevators" -> config.elevators = MAPPER.readValue(parser,
+                        new TypeReference<List<SimulationConfig.ElevatorConfig>>() { });
+                case "simulation" -> config.simulation = MAPPER.readValue(parser, SimulationConfig.SimulationParameters.class);
+                case "residentList" -> {
+                    config.residentListPresent = true;
+                    parser.skipChildren();   // relu en flux par ModelFactory
+                }
+                default -> {
+                    System.out.println("[WARN] Section de config inconnue ignorée : " + name);
+                    parser.skipChildren();
+                }
+            }
+        }
+        return config;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual
+                    + " at " + parser.currentLocation());
         }
     }
 }
@@ -6,7 +6,9 @@ import fr.esipe.elevatorsim.model.Floor;
 import fr.esipe.elevatorsim.model.Resident;
 import fr.esipe.elevatorsim.model.ResidentTripPlan;
 
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 /**
  * Construit le Building, les résidents et les ascenseurs à partir d'un SimulationConfig.
@@ -17,62 +19,122 @@ public final class ModelFactory {
     }
 
     public static Building buildFromConfig(SimulationConfig config) {
+        return buildFromConfig(config, config.simulation.randomSeed);
+    }
+
+    /**
+     * Variante avec une graine explicite (réplications Monte Carlo).
+     */
+    public static Building buildFromConfig(SimulationConfig config, long randomSeed) {
         // 1) Bâtiment
         Building building = new Building(
                 config.building.floorsCount,
                 config.building.floorHeight
         );
 
-        // 2) Résidents + habitudes
+        // 2) Résidents + habitudes : étages générés en parallèle, un flux aléatoire par résident
         SimulationConfig.ResidentsConfig rc = config.residents;
-        Random random = new Random(config.simulation.randomSeed);
+        List<Floor> floors = building.getFloors();
+        int[] firstIds = new int[floors.size() + 1];   // ids consécutifs, étage par étage
+        firstIds[0] = 1;
+        for (int f = 0; f < floors.size(); f++) {
+            int count = (rc == null || f == 0) ? 0 : residentsOnFloor(rc, f);   // pas de résidents au RDC
+            firstIds[f + 1] = firstIds[f] + count;
+        }
+        if (rc != null) {
+            IntStream.range(1, floors.size()).parallel().forEach(f ->
+                    populateFloor(floors.get(f), firstIds[f], firstIds[f + 1] - firstIds[f], rc, randomSeed));
+        }
 
-        int residentId = 1;
-        for (Floor floor : building.getFloors()) {
-            int index = floor.getIndex();
-            if (index == 0) {
-                continue; // pas de résidents au RDC
-            }
+        // 2 bis) Résidents explicites, lus un par un
+        if (config.residentListPresent) {
+            int[] nextId = {firstIds[floors.size()]};
+            ConfigLoader.streamResidents(config, entry -> {
+                int id = (entry.id != null) ? entry.id : nextId[0];
+                nextId[0] = Math.max(nextId[0], id) + 1;
+                SplittableRandom random = RandomStreams.forResident(randomSeed, id, RandomStreams.RESIDENT_HABITS);
+                Resident r = new Resident(id, entry.homeFloor);
+                if (entry.trips != null) {
+                    for (SimulationConfig.ResidentsConfig.TimeWindow w : entry.trips) {
+                        int dep = randomInWindow(random, w.earliest, w.latest);
+                        int target = (w.targetFloor != null) ? w.targetFloor : entry.homeFloor;
+                        r.addTripPlan(new ResidentTripPlan(dep, dep, target));
+                    }
+                }
+                building.getFloor(entry.homeFloor).addResident(r);
+            });
+        }
+
+        // 3) Ascenseurs
+        for (SimulationConfig.ElevatorConfig ec : config.elevators) {
+            building.addElevator(buildElevator(ec));
+        }
+
+        return building;
+    }
 
-            for (int i = 0; i < rc.defaultPerFloor; i++) {
-                Resident r = new Resident(residentId++, index);
+    public static Elevator buildElevator(SimulationConfig.ElevatorConfig ec) {
+        return new Elevator(
+                ec.id,
+                ec.capacity,
+                ec.maxSpeedFloorsPerSecond,
+                ec.accelerationFloorsPerSecond2,
+                ec.doorOpenTimeSeconds
+        );
+    }
 
-                // Matin
-                if (rc.morning != null) {
-                    int dep = randomInWindow(random, rc.morning.earliest, rc.morning.latest);
-                    int target = (rc.morning.targetFloor != null)
-                            ? rc.morning.targetFloor
-                            : 0;
+    /**
+     * Résidents d'un étage ; ne dépend que de la graine et des ids (indépendant des autres étages).
+     */
+    private static void populateFloor(Floor floor,
+                                      int firstId,
+                                      int count,
+                                      SimulationConfig.ResidentsConfig rc,
+                                      long randomSeed) {
+        int index = floor.getIndex();
+        for (int id = firstId; id < firstId + count; id++) {
+            SplittableRandom random = RandomStreams.forResident(randomSeed, id, RandomStreams.RESIDENT_HABITS);
+            Resident r = new Resident(id, index);
+
+            if (rc.trips != null) {
+                // Trajets explicites, dans l'ordre chronologique
+                for (SimulationConfig.ResidentsConfig.TimeWindow w : rc.trips) {
+                    int dep = randomInWindow(random, w.earliest, w.latest);
+                    int target = (w.targetFloor != null) ? w.targetFloor : index;
                     r.addTripPlan(new ResidentTripPlan(dep, dep, target));
                 }
+                floor.addResident(r);
+                continue;
+            }
 
-                // Soir
-                if (rc.evening != null) {
-                    int dep = randomInWindow(random, rc.evening.earliest, rc.evening.latest);
-                    // retour vers l'étage de domicile
-                    r.addTripPlan(new ResidentTripPlan(dep, dep, index));
-                }
+            // Matin
+            if (rc.morning != null) {
+                int dep = randomInWindow(random, rc.morning.earliest, rc.morning.latest);
+                int target = (rc.morning.targetFloor != null)
+                        ? rc.morning.targetFloor
+                        : 0;
+                r.addTripPlan(new ResidentTripPlan(dep, dep, target));
+            }
 
-                floor.addResident(r);
+            // Soir
+            if (rc.evening != null) {
+                int dep = randomInWindow(random, rc.evening.earliest, rc.evening.latest);
+                // retour vers l'étage de domicile
+                r.addTripPlan(new ResidentTripPlan(dep, dep, index));
             }
-        }
 
-        // 3) Ascenseurs
-        for (SimulationConfig.ElevatorConfig ec : config.elevators) {
-            Elevator e = new Elevator(
-                    ec.id,
-                    ec.capacity,
-                    ec.maxSpeedFloorsPerSecond,
-                    ec.accelerationFloorsPerSecond2,
-                    ec.doorOpenTimeSeconds
-            );
-            building.addElevator(e);
+            floor.addResident(r);
         }
+    }
 
-        return building;
+    private static int residentsOnFloor(SimulationConfig.ResidentsConfig rc, int floorIndex) {
+        if (rc.perFloor != null) {
+            return (floorIndex < rc.perFloor.size()) ? rc.perFloor.get(floorIndex) : 0;
+        }
+        return rc.defaultPerFloor;
     }
 
-    private static int randomInWindow(Random random, int earliest, int latest) {
+    private static int randomInWindow(SplittableRandom random, int earliest, int latest) {
         if (latest <= earliest) {
             return earliest;
         }
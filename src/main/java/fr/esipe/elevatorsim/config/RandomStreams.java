@@ -0,0 +1,35 @@
+package fr.esipe.elevatorsim.config;
+
+import java.util.SplittableRandom;
+
+/**
+ * Flux aléatoires indépendants dérivés d'une graine (mélange SplitMix64).
+ *
+ * Un flux par résident : la génération d'un résident ne dépend que de la graine et de
+ * son id, pas de l'ordre de parcours ; elle peut donc se faire en parallèle et donne
+ * le même résultat quel que soit le nombre de threads.
+ */
+public final class RandomStreams {
+
+    /** Habitudes des résidents (ModelFactory). */
+    public static final int RESIDENT_HABITS = 0;
+    /** Heures de départ des trajets (Simulation). */
+    public static final int TRIP_DEPARTURES = 1;
+
+    private RandomStreams() {
+    }
+
+    public static long seedFor(long baseSeed, long stream) {
+        long z = baseSeed + (stream + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Générateur propre à un résident et à un usage (RESIDENT_HABITS, TRIP_DEPARTURES).
+     */
+    public static SplittableRandom forResident(long baseSeed, int residentId, int purpose) {
+        return new SplittableRandom(seedFor(seedFor(baseSeed, purpose), residentId));
+    }
+}
@@ -0,0 +1,179 @@
+package fr.esipe.elevatorsim.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génère un SimulationConfig synthétique à partir de quelques paramètres de taille
+ * (étages, résidents par étage tirés d'une loi, batteries d'ascenseurs, trajets par résident).
+ * Le résultat est déterministe pour une graine donnée.
+ */
+public class ScenarioGenerator {
+
+    public enum Distribution { FIXED, UNIFORM, POISSON }
+
+    /**
+     * Batterie de cabines identiques.
+     */
+    public static class Bank {
+        public int count;
+        public int capacity = 8;
+        public double maxSpeedFloorsPerSecond = 1.0;
+        public double accelerationFloorsPerSecond2 = 0.5;
+        public int doorOpenTimeSeconds = 2;
+
+        public Bank() {
+        }
+
+        public Bank(int count, int capacity, double maxSpeedFloorsPerSecond) {
+            this.count = count;
+            this.capacity = capacity;
+            this.maxSpeedFloorsPerSecond = maxSpeedFloorsPerSecond;
+        }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public int floors = 10;
+    public double floorHeight = 3.0;
+
+    public Distribution residentsDistribution = Distribution.FIXED;
+    public double residentsPerFloor = 5;     // moyenne (ou valeur exacte pour FIXED)
+    public double residentsSpread = 0;       // UNIFORM : tirage dans [moyenne - spread, moyenne + spread]
+
+    public List<Bank> banks = new ArrayList<>(List.of(new Bank(2, 8, 1.0)));
+    public int tripsPerResident = 2;         // 1er : vers le RDC le matin ; dernier : retour le soir
+
+    public int dayDurationSeconds = 86400;
+    public int tickSeconds = 1;
+    public long seed = 42;
+
+    public SimulationConfig generate() {
+        if (floors < 1) {
+            throw new IllegalArgumentException("floors must be >= 1");
+        }
+        if (tripsPerResident < 1) {
+            throw new IllegalArgumentException("tripsPerResident must be >= 1");
+        }
+        Random random = new Random(seed);
+        SimulationConfig c = new SimulationConfig();
+
+        c.building = new SimulationConfig.BuildingConfig();
+        c.building.floorsCount = floors;
+        c.building.floorHeight = floorHeight;
+
+        c.residents = new SimulationConfig.ResidentsConfig();
+        c.residents.perFloor = new ArrayList<>(floors + 1);
+        c.residents.perFloor.add(0);   // pas de résidents au RDC
+        for (int f = 1; f <= floors; f++) {
+            c.residents.perFloor.add(drawResidents(random));
+        }
+        c.residents.trips = tripWindows();
+
+        c.elevators = new ArrayList<>();
+        int id = 1;
+        for (Bank bank : banks) {
+            for (int i = 0; i < bank.count; i++) {
+                SimulationConfig.ElevatorConfig e = new SimulationConfig.ElevatorConfig();
+                e.id = id++;
+                e.capacity = bank.capacity;
+                e.maxSpeedFloorsPerSecond = bank.maxSpeedFloorsPerSecond;
+                e.accelerationFloorsPerSecond2 = bank.accelerationFloorsPerSecond2;
+                e.doorOpenTimeSeconds = bank.doorOpenTimeSeconds;
+                c.elevators.add(e);
+            }
+        }
+
+        c.simulation = new SimulationConfig.SimulationParameters();
+        c.simulation.dayDurationSeconds = dayDurationSeconds;
+        c.simulation.tickSeconds = tickSeconds;
+        c.simulation.randomSeed = seed;
+        return c;
+    }
+
+    public void write(String filePath) {
+        try {
+            Path path = Path.of(filePath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            MAPPER.writeValue(path.toFile(), generate());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write scenario to " + filePath, e);
+        }
+    }
+
+    private int drawResidents(Random random) {
+        switch (residentsDistribution) {
+            case UNIFORM: {
+                int low = (int) Math.max(0, Math.round(residentsPerFloor - residentsSpread));
+                int high = (int) Math.max(low, Math.round(residentsPerFloor + residentsSpread));
+                return low + random.nextInt(high - low + 1);
+            }
+            case POISSON:
+                return poisson(random, residentsPerFloor);
+            case FIXED:
+            default:
+                return (int) Math.round(residentsPerFloor);
+        }
+    }
+
+    /**
+     * Loi de Poisson : inversion pour les petites moyennes, approximation normale au-delà.
+     */
+    private static int poisson(Random random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double p = random.nextDouble();
+        int k = 0;
+        while (p > limit) {
+            p *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    /**
+     * Fenêtres des trajets : départ vers le RDC le matin (7h-9h), retour le soir (17h-20h),
+     * et les trajets intermédiaires (alternativement RDC puis domicile) répartis entre 10h et 16h.
+     * Ramenées dans la journée simulée si elle est plus courte.
+     */
+    private List<SimulationConfig.ResidentsConfig.TimeWindow> tripWindows() {
+        List<SimulationConfig.ResidentsConfig.TimeWindow> windows = new ArrayList<>(tripsPerResident);
+        double scale = Math.min(1.0, dayDurationSeconds / 86400.0);
+        for (int t = 0; t < tripsPerResident; t++) {
+            int earliest;
+            int latest;
+            if (t == 0) {
+                earliest = 7 * 3600;
+                latest = 9 * 3600;
+            } else if (t == tripsPerResident - 1 && t % 2 == 1) {
+                earliest = 17 * 3600;
+                latest = 20 * 3600;
+            } else {
+                int middle = tripsPerResident - 1;
+                double slot = (6 * 3600.0) / middle;
+                earliest = (int) (10 * 3600 + (t - 1) * slot);
+                latest = (int) (10 * 3600 + t * slot) - 1;
+            }
+            SimulationConfig.ResidentsConfig.TimeWindow w = new SimulationConfig.ResidentsConfig.TimeWindow();
+            w.earliest = (int) (earliest * scale);
+            w.latest = (int) (latest * scale);
+            w.targetFloor = (t % 2 == 0) ? 0 : null;   // null = domicile
+            windows.add(w);
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,60 @@
+package fr.esipe.elevatorsim.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tailles de scénario nommées, partagées par les benchmarks et le test de passage à l'échelle.
+ */
+public enum ScenarioPreset {
+
+    SMALL(10, 5, 2, List.of(new ScenarioGenerator.Bank(2, 8, 1.0))),
+    MEDIUM(40, 20, 2, List.of(new ScenarioGenerator.Bank(8, 8, 1.0))),
+    LARGE(100, 60, 4, List.of(
+            new ScenarioGenerator.Bank(16, 12, 1.5),
+            new ScenarioGenerator.Bank(8, 16, 3.0))),
+    TOWER(150, 1340, 4, List.of(
+            new ScenarioGenerator.Bank(20, 16, 2.0),
+            new ScenarioGenerator.Bank(20, 16, 2.0),
+            new ScenarioGenerator.Bank(20, 20, 4.0)));
+
+    private final int floors;
+    private final int residentsPerFloor;
+    private final int tripsPerResident;
+    private final List<ScenarioGenerator.Bank> banks;
+
+    ScenarioPreset(int floors, int residentsPerFloor, int tripsPerResident, List<ScenarioGenerator.Bank> banks) {
+        this.floors = floors;
+        this.residentsPerFloor = residentsPerFloor;
+        this.tripsPerResident = tripsPerResident;
+        this.banks = banks;
+    }
+
+    /**
+     * Générateur pré-rempli (modifiable avant generate()). Résidents par étage : loi de Poisson.
+     */
+    public ScenarioGenerator generator() {
+        ScenarioGenerator g = new ScenarioGenerator();
+        g.floors = floors;
+        g.residentsDistribution = (this == SMALL)
+                ? ScenarioGenerator.Distribution.FIXED
+                : ScenarioGenerator.Distribution.POISSON;
+        g.residentsPerFloor = residentsPerFloor;
+        g.tripsPerResident = tripsPerResident;
+        g.banks = new ArrayList<>(banks);
+        return g;
+    }
+
+    public SimulationConfig generate() {
+        return generator().generate();
+    }
+
+    public static ScenarioPreset fromName(String name) {
+        for (ScenarioPreset preset : values()) {
+            if (preset.name().equalsIgnoreCase(name)) {
+                return preset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario preset: " + name);
+    }
+}
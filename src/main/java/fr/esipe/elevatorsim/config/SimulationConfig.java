@@ -1,10 +1,14 @@
 package fr.esipe.elevatorsim.config;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * Représente la configuration de la simulation chargée depuis un fichier JSON.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class SimulationConfig {
 
     public BuildingConfig building;
@@ -12,17 +16,28 @@ public class SimulationConfig {
     public List<ElevatorConfig> elevators;
     public SimulationParameters simulation;
 
+    // Liste explicite de résidents (section "residentList") : jamais chargée en mémoire,
+    // relue en flux depuis source par ModelFactory (cf. ConfigLoader.streamResidents).
+    @JsonIgnore
+    public String source;
+    @JsonIgnore
+    public boolean residentListPresent;
+
     public static class BuildingConfig {
         public int floorsCount;
         public double floorHeight;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class ResidentsConfig {
         public int defaultPerFloor;
+        public List<Integer> perFloor;  // optionnel : nb de résidents par étage (indice = étage, RDC ignoré)
 
         public TimeWindow morning; // vers targetFloor (ex: 0)
         public TimeWindow evening; // retour vers homeFloor
+        public List<TimeWindow> trips; // optionnel : trajets successifs (remplace morning/evening)
 
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         public static class TimeWindow {
             public int earliest;
             public int latest;
@@ -30,6 +45,15 @@ public class SimulationConfig {
         }
     }
 
+    /**
+     * Entrée de residentList : un résident et ses trajets (targetFloor absent = domicile).
+     */
+    public static class ResidentEntry {
+        public Integer id;          // optionnel : à la suite des résidents générés
+        public int homeFloor;
+        public List<ResidentsConfig.TimeWindow> trips;
+    }
+
     public static class ElevatorConfig {
         public int id;
         public int capacity;
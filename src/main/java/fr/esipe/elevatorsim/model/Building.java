@@ -28,6 +28,21 @@ public class Building {
         }
     }
 
+    /**
+     * Nouveau bâtiment partageant les étages (et donc les résidents) d'un autre,
+     * sans ascenseur. Les résidents ne sont que lus pendant une simulation :
+     * plusieurs simulations concurrentes peuvent partager les mêmes étages.
+     */
+    public static Building sharingFloors(Building other) {
+        return new Building(other);
+    }
+
+    private Building(Building other) {
+        this.floorsCount = other.floorsCount;
+        this.floorHeight = other.floorHeight;
+        this.floors = other.floors;
+    }
+
     public int getFloorsCount() {
         return floorsCount;
     }
@@ -1,11 +1,20 @@
 package fr.esipe.elevatorsim.model;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
- * Représente une cabine d'ascenseur avec un modèle physique simplifié.
+ * Représente une cabine d'ascenseur.
  * Unité de position : étage (0 = rez-de-chaussée).
+ *
+ * Le mouvement suit un profil trapézoïdal calculé en forme close (MotionProfile) :
+ * un tick avance le temps continu de tickSeconds, les arrivées et fermetures de portes
+ * tombent à leur instant exact à l'intérieur du tick. Le résultat ne dépend donc pas
+ * du pas de temps, sauf pour les décisions des stratégies (prises aux bornes des ticks).
+ *
+ * L'état dynamique est rangé dans un FleetState (tableaux par cabine) : la cabine en est
+ * une vue sur son emplacement, seule dans le sien tant qu'elle n'est pas regroupée.
  */
 public class Elevator {
 
@@ -20,19 +29,14 @@ public class Elevator {
     private final double accelerationFloorsPerSecond2;
     private final int doorOpenTimeSeconds;
 
-    // État dynamique
-    private double position; // en étages
-    private double velocity; // en étages/s
-    private Direction direction = Direction.IDLE;
+    // État dynamique : emplacement de la cabine dans l'état de sa flotte (cf. FleetState)
+    private FleetState state;
+    private int slot;
 
-    private boolean doorOpen = false;
-    private int remainingDoorTime = 0;
+    // Arrêts prévus (bitset par sens) ; ordre de service FIFO par défaut
+    private final StopSet stops;
 
-    private final Queue<Integer> stops = new ArrayDeque<>();
-
-    // Occupation & énergie
-    private int passengersOnboard = 0;
-    private double energyConsumed = 0.0;
+    static final double EPSILON = 1e-9;
 
     // Modèle d'énergie simplifié en montée
     private static final double BASE_ENERGY_PER_FLOOR_UP = 1.0;
@@ -55,8 +59,58 @@ public class Elevator {
         this.accelerationFloorsPerSecond2 = accelerationFloorsPerSecond2;
         this.doorOpenTimeSeconds = doorOpenTimeSeconds;
 
-        this.position = 0.0;
-        this.velocity = 0.0;
+        this.state = new FleetState(1);
+        this.slot = 0;
+        state.cars[0] = this;
+        state.direction[0] = Direction.IDLE;
+        this.stops = new StopSet(StopOrder.FIFO);
+    }
+
+    /**
+     * Copie complète de l'état (paramètres + état dynamique + arrêts), dans sa propre flotte.
+     */
+    public Elevator(Elevator other) {
+        this.id = other.id;
+        this.capacity = other.capacity;
+        this.maxSpeedFloorsPerSecond = other.maxSpeedFloorsPerSecond;
+        this.accelerationFloorsPerSecond2 = other.accelerationFloorsPerSecond2;
+        this.doorOpenTimeSeconds = other.doorOpenTimeSeconds;
+
+        this.state = new FleetState(1);
+        this.slot = 0;
+        state.cars[0] = this;
+        copySlot(other.state, other.slot, state, 0);
+        this.stops = new StopSet(other.stops);
+    }
+
+    /**
+     * Déplace l'état dynamique de la cabine dans un autre état de flotte (cf. FleetState.of).
+     */
+    void moveTo(FleetState target, int targetSlot) {
+        copySlot(state, slot, target, targetSlot);
+        target.cars[targetSlot] = this;
+        state = target;
+        slot = targetSlot;
+    }
+
+    private static void copySlot(FleetState from, int i, FleetState to, int j) {
+        to.position[j] = from.position[i];
+        to.velocity[j] = from.velocity[i];
+        to.direction[j] = from.direction[i];
+        to.doorOpen[j] = from.doorOpen[i];
+        to.remainingDoorTime[j] = from.remainingDoorTime[i];
+        to.profile[j] = from.profile[i];
+        to.profileElapsed[j] = from.profileElapsed[i];
+        to.passengersOnboard[j] = from.passengersOnboard[i];
+        to.energyConsumed[j] = from.energyConsumed[i];
+        to.arrivalsCount[j] = from.arrivalsCount[i];
+    }
+
+    /**
+     * Énergie d'une montée de movedUp étages avec cette charge.
+     */
+    static double upwardEnergy(double movedUp, int passengers) {
+        return movedUp * (BASE_ENERGY_PER_FLOOR_UP + ENERGY_PER_PASSENGER_PER_FLOOR_UP * passengers);
     }
 
     public int getId() {
@@ -68,19 +122,26 @@ public class Elevator {
     }
 
     public double getPosition() {
-        return position;
+        return state.position[slot];
+    }
+
+    /**
+     * Vitesse signée (étages/s, positive en montée).
+     */
+    public double getVelocity() {
+        return state.velocity[slot];
     }
 
     public int getCurrentFloorRounded() {
-        return (int) Math.round(position);
+        return (int) Math.round(state.position[slot]);
     }
 
     public boolean isDoorOpen() {
-        return doorOpen;
+        return state.doorOpen[slot];
     }
 
     public Direction getDirection() {
-        return direction;
+        return state.direction[slot];
     }
 
     public boolean hasStops() {
@@ -88,24 +149,74 @@ public class Elevator {
     }
 
     public Integer peekCurrentTarget() {
-        return stops.peek();
+        int target = currentTarget();
+        return (target < 0) ? null : target;
+    }
+
+    /**
+     * Étage visé selon l'ordre de service des arrêts, ou -1 s'il n'y en a pas (sans boxing).
+     */
+    public int currentTarget() {
+        return stops.peek(getStoppingPosition(), state.direction[slot]);
+    }
+
+    /**
+     * Position où la cabine s'arrêterait en freinant maintenant (sa position si elle est à l'arrêt).
+     * Les étages entre les deux ne peuvent plus être desservis dans le sens de marche : le
+     * balayage vise le premier arrêt à partir de là, ce qui garde la cible stable entre deux
+     * événements.
+     */
+    public double getStoppingPosition() {
+        double velocity = state.velocity[slot];
+        return state.position[slot] + velocity * Math.abs(velocity) / (2 * accelerationFloorsPerSecond2);
+    }
+
+    /**
+     * Arrêts prévus de la cabine (vue vivante : une stratégie peut les interroger
+     * et les modifier directement).
+     */
+    public StopSet getStops() {
+        return stops;
+    }
+
+    public StopOrder getStopOrder() {
+        return stops.getOrder();
+    }
+
+    /**
+     * Choisit l'ordre de service des arrêts (FIFO par défaut).
+     */
+    public void setStopOrder(StopOrder order) {
+        stops.setOrder(order);
     }
 
     public int getPassengersOnboard() {
-        return passengersOnboard;
+        return state.passengersOnboard[slot];
     }
 
     public double getEnergyConsumed() {
-        return energyConsumed;
+        return state.energyConsumed[slot];
+    }
+
+    public int getArrivalsCount() {
+        return state.arrivalsCount[slot];
+    }
+
+    /**
+     * Vrai si l'ascenseur n'a plus rien à faire : aucun arrêt, portes fermées.
+     * Dans cet état, step() ne change plus rien.
+     */
+    public boolean isIdle() {
+        return stops.isEmpty() && !state.doorOpen[slot];
     }
 
     public void passengerEnters() {
-        passengersOnboard++;
+        state.passengersOnboard[slot]++;
     }
 
     public void passengerLeaves() {
-        if (passengersOnboard > 0) {
-            passengersOnboard--;
+        if (state.passengersOnboard[slot] > 0) {
+            state.passengersOnboard[slot]--;
         }
     }
 
@@ -114,7 +225,7 @@ public class Elevator {
     public int getDoorOpenTimeSeconds() { return doorOpenTimeSeconds; }
 
     /**
-     * Ajoute un arrêt à la file de destinations.
+     * Ajoute un arrêt (sans effet si l'étage est déjà un arrêt).
      */
     public void addStop(int floor) {
         if (floor < 0) {
@@ -123,100 +234,228 @@ public class Elevator {
         stops.add(floor);
     }
 
+    /**
+     * Retire tous les arrêts prévus (une stratégie qui replanifie la cabine).
+     */
+    public void clearStops() {
+        stops.clear();
+    }
+
+    /**
+     * Appelé à chaque arrivée à un arrêt pendant step(), portes tout juste ouvertes :
+     * permet de faire monter/descendre les passagers à l'instant exact de l'arrivée
+     * (la charge compte ensuite pour l'énergie du reste du tick).
+     */
+    public interface ArrivalListener {
+        void arrived(Elevator elevator, int floor, double offsetSeconds);
+    }
+
     /**
      * Fait évoluer l'ascenseur d'un tick de simulation.
      */
     public void step(int tickSeconds) {
+        step(tickSeconds, null);
+    }
+
+    /**
+     * Fait évoluer l'ascenseur d'un tick de simulation, en temps continu : portes,
+     * trajets et arrivées s'enchaînent à l'intérieur du tick tant qu'il reste des arrêts.
+     *
+     * @param listener prévenu de chaque arrivée (peut être null)
+     */
+    public void step(int tickSeconds, ArrivalListener listener) {
         if (tickSeconds <= 0) {
             throw new IllegalArgumentException("tickSeconds must be > 0");
         }
 
-        // Si portes ouvertes : on décrémente le temps d'ouverture
-        if (doorOpen) {
-            if (remainingDoorTime > 0) {
-                remainingDoorTime -= tickSeconds;
+        double elapsed = 0.0;
+        while (true) {
+            // Si portes ouvertes : on décompte le temps d'ouverture
+            if (state.doorOpen[slot]) {
+                if (state.remainingDoorTime[slot] > tickSeconds - elapsed + EPSILON) {
+                    // Portes encore ouvertes jusqu'à la fin du tick, pas de mouvement
+                    state.remainingDoorTime[slot] -= tickSeconds - elapsed;
+                    return;
+                }
+                elapsed += state.remainingDoorTime[slot];
+                state.doorOpen[slot] = false;
+                state.remainingDoorTime[slot] = 0.0;
             }
-            if (remainingDoorTime <= 0) {
-                doorOpen = false;
-                remainingDoorTime = 0;
+
+            int targetFloor = currentTarget();
+            if (targetFloor < 0) {
+                state.profile[slot] = null;
+                state.velocity[slot] = 0.0;
+                state.direction[slot] = Direction.IDLE;
+                return;
             }
-            if (doorOpen) {
-                // Portes encore ouvertes ce tick, pas de mouvement
+            double available = tickSeconds - elapsed;
+            if (available <= EPSILON && Math.abs(targetFloor - state.position[slot]) > EPSILON) {
                 return;
             }
-        }
 
-        Integer targetFloor = stops.peek();
-        if (targetFloor == null) {
-            velocity = 0.0;
-            direction = Direction.IDLE;
-            return;
-        }
+            // Nouvel arrêt visé : profil recalculé depuis l'état courant
+            MotionProfile profile = state.profile[slot];
+            if (profile == null || profile.getTarget() != targetFloor) {
+                profile = MotionProfile.plan(state.position[slot], state.velocity[slot],
+                        targetFloor, maxSpeedFloorsPerSecond, accelerationFloorsPerSecond2);
+                state.profile[slot] = profile;
+                state.profileElapsed[slot] = 0.0;
+            }
+            double profileElapsed = state.profileElapsed[slot];
 
-        double target = targetFloor;
+            double toArrival = profile.getDuration() - profileElapsed;
+            boolean arrives = toArrival <= available + EPSILON;
+            double dt = arrives ? Math.max(0.0, toArrival) : available;
 
-        // Déjà exactement à l'étage cible ?
-        if (Math.abs(target - position) < 1e-6) {
-            arriveAtFloor();
-            return;
-        }
+            // Énergie consommée uniquement en montée (exacte sur le profil)
+            double movedUp = profile.upwardDistance(profileElapsed, profileElapsed + dt);
+            if (movedUp > 0) {
+                state.energyConsumed[slot] += upwardEnergy(movedUp, state.passengersOnboard[slot]);
+            }
 
-        // Sens désiré
-        Direction desiredDirection = (target > position) ? Direction.UP : Direction.DOWN;
+            if (!arrives) {
+                profileElapsed += dt;
+                double velocity = profile.velocityAt(profileElapsed);
+                state.profileElapsed[slot] = profileElapsed;
+                state.position[slot] = profile.positionAt(profileElapsed);
+                state.velocity[slot] = velocity;
+                if (velocity > 0) {
+                    state.direction[slot] = Direction.UP;
+                } else if (velocity < 0) {
+                    state.direction[slot] = Direction.DOWN;
+                }
+                return;
+            }
 
-        // Vitesse désirée
-        double desiredVelocity = (desiredDirection == Direction.UP ? 1 : -1) * maxSpeedFloorsPerSecond;
-        double deltaV = accelerationFloorsPerSecond2 * tickSeconds;
+            elapsed = Math.min(tickSeconds, elapsed + dt);
+            state.position[slot] = targetFloor;
+            state.velocity[slot] = 0.0;
+            state.profile[slot] = null;
+            arriveAtFloor();
+            if (listener != null) {
+                listener.arrived(this, targetFloor, elapsed);
+            }
+        }
+    }
 
-        // Accélération / décélération vers la vitesse cible
-        if (Math.abs(desiredVelocity - velocity) <= deltaV) {
-            velocity = desiredVelocity;
-        } else {
-            velocity += Math.signum(desiredVelocity - velocity) * deltaV;
+    /**
+     * Enchaîne plusieurs ticks sans intervention extérieure.
+     * S'arrête dès que l'ascenseur est au repos (les ticks suivants ne changeraient rien).
+     */
+    public void advance(int tickSeconds, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step(tickSeconds);
+            if (isIdle()) {
+                return;
+            }
         }
+    }
 
-        // Direction réelle
-        if (velocity > 0) {
-            direction = Direction.UP;
-        } else if (velocity < 0) {
-            direction = Direction.DOWN;
-        } else {
-            direction = Direction.IDLE;
+    /**
+     * Secondes avant le prochain changement d'état notable (arrivée à l'arrêt visé
+     * ou fermeture des portes), en forme close ; -1 si la cabine est au repos.
+     */
+    public double secondsUntilNextEvent() {
+        if (state.doorOpen[slot]) {
+            return state.remainingDoorTime[slot];
+        }
+        int targetFloor = currentTarget();
+        if (targetFloor < 0) {
+            return -1;
         }
+        MotionProfile profile = state.profile[slot];
+        MotionProfile p = (profile != null && profile.getTarget() == targetFloor)
+                ? profile
+                : MotionProfile.plan(state.position[slot], state.velocity[slot], targetFloor,
+                        maxSpeedFloorsPerSecond, accelerationFloorsPerSecond2);
+        double elapsed = (p == profile) ? state.profileElapsed[slot] : 0.0;
+        return Math.max(0.0, p.getDuration() - elapsed);
+    }
 
-        double oldPosition = position;
-        double newPosition = position + velocity * tickSeconds;
+    /**
+     * Nombre de ticks avant le prochain changement d'état notable
+     * (arrivée à un arrêt ou fermeture des portes) : le changement a lieu pendant le tick renvoyé.
+     * Retourne -1 si rien ne se produit dans les maxTicks prochains ticks.
+     */
+    public int ticksUntilNextEvent(int tickSeconds, int maxTicks) {
+        double seconds = secondsUntilNextEvent();
+        if (seconds < 0) {
+            return -1;
+        }
+        int ticks = Math.max(1, (int) Math.ceil((seconds - EPSILON) / tickSeconds));
+        return (ticks <= maxTicks) ? ticks : -1;
+    }
 
-        // Si on dépasse la cible, on se cale dessus
-        if ((desiredDirection == Direction.UP && newPosition >= target)
-                || (desiredDirection == Direction.DOWN && newPosition <= target)) {
-            position = target;
-            velocity = 0.0;
-            arriveAtFloor();
-        } else {
-            position = newPosition;
+    /**
+     * Écrit l'état dynamique de la cabine (position, vitesse, portes, profil en cours, arrêts,
+     * charge, énergie) pour un point de reprise. Les caractéristiques fixes viennent de la config.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(id);
+        out.writeDouble(state.position[slot]);
+        out.writeDouble(state.velocity[slot]);
+        out.writeByte(state.direction[slot].ordinal());
+        out.writeBoolean(state.doorOpen[slot]);
+        out.writeDouble(state.remainingDoorTime[slot]);
+        MotionProfile profile = state.profile[slot];
+        out.writeBoolean(profile != null);
+        if (profile != null) {
+            // Le profil est recalculé à l'identique depuis son état de départ
+            out.writeDouble(profile.getTarget());
+            out.writeDouble(profile.getOriginPosition());
+            out.writeDouble(profile.getOriginVelocity());
+            out.writeDouble(state.profileElapsed[slot]);
         }
+        stops.writeState(out);
+        out.writeInt(state.passengersOnboard[slot]);
+        out.writeDouble(state.energyConsumed[slot]);
+        out.writeInt(state.arrivalsCount[slot]);
+    }
 
-        // Énergie consommée uniquement en montée
-        double movedUp = Math.max(0.0, position - oldPosition);
-        if (movedUp > 0) {
-            energyConsumed += movedUp * (BASE_ENERGY_PER_FLOOR_UP
-                    + ENERGY_PER_PASSENGER_PER_FLOOR_UP * passengersOnboard);
+    /**
+     * Restaure l'état écrit par writeState (même cabine de la même config).
+     */
+    public void readState(DataInput in) throws IOException {
+        int savedId = in.readInt();
+        if (savedId != id) {
+            throw new IllegalStateException("Checkpoint elevator " + savedId + " does not match elevator " + id);
         }
+        state.position[slot] = in.readDouble();
+        state.velocity[slot] = in.readDouble();
+        state.direction[slot] = Direction.values()[in.readByte()];
+        state.doorOpen[slot] = in.readBoolean();
+        state.remainingDoorTime[slot] = in.readDouble();
+        state.profile[slot] = null;
+        state.profileElapsed[slot] = 0.0;
+        if (in.readBoolean()) {
+            double target = in.readDouble();
+            double originPosition = in.readDouble();
+            double originVelocity = in.readDouble();
+            state.profile[slot] = MotionProfile.plan(originPosition, originVelocity, target,
+                    maxSpeedFloorsPerSecond, accelerationFloorsPerSecond2);
+            state.profileElapsed[slot] = in.readDouble();
+        }
+        stops.readState(in);
+        state.passengersOnboard[slot] = in.readInt();
+        state.energyConsumed[slot] = in.readDouble();
+        state.arrivalsCount[slot] = in.readInt();
     }
 
     private void arriveAtFloor() {
+        state.arrivalsCount[slot]++;
+
         // On enlève l'arrêt atteint
-        stops.poll();
+        stops.remove(getCurrentFloorRounded());
 
         // Ouverture des portes
         if (doorOpenTimeSeconds > 0) {
-            doorOpen = true;
-            remainingDoorTime = doorOpenTimeSeconds;
+            state.doorOpen[slot] = true;
+            state.remainingDoorTime[slot] = doorOpenTimeSeconds;
         }
 
         if (stops.isEmpty()) {
-            direction = Direction.IDLE;
+            state.direction[slot] = Direction.IDLE;
         }
     }
 
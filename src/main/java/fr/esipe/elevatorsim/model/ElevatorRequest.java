@@ -10,6 +10,7 @@ public class ElevatorRequest {
     private final int requestTime;      // seconde où la personne appelle l'ascenseur
     private final int originFloor;
     private final int destinationFloor;
+    private int index = -1;             // rang dans les requêtes de la simulation (-1 : hors simulation)
 
     private Elevator assignedElevator;  // ascenseur choisi
     private Integer pickupTime;         // heure de prise en charge
@@ -45,6 +46,18 @@ public class ElevatorRequest {
         return destinationFloor;
     }
 
+    /**
+     * Rang de la requête dans Simulation.getAllRequests() : identifiant stable pour les points
+     * de reprise, les copies (fork) et la trace. -1 pour une requête créée hors simulation.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
     // Affectation à un ascenseur
 
     public boolean isAssigned() {
@@ -0,0 +1,215 @@
+package fr.esipe.elevatorsim.model;
+
+import java.util.List;
+
+/**
+ * État dynamique de toute une flotte en tableaux parallèles (un emplacement par cabine) :
+ * position, vitesse, sens, portes, profil en cours, charge, énergie, arrivées.
+ * Chaque Elevator est une vue sur son emplacement ; une cabine créée seule a sa propre
+ * flotte d'un emplacement, of() regroupe une flotte existante dans un seul état.
+ *
+ * step() fait avancer toute la flotte d'un tick en trois passes :
+ * - tri : une cabine en plein trajet, qui reste dans la même phase de son profil sans
+ *   arriver pendant le tick, n'a besoin que de la cinématique de cette phase (coefficients
+ *   recopiés dans des tableaux) ;
+ * - cinématique de toutes les cabines en une boucle sans branche ni appel, que le JIT
+ *   vectorise (ou jdk.incubator.vector, cf. VectorKinematics) ;
+ * - dans l'ordre de la flotte : report des résultats pour ces cabines, Elevator.step pour
+ *   les autres (portes, arrivées, nouveau profil, repos).
+ * Mêmes calculs dans le même ordre que Elevator.step : résultat identique au bit près.
+ *
+ * Pas thread-safe : une flotte est avancée par un seul thread.
+ */
+public final class FleetState {
+
+    private static final Kinematics SCALAR = (n, tickSeconds, elapsed, start, p0, v0, a,
+                                              outElapsed, outPosition, outVelocity) ->
+            scalarKinematics(0, n, tickSeconds, elapsed, start, p0, v0, a, outElapsed, outPosition, outVelocity);
+    private static final Kinematics KINEMATICS = loadKinematics();
+
+    final Elevator[] cars;
+
+    // État dynamique par cabine
+    final double[] position;            // en étages
+    final double[] velocity;            // en étages/s
+    final Elevator.Direction[] direction;
+    final boolean[] doorOpen;
+    final double[] remainingDoorTime;
+    final MotionProfile[] profile;      // null à l'arrêt
+    final double[] profileElapsed;
+    final int[] passengersOnboard;
+    final double[] energyConsumed;
+    final int[] arrivalsCount;
+
+    // Tri et cinématique du tick courant (phase du profil en cours)
+    private final boolean[] cruising;
+    private final double[] phaseStart;
+    private final double[] phasePosition;
+    private final double[] phaseVelocity;
+    private final double[] phaseAcceleration;
+    private final double[] nextElapsed;
+    private final double[] nextPosition;
+    private final double[] nextVelocity;
+
+    FleetState(int size) {
+        cars = new Elevator[size];
+        position = new double[size];
+        velocity = new double[size];
+        direction = new Elevator.Direction[size];
+        doorOpen = new boolean[size];
+        remainingDoorTime = new double[size];
+        profile = new MotionProfile[size];
+        profileElapsed = new double[size];
+        passengersOnboard = new int[size];
+        energyConsumed = new double[size];
+        arrivalsCount = new int[size];
+
+        cruising = new boolean[size];
+        phaseStart = new double[size];
+        phasePosition = new double[size];
+        phaseVelocity = new double[size];
+        phaseAcceleration = new double[size];
+        nextElapsed = new double[size];
+        nextPosition = new double[size];
+        nextVelocity = new double[size];
+    }
+
+    /**
+     * Regroupe les cabines dans un seul état (une cabine par emplacement, dans l'ordre
+     * de la liste) : leur état courant y est recopié et elles deviennent des vues dessus.
+     */
+    public static FleetState of(List<Elevator> fleet) {
+        FleetState state = new FleetState(fleet.size());
+        for (int slot = 0; slot < fleet.size(); slot++) {
+            fleet.get(slot).moveTo(state, slot);
+        }
+        return state;
+    }
+
+    public int size() {
+        return cars.length;
+    }
+
+    /**
+     * Vrai si l'état porte exactement ces cabines, dans cet ordre.
+     */
+    public boolean holds(List<Elevator> fleet) {
+        if (fleet.size() != cars.length) {
+            return false;
+        }
+        for (int slot = 0; slot < cars.length; slot++) {
+            if (fleet.get(slot) != cars[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Avance toute la flotte d'un tick ; les arrivées sont signalées dans l'ordre de la
+     * flotte, comme avec un appel à Elevator.step par cabine.
+     *
+     * @param listener prévenu de chaque arrivée (peut être null)
+     */
+    public void step(int tickSeconds, Elevator.ArrivalListener listener) {
+        if (tickSeconds <= 0) {
+            throw new IllegalArgumentException("tickSeconds must be > 0");
+        }
+        int n = cars.length;
+        for (int i = 0; i < n; i++) {
+            cruising[i] = classify(i, tickSeconds);
+        }
+
+        KINEMATICS.advance(n, tickSeconds, profileElapsed, phaseStart, phasePosition, phaseVelocity,
+                phaseAcceleration, nextElapsed, nextPosition, nextVelocity);
+
+        for (int i = 0; i < n; i++) {
+            if (!cruising[i]) {
+                cars[i].step(tickSeconds, listener);
+                continue;
+            }
+            // Énergie en montée : la phase est monotone, la distance est l'écart de position
+            double movedUp = nextPosition[i] - position[i];
+            if (movedUp > 0) {
+                energyConsumed[i] += Elevator.upwardEnergy(movedUp, passengersOnboard[i]);
+            }
+            profileElapsed[i] = nextElapsed[i];
+            position[i] = nextPosition[i];
+            velocity[i] = nextVelocity[i];
+            if (velocity[i] > 0) {
+                direction[i] = Elevator.Direction.UP;
+            } else if (velocity[i] < 0) {
+                direction[i] = Elevator.Direction.DOWN;
+            }
+        }
+    }
+
+    /**
+     * Cabine en plein trajet vers son arrêt courant, sans arrivée ni changement de phase
+     * pendant le tick : recopie les coefficients de la phase pour la boucle de cinématique.
+     * Mêmes tests que Elevator.step pour décider qu'il n'y a pas d'arrivée.
+     */
+    private boolean classify(int i, int tickSeconds) {
+        MotionProfile p = profile[i];
+        if (doorOpen[i] || p == null || p.getTarget() != cars[i].currentTarget()) {
+            return false;
+        }
+        double elapsed = profileElapsed[i];
+        double toArrival = p.getDuration() - elapsed;
+        if (toArrival <= tickSeconds + Elevator.EPSILON) {
+            return false;
+        }
+        int phase = p.phaseAt(elapsed + tickSeconds);
+        if (elapsed < p.phaseStart(phase)) {
+            return false;
+        }
+        phaseStart[i] = p.phaseStart(phase);
+        phasePosition[i] = p.phasePosition(phase);
+        phaseVelocity[i] = p.phaseVelocity(phase);
+        phaseAcceleration[i] = p.phaseAcceleration(phase);
+        return true;
+    }
+
+    /**
+     * Cinématique à accélération constante sur les emplacements [from, to), même expression que
+     * MotionProfile.positionAt / velocityAt. Les emplacements hors trajet calculent
+     * des valeurs ignorées : la boucle reste sans branche.
+     */
+    static void scalarKinematics(int from, int to, int tickSeconds, double[] elapsed, double[] start,
+                                 double[] p0, double[] v0, double[] a,
+                                 double[] outElapsed, double[] outPosition, double[] outVelocity) {
+        for (int i = from; i < to; i++) {
+            double t = elapsed[i] + tickSeconds;
+            double dt = t - start[i];
+            outElapsed[i] = t;
+            outPosition[i] = p0[i] + v0[i] * dt + 0.5 * a[i] * dt * dt;
+            outVelocity[i] = v0[i] + a[i] * dt;
+        }
+    }
+
+    /**
+     * Boucle de cinématique (scalaire, ou vectorielle explicite si disponible).
+     */
+    interface Kinematics {
+        void advance(int n, int tickSeconds, double[] elapsed, double[] start,
+                     double[] p0, double[] v0, double[] a,
+                     double[] outElapsed, double[] outPosition, double[] outVelocity);
+    }
+
+    /**
+     * -Delevatorsim.vector=true : VectorKinematics (profil Maven vector, et
+     * --add-modules jdk.incubator.vector à l'exécution) ; boucle scalaire sinon.
+     */
+    private static Kinematics loadKinematics() {
+        if (!Boolean.getBoolean("elevatorsim.vector")) {
+            return SCALAR;
+        }
+        try {
+            return (Kinematics) Class.forName("fr.esipe.elevatorsim.model.VectorKinematics")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.out.println("[WARN] Cinématique vectorielle indisponible (" + e + "), boucle scalaire.");
+            return SCALAR;
+        }
+    }
+}
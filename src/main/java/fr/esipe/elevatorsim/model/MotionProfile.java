@@ -0,0 +1,206 @@
+package fr.esipe.elevatorsim.model;
+
+/**
+ * Profil de mouvement trapézoïdal (ou triangulaire si le trajet est trop court pour
+ * atteindre la vitesse max), calculé en forme close.
+ *
+ * Le profil part d'un état quelconque (position, vitesse signée) et s'arrête exactement
+ * sur la cible : freinage éventuel si la cabine s'éloigne ou va trop vite pour s'arrêter
+ * avant la cible (elle repart alors en sens inverse), puis accélération, palier à vitesse
+ * max et décélération. Chaque phase est à accélération constante et la vitesse n'y change
+ * pas de signe : position, vitesse et distance parcourue en montée s'obtiennent exactement
+ * à n'importe quel instant, quel que soit le pas de temps.
+ *
+ * Unités : étages, secondes. Objet immuable.
+ */
+public final class MotionProfile {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_PHASES = 5;
+
+    private final double target;
+    private final double originPosition;   // état de départ du plan (reproductible à l'identique)
+    private final double originVelocity;
+    private final int phases;
+    private final double[] startTime = new double[MAX_PHASES + 1];  // startTime[phases] = durée totale
+    private final double[] startPosition = new double[MAX_PHASES];
+    private final double[] startVelocity = new double[MAX_PHASES];
+    private final double[] acceleration = new double[MAX_PHASES];
+
+    private MotionProfile(double target, double originPosition, double originVelocity, Builder builder) {
+        this.target = target;
+        this.originPosition = originPosition;
+        this.originVelocity = originVelocity;
+        this.phases = builder.count;
+        System.arraycopy(builder.startTime, 0, startTime, 0, phases + 1);
+        System.arraycopy(builder.startPosition, 0, startPosition, 0, phases);
+        System.arraycopy(builder.startVelocity, 0, startVelocity, 0, phases);
+        System.arraycopy(builder.acceleration, 0, acceleration, 0, phases);
+    }
+
+    /**
+     * Profil pour rejoindre target et s'y arrêter, depuis l'état courant.
+     *
+     * @param velocity     vitesse signée (étages/s, positive en montée), |velocity| <= maxSpeed
+     * @param maxSpeed     vitesse max (étages/s)
+     * @param acceleration accélération et décélération (étages/s^2)
+     */
+    public static MotionProfile plan(double position,
+                                     double velocity,
+                                     double target,
+                                     double maxSpeed,
+                                     double acceleration) {
+        if (maxSpeed <= 0 || acceleration <= 0) {
+            throw new IllegalArgumentException("maxSpeed and acceleration must be > 0");
+        }
+        Builder b = new Builder(position);
+        double v = Math.max(-maxSpeed, Math.min(maxSpeed, velocity));
+
+        double remaining = target - position;
+        double dir = Math.signum(remaining);
+        double toward = (dir == 0) ? -Math.abs(v) : v * dir;   // vitesse vers la cible
+        double stopping = v * v / (2 * acceleration);
+
+        if (Math.abs(v) > EPSILON && (toward < 0 || stopping > Math.abs(remaining) + EPSILON)) {
+            // S'éloigne de la cible ou ne peut pas s'arrêter avant : freinage complet d'abord
+            b.phase(Math.abs(v) / acceleration, v, -Math.signum(v) * acceleration);
+            v = 0.0;
+            remaining = target - b.position;
+            dir = Math.signum(remaining);
+            toward = 0.0;
+        }
+
+        double distance = Math.abs(remaining);
+        if (distance > EPSILON) {
+            double u = Math.max(0.0, toward);
+            double peak = Math.min(maxSpeed, Math.sqrt(acceleration * distance + u * u / 2));
+            double accelDistance = (peak * peak - u * u) / (2 * acceleration);
+            double decelDistance = peak * peak / (2 * acceleration);
+            double cruiseDistance = Math.max(0.0, distance - accelDistance - decelDistance);
+
+            if (peak - u > EPSILON) {
+                b.phase((peak - u) / acceleration, dir * u, dir * acceleration);
+            }
+            if (cruiseDistance > EPSILON) {
+                b.phase(cruiseDistance / peak, dir * peak, 0.0);
+            }
+            b.phase(peak / acceleration, dir * peak, -dir * acceleration);
+        }
+        return new MotionProfile(target, position, velocity, b);
+    }
+
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * Position de départ passée à plan() : avec getOriginVelocity() et la cible,
+     * elle suffit à recalculer exactement le même profil.
+     */
+    public double getOriginPosition() {
+        return originPosition;
+    }
+
+    public double getOriginVelocity() {
+        return originVelocity;
+    }
+
+    /**
+     * Durée totale jusqu'à l'arrêt sur la cible (s).
+     */
+    public double getDuration() {
+        return startTime[phases];
+    }
+
+    public double positionAt(double t) {
+        if (t >= getDuration()) {
+            return target;
+        }
+        int i = phaseAt(t);
+        double dt = Math.max(0.0, t - startTime[i]);
+        return startPosition[i] + startVelocity[i] * dt + 0.5 * acceleration[i] * dt * dt;
+    }
+
+    public double velocityAt(double t) {
+        if (t >= getDuration()) {
+            return 0.0;
+        }
+        int i = phaseAt(t);
+        double dt = Math.max(0.0, t - startTime[i]);
+        return startVelocity[i] + acceleration[i] * dt;
+    }
+
+    /**
+     * Distance parcourue en montée entre t0 et t1 (s), exacte : chaque phase est monotone.
+     */
+    public double upwardDistance(double t0, double t1) {
+        double total = 0.0;
+        for (int i = 0; i < phases; i++) {
+            double from = Math.max(t0, startTime[i]);
+            double to = Math.min(t1, startTime[i + 1]);
+            if (to > from) {
+                double delta = positionAt(to, i) - positionAt(from, i);
+                if (delta > 0) {
+                    total += delta;
+                }
+            }
+        }
+        return total;
+    }
+
+    private double positionAt(double t, int i) {
+        double dt = t - startTime[i];
+        return startPosition[i] + startVelocity[i] * dt + 0.5 * acceleration[i] * dt * dt;
+    }
+
+    // Phase en cours à l'instant t et ses coefficients (cf. FleetState)
+
+    int phaseAt(double t) {
+        int i = 0;
+        while (i < phases - 1 && t >= startTime[i + 1]) {
+            i++;
+        }
+        return i;
+    }
+
+    double phaseStart(int i) {
+        return startTime[i];
+    }
+
+    double phasePosition(int i) {
+        return startPosition[i];
+    }
+
+    double phaseVelocity(int i) {
+        return startVelocity[i];
+    }
+
+    double phaseAcceleration(int i) {
+        return acceleration[i];
+    }
+
+    /**
+     * Accumule les phases à accélération constante.
+     */
+    private static final class Builder {
+        final double[] startTime = new double[MAX_PHASES + 1];
+        final double[] startPosition = new double[MAX_PHASES];
+        final double[] startVelocity = new double[MAX_PHASES];
+        final double[] acceleration = new double[MAX_PHASES];
+        int count;
+        double position;
+
+        Builder(double position) {
+            this.position = position;
+        }
+
+        void phase(double duration, double velocity, double accel) {
+            startPosition[count] = position;
+            startVelocity[count] = velocity;
+            acceleration[count] = accel;
+            startTime[count + 1] = startTime[count] + duration;
+            position += velocity * duration + 0.5 * accel * duration * duration;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package fr.esipe.elevatorsim.model;
+
+/**
+ * Ordre de service des arrêts d'un StopSet (quel arrêt la cabine vise en premier).
+ */
+public enum StopOrder {
+
+    /** Ordre d'ajout : comportement historique de la file d'arrêts. */
+    FIFO,
+
+    /**
+     * Balayage : l'arrêt le plus proche devant la cabine dans son sens de marche,
+     * puis demi-tour quand il n'y en a plus. Une cabine à l'arrêt vise l'arrêt le plus proche.
+     */
+    SWEEP
+}
@@ -0,0 +1,414 @@
+package fr.esipe.elevatorsim.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Ensemble d'arrêts d'une cabine, sans boxing : un bitset (long[]) par sens de service.
+ *
+ * Un arrêt est marqué montée, descente, ou les deux (arrêt "cabine" desservi dans
+ * n'importe quel sens, cf. add(int)). Ajout, test et retrait sont en O(1) ; les requêtes
+ * "prochain arrêt au-dessus / au-dessous" parcourent les mots de 64 étages.
+ * Un même étage n'est présent qu'une fois.
+ *
+ * L'ordre de service est choisi par StopOrder : FIFO garde en plus l'ordre d'ajout
+ * dans un tableau circulaire d'int, SWEEP ne s'appuie que sur les bitsets.
+ */
+public final class StopSet {
+
+    private static final int INITIAL_WORDS = 2;   // 128 étages avant agrandissement
+
+    private StopOrder order;
+
+    private long[] up = new long[INITIAL_WORDS];
+    private long[] down = new long[INITIAL_WORDS];
+    private int size;   // étages distincts
+    private int version;   // incrémenté à chaque modification (caches des stratégies)
+
+    // Ordre d'ajout (FIFO uniquement) : file circulaire des étages présents
+    private int[] fifo = new int[8];
+    private int fifoHead;
+
+    public StopSet(StopOrder order) {
+        this.order = order;
+    }
+
+    /**
+     * Copie indépendante (même ordre, mêmes arrêts).
+     */
+    public StopSet(StopSet other) {
+        this.order = other.order;
+        this.up = other.up.clone();
+        this.down = other.down.clone();
+        this.size = other.size;
+        this.fifo = other.fifo.clone();
+        this.fifoHead = other.fifoHead;
+        this.version = other.version;
+    }
+
+    public StopOrder getOrder() {
+        return order;
+    }
+
+    /**
+     * Change l'ordre de service. En passant à FIFO, les arrêts présents sont
+     * rangés par étage croissant.
+     */
+    public void setOrder(StopOrder order) {
+        if (order == this.order) {
+            return;
+        }
+        this.order = order;
+        version++;
+        if (order == StopOrder.FIFO) {
+            rebuildFifo();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Compteur de modifications : change à chaque ajout, retrait ou changement d'ordre effectif.
+     * Permet à un cache calculé sur ces arrêts de savoir s'il est encore valable.
+     */
+    public int version() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vrai s'il ne reste aucun arrêt à desservir dans ce sens.
+     */
+    public boolean isEmpty(Elevator.Direction direction) {
+        for (int i = 0; i < up.length; i++) {
+            if (word(direction, i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ajoute un arrêt desservi dans les deux sens.
+     * @return false si l'étage était déjà un arrêt dans les deux sens
+     */
+    public boolean add(int floor) {
+        return add(floor, Elevator.Direction.IDLE);
+    }
+
+    /**
+     * Ajoute un arrêt pour un sens de service (IDLE = les deux sens).
+     * @return false si rien n'a changé
+     */
+    public boolean add(int floor, Elevator.Direction direction) {
+        if (floor < 0) {
+            throw new IllegalArgumentException("floor must be >= 0");
+        }
+        ensureCapacity(floor);
+        int word = floor >>> 6;
+        long mask = 1L << floor;
+        boolean wasPresent = ((up[word] | down[word]) & mask) != 0;
+        long beforeUp = up[word];
+        long beforeDown = down[word];
+        if (direction != Elevator.Direction.DOWN) {
+            up[word] |= mask;
+        }
+        if (direction != Elevator.Direction.UP) {
+            down[word] |= mask;
+        }
+        if (!wasPresent) {
+            size++;
+            if (order == StopOrder.FIFO) {
+                fifoAppend(floor);
+            }
+        }
+        if (up[word] == beforeUp && down[word] == beforeDown) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    public boolean contains(int floor) {
+        return contains(floor, Elevator.Direction.IDLE);
+    }
+
+    /**
+     * Vrai si l'étage est un arrêt pour ce sens (IDLE = pour au moins un sens).
+     */
+    public boolean contains(int floor, Elevator.Direction direction) {
+        if (floor < 0 || (floor >>> 6) >= up.length) {
+            return false;
+        }
+        int word = floor >>> 6;
+        long mask = 1L << floor;
+        switch (direction) {
+            case UP:
+                return (up[word] & mask) != 0;
+            case DOWN:
+                return (down[word] & mask) != 0;
+            default:
+                return ((up[word] | down[word]) & mask) != 0;
+        }
+    }
+
+    /**
+     * Retire l'étage dans les deux sens.
+     * @return true si c'était un arrêt
+     */
+    public boolean remove(int floor) {
+        return remove(floor, Elevator.Direction.IDLE);
+    }
+
+    /**
+     * Retire l'étage pour un sens (IDLE = les deux sens).
+     * @return true si quelque chose a été retiré
+     */
+    public boolean remove(int floor, Elevator.Direction direction) {
+        if (!contains(floor, direction)) {
+            return false;
+        }
+        int word = floor >>> 6;
+        long mask = 1L << floor;
+        if (direction != Elevator.Direction.DOWN) {
+            up[word] &= ~mask;
+        }
+        if (direction != Elevator.Direction.UP) {
+            down[word] &= ~mask;
+        }
+        if (((up[word] | down[word]) & mask) == 0) {
+            size--;
+            if (order == StopOrder.FIFO) {
+                fifoRemove(floor);
+            }
+        }
+        version++;
+        return true;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            version++;
+        }
+        Arrays.fill(up, 0L);
+        Arrays.fill(down, 0L);
+        size = 0;
+        fifoHead = 0;
+    }
+
+    /**
+     * Plus petit arrêt (tous sens) supérieur ou égal à from, ou -1.
+     */
+    public int nextAbove(int from) {
+        return nextAbove(from, Elevator.Direction.IDLE);
+    }
+
+    /**
+     * Plus petit arrêt du sens donné supérieur ou égal à from, ou -1.
+     */
+    public int nextAbove(int from, Elevator.Direction direction) {
+        if (from < 0) {
+            from = 0;
+        }
+        int word = from >>> 6;
+        if (word >= up.length) {
+            return -1;
+        }
+        long bits = word(direction, word) & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == up.length) {
+                return -1;
+            }
+            bits = word(direction, word);
+        }
+    }
+
+    /**
+     * Plus grand arrêt (tous sens) inférieur ou égal à from, ou -1.
+     */
+    public int nextBelow(int from) {
+        return nextBelow(from, Elevator.Direction.IDLE);
+    }
+
+    /**
+     * Plus grand arrêt du sens donné inférieur ou égal à from, ou -1.
+     */
+    public int nextBelow(int from, Elevator.Direction direction) {
+        if (from < 0) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long bits;
+        if (word >= up.length) {
+            word = up.length - 1;
+            bits = word(direction, word);
+        } else {
+            bits = word(direction, word) & (-1L >>> (63 - (from & 63)));
+        }
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+            }
+            if (--word < 0) {
+                return -1;
+            }
+            bits = word(direction, word);
+        }
+    }
+
+    /**
+     * Arrêt le plus proche de la position (tous sens), le plus bas en cas d'égalité ; -1 si vide.
+     */
+    public int nearest(double position) {
+        int low = (int) Math.floor(position + 1e-6);
+        int below = nextBelow(low);
+        int above = nextAbove(low);
+        if (below < 0) {
+            return above;
+        }
+        if (above < 0) {
+            return below;
+        }
+        return (Math.abs(above - position) < Math.abs(below - position)) ? above : below;
+    }
+
+    /**
+     * Prochain arrêt visé selon l'ordre de service, ou -1 si aucun.
+     *
+     * @param position position courante de la cabine (en étages)
+     * @param travel   sens de marche courant (utilisé par SWEEP)
+     */
+    public int peek(double position, Elevator.Direction travel) {
+        if (size == 0) {
+            return -1;
+        }
+        if (order == StopOrder.FIFO) {
+            return fifo[fifoHead];
+        }
+        int ceil = (int) Math.ceil(position - 1e-6);
+        int floor = (int) Math.floor(position + 1e-6);
+        switch (travel) {
+            case UP: {
+                int ahead = nextAbove(ceil);
+                return (ahead >= 0) ? ahead : nextBelow(floor);
+            }
+            case DOWN: {
+                int ahead = nextBelow(floor);
+                return (ahead >= 0) ? ahead : nextAbove(ceil);
+            }
+            default:
+                return nearest(position);
+        }
+    }
+
+    /**
+     * Écrit l'état complet (ordre, bitsets, file FIFO, compteur de version) pour un point de reprise.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeByte(order.ordinal());
+        out.writeInt(version);
+        out.writeInt(up.length);
+        for (int i = 0; i < up.length; i++) {
+            out.writeLong(up[i]);
+            out.writeLong(down[i]);
+        }
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(order == StopOrder.FIFO ? fifo[(fifoHead + i) % fifo.length] : -1);
+        }
+    }
+
+    /**
+     * Remplace l'état par celui écrit par writeState.
+     */
+    public void readState(DataInput in) throws IOException {
+        order = StopOrder.values()[in.readByte()];
+        version = in.readInt();
+        int words = in.readInt();
+        up = new long[words];
+        down = new long[words];
+        for (int i = 0; i < words; i++) {
+            up[i] = in.readLong();
+            down[i] = in.readLong();
+        }
+        size = in.readInt();
+        fifo = new int[Math.max(8, Integer.highestOneBit(Math.max(1, size)) << 1)];
+        fifoHead = 0;
+        for (int i = 0; i < size; i++) {
+            fifo[i] = in.readInt();
+        }
+    }
+
+    private long word(Elevator.Direction direction, int index) {
+        switch (direction) {
+            case UP:
+                return up[index];
+            case DOWN:
+                return down[index];
+            default:
+                return up[index] | down[index];
+        }
+    }
+
+    private void ensureCapacity(int floor) {
+        int needed = (floor >>> 6) + 1;
+        if (needed > up.length) {
+            int length = Math.max(needed, up.length * 2);
+            up = Arrays.copyOf(up, length);
+            down = Arrays.copyOf(down, length);
+        }
+    }
+
+    // === File d'ordre d'ajout (FIFO) ===
+    // Elle contient exactement les étages présents (size éléments à partir de fifoHead).
+
+    private void fifoAppend(int floor) {
+        // size a déjà été incrémenté
+        if (size > fifo.length) {
+            int[] grown = new int[fifo.length * 2];
+            for (int i = 0; i < size - 1; i++) {
+                grown[i] = fifo[(fifoHead + i) % fifo.length];
+            }
+            fifo = grown;
+            fifoHead = 0;
+        }
+        fifo[(fifoHead + size - 1) % fifo.length] = floor;
+    }
+
+    private void fifoRemove(int floor) {
+        // size a déjà été décrémenté ; cas courant : l'étage retiré est en tête
+        if (fifo[fifoHead] == floor) {
+            fifoHead = (fifoHead + 1) % fifo.length;
+            return;
+        }
+        int n = size + 1;
+        int i = 0;
+        while (fifo[(fifoHead + i) % fifo.length] != floor) {
+            i++;
+        }
+        for (; i < n - 1; i++) {
+            fifo[(fifoHead + i) % fifo.length] = fifo[(fifoHead + i + 1) % fifo.length];
+        }
+    }
+
+    private void rebuildFifo() {
+        if (fifo.length < size) {
+            fifo = new int[Integer.highestOneBit(size) << 1];
+        }
+        fifoHead = 0;
+        int n = 0;
+        for (int floor = nextAbove(0); floor >= 0; floor = nextAbove(floor + 1)) {
+            fifo[n++] = floor;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Historique figé des points de reprise d'une simulation, dans un fichier annexe où l'on
+ * ne fait qu'ajouter : blocs pleins des journaux d'arrêts et requêtes terminées. Chaque
+ * élément y est écrit une seule fois ; un point de reprise ne note que la longueur de
+ * l'annexe et, par cabine, le nombre d'arrêts archivés. Son coût suit donc l'activité
+ * depuis le point précédent, pas la longueur du run.
+ *
+ * Enregistrements (gros-boutiste) :
+ * - STOPS    : id cabine, nombre d'arrêts, puis 5 int par arrêt ;
+ * - REQUESTS : nombre, puis rang, id de la cabine, montée et descente par requête.
+ * Un point de reprise ignore ce qui suit sa longueur (points suivants, écriture interrompue).
+ */
+final class CheckpointArchive implements Closeable {
+
+    static final String SUFFIX = ".history";
+
+    private static final int STOPS = 1;
+    private static final int REQUESTS = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private long length = 0;
+    private final Map<Integer, Long> archivedStops = new HashMap<>();       // par id de cabine
+    private final List<ElevatorRequest> completed = new ArrayList<>();      // terminées, pas encore archivées
+
+    private CheckpointArchive(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+    }
+
+    /**
+     * Archive neuve, à côté du premier point de reprise qui l'utilise.
+     */
+    static CheckpointArchive createFor(Path checkpoint) throws IOException {
+        return new CheckpointArchive(checkpoint.resolveSibling(checkpoint.getFileName() + SUFFIX));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Longueur de l'archive au dernier append(), à noter dans le point de reprise.
+     */
+    long length() {
+        return length;
+    }
+
+    long archivedStops(int elevatorId) {
+        return archivedStops.getOrDefault(elevatorId, 0L);
+    }
+
+    /**
+     * Requête déposée : archivée au prochain append().
+     */
+    void completed(ElevatorRequest request) {
+        completed.add(request);
+    }
+
+    /**
+     * Ajoute les blocs pleins des journaux qui ne sont pas encore archivés (les blocs déversés
+     * sur disque ne sont relus qu'une fois) et les requêtes terminées depuis l'appel précédent.
+     */
+    void append(Map<Integer, StopEventLog> logs) throws IOException {
+        for (Map.Entry<Integer, StopEventLog> entry : logs.entrySet()) {
+            StopEventLog log = entry.getValue();
+            long from = archivedStops(entry.getKey());
+            long sealed = log.sealedEvents();
+            if (sealed == from) {
+                continue;
+            }
+            out.writeByte(STOPS);
+            out.writeInt(entry.getKey());
+            out.writeLong(sealed - from);
+            StopEventLog.Cursor cursor = log.cursor(from);
+            for (long e = from; e < sealed; e++) {
+                cursor.next();
+                out.writeInt(cursor.time());
+                out.writeInt(cursor.floor());
+                out.writeInt(cursor.entered());
+                out.writeInt(cursor.left());
+                out.writeInt(cursor.onboardAfter());
+            }
+            archivedStops.put(entry.getKey(), sealed);
+        }
+
+        if (!completed.isEmpty()) {
+            out.writeByte(REQUESTS);
+            out.writeInt(completed.size());
+            for (ElevatorRequest request : completed) {
+                out.writeInt(request.getIndex());
+                out.writeInt(request.isAssigned() ? request.getAssignedElevator().getId() : -1);
+                out.writeInt(request.getPickupTime());
+                out.writeInt(request.getDropoffTime());
+            }
+            completed.clear();
+        }
+        out.flush();
+        length = channel.position();
+    }
+
+    /**
+     * Force sur disque ce qui a été ajouté (thread de CheckpointWriter, entre deux append()).
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Relit les {@code length} premiers octets d'une archive : arrêts ajoutés aux journaux
+     * (créés par newLog), progression rendue aux requêtes terminées.
+     */
+    static void read(Path path, long length, Map<Integer, StopEventLog> logs, IntFunction<StopEventLog> newLog,
+                     List<ElevatorRequest> requests, List<Elevator> fleet) throws IOException {
+        Map<Integer, Elevator> elevatorsById = new HashMap<>();
+        for (Elevator elevator : fleet) {
+            elevatorsById.put(elevator.getId(), elevator);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), 1 << 16))) {
+            if (channel.size() < length) {
+                throw new EOFException("Checkpoint history " + path + " is shorter than recorded");
+            }
+            long position = 0;
+            while (position < length) {
+                int type = in.readByte();
+                if (type == STOPS) {
+                    StopEventLog log = logs.computeIfAbsent(in.readInt(), newLog::apply);
+                    long count = in.readLong();
+                    for (long e = 0; e < count; e++) {
+                        log.add(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                    }
+                    position += 1 + Integer.BYTES + Long.BYTES + count * StopEventLog.FIELDS * Integer.BYTES;
+                } else if (type == REQUESTS) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        ElevatorRequest request = requests.get(in.readInt());
+                        Elevator elevator = elevatorsById.get(in.readInt());
+                        if (elevator != null) {
+                            request.assignTo(elevator);
+                        }
+                        request.markPickedUp(in.readInt());
+                        request.markDroppedOff(in.readInt());
+                    }
+                    position += 1 + Integer.BYTES + (long) count * 4 * Integer.BYTES;
+                } else {
+                    throw new IOException("Corrupted checkpoint history " + path + " at byte " + position);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Lecture d'un point de reprise écrit par CheckpointOutput : les rangs de requêtes
+ * et indices de cabines sont résolus dans la simulation en cours de restauration.
+ */
+public final class CheckpointInput extends DataInputStream {
+
+    private final List<ElevatorRequest> requests;
+    private final List<Elevator> fleet;
+
+    CheckpointInput(InputStream in, List<ElevatorRequest> requests, List<Elevator> fleet) {
+        super(in);
+        this.requests = requests;
+        this.fleet = fleet;
+    }
+
+    CheckpointInput(ByteBuffer data, List<ElevatorRequest> requests, List<Elevator> fleet) {
+        this(new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining()),
+                requests, fleet);
+    }
+
+    public ElevatorRequest readRequest() throws IOException {
+        int index = readInt();
+        return (index < 0) ? null : requests.get(index);
+    }
+
+    public Elevator readElevator() throws IOException {
+        int index = readInt();
+        return (index < 0) ? null : fleet.get(index);
+    }
+
+    /**
+     * Flotte de la simulation restaurée, dans l'ordre de building.getElevators().
+     */
+    public List<Elevator> fleet() {
+        return fleet;
+    }
+}
@@ -0,0 +1,119 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écriture d'un point de reprise (DataOutput, gros-boutiste), en flux vers un fichier
+ * ou en mémoire (copie d'état de fork()). Les requêtes sont écrites par leur rang
+ * (ElevatorRequest.getIndex()), les cabines comme indices dans la flotte.
+ */
+public final class CheckpointOutput extends DataOutputStream {
+
+    private final List<Elevator> fleet;
+    private final Map<Elevator, Integer> elevatorIndex = new IdentityHashMap<>();
+
+    CheckpointOutput(OutputStream out, List<Elevator> fleet) {
+        super(out);
+        this.fleet = fleet;
+        for (int i = 0; i < fleet.size(); i++) {
+            elevatorIndex.put(fleet.get(i), i);
+        }
+    }
+
+    /**
+     * Tampon mémoire, relu par toByteBuffer() : réservé à l'état vivant (fork()).
+     */
+    static CheckpointOutput inMemory(List<Elevator> fleet) {
+        return new CheckpointOutput(new Buffer(), fleet);
+    }
+
+    /**
+     * Référence vers une requête de la simulation (null accepté).
+     */
+    public void writeRequest(ElevatorRequest request) throws IOException {
+        if (request == null) {
+            writeInt(-1);
+            return;
+        }
+        if (request.getIndex() < 0) {
+            throw new IllegalArgumentException("Request of resident " + request.getResidentId()
+                    + " is not part of the simulation");
+        }
+        writeInt(request.getIndex());
+    }
+
+    /**
+     * Référence vers une cabine de la flotte (null accepté).
+     */
+    public void writeElevator(Elevator elevator) throws IOException {
+        if (elevator == null) {
+            writeInt(-1);
+            return;
+        }
+        Integer index = elevatorIndex.get(elevator);
+        if (index == null) {
+            throw new IllegalArgumentException("Elevator " + elevator.getId() + " is not in the fleet");
+        }
+        writeInt(index);
+    }
+
+    /**
+     * Flotte de la simulation, dans l'ordre de building.getElevators().
+     */
+    public List<Elevator> fleet() {
+        return fleet;
+    }
+
+    /**
+     * Octets écrits en mémoire (vue sur le tampon, sans copie) ; cf. inMemory().
+     */
+    ByteBuffer toByteBuffer() throws IOException {
+        flush();
+        Buffer buffer = (Buffer) out;
+        return ByteBuffer.wrap(buffer.bytes, 0, buffer.count);
+    }
+
+    /**
+     * Tampon extensible non synchronisé (ByteArrayOutputStream l'est, octet par octet).
+     */
+    private static final class Buffer extends OutputStream {
+        private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+        byte[] bytes = new byte[1 << 12];
+        int count;
+
+        @Override
+        public void write(int b) {
+            ensure(1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensure(int extra) {
+            long needed = (long) count + extra;
+            if (needed <= bytes.length) {
+                return;
+            }
+            if (needed > MAX_SIZE) {
+                throw new OutOfMemoryError("In-memory checkpoint exceeds " + MAX_SIZE + " bytes");
+            }
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Math.max(2L * bytes.length, needed), MAX_SIZE));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package fr.esipe.elevatorsim.simulation;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Publication des points de reprise en tâche de fond. Le moteur écrit l'instantané en flux
+ * dans un fichier temporaire (état vivant seulement, cf. CheckpointArchive pour l'historique) ;
+ * un thread dédié le force sur disque avec l'archive, puis le renomme atomiquement.
+ * Un fichier visible est donc toujours complet. Une seule publication en vol : le point
+ * suivant attend la fin de la précédente avant de toucher à l'archive.
+ */
+final class CheckpointWriter implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> pending;
+
+    void submit(Path path, FileChannel temporary, CheckpointArchive archive) {
+        await();
+        pending = executor.submit(() -> {
+            publish(path, temporary, archive);
+            return null;
+        });
+    }
+
+    /**
+     * Attend la fin de la publication en cours et remonte son erreur éventuelle.
+     */
+    void await() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing checkpoint", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to write checkpoint", e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            await();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Ouvre le fichier temporaire d'un point de reprise (à côté du fichier final).
+     */
+    static FileChannel openTemporary(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return FileChannel.open(temporary(path),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Force l'archive et le fichier temporaire (déjà écrits et vidés), ferme ce dernier
+     * et le renomme en path.
+     */
+    static void publish(Path path, FileChannel temporary, CheckpointArchive archive) throws IOException {
+        try (temporary) {
+            archive.force();
+            temporary.force(false);
+        }
+        Files.move(temporary(path), path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Abandonne un point de reprise dont l'écriture a échoué.
+     */
+    static void discard(Path path, FileChannel temporary) {
+        try (temporary) {
+            Files.deleteIfExists(temporary(path));
+        } catch (IOException ignored) {
+            // l'erreur d'écriture d'origine prime
+        }
+    }
+
+    private static Path temporary(Path path) {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+}
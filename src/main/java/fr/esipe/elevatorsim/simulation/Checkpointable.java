@@ -0,0 +1,18 @@
+package fr.esipe.elevatorsim.simulation;
+
+import java.io.IOException;
+
+/**
+ * Répartiteur ou stratégie avec un état interne (plans, caches, seaux de requêtes)
+ * à sauvegarder dans les points de reprise pour que la suite du run soit identique.
+ * Les références aux requêtes et aux cabines passent par writeRequest / writeElevator.
+ */
+public interface Checkpointable {
+
+    void writeCheckpoint(CheckpointOutput out) throws IOException;
+
+    /**
+     * Appelé sur une instance neuve, avant le premier dispatch du run repris.
+     */
+    void readCheckpoint(CheckpointInput in) throws IOException;
+}
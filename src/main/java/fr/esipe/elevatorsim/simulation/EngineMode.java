@@ -0,0 +1,31 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Mode d'avancement du temps dans la simulation.
+ */
+public enum EngineMode {
+
+    /** Pas de temps fixe : chaque tick de 0 à la fin de journée est simulé. */
+    TICK,
+
+    /**
+     * File de priorité d'événements futurs : le temps saute d'un événement au suivant.
+     * Les ticks sautés ne font que déplacer les cabines, sans appel à la stratégie.
+     */
+    EVENT;
+
+    public static EngineMode fromName(String name) {
+        if (name == null) {
+            return TICK;
+        }
+        switch (name.toLowerCase()) {
+            case "tick":
+                return TICK;
+            case "event":
+                return EVENT;
+            default:
+                System.out.println("[WARN] Moteur inconnu '" + name + "', utilisation de 'tick'.");
+                return TICK;
+        }
+    }
+}
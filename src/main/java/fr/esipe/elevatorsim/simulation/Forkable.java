@@ -0,0 +1,13 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Répartiteur ou stratégie qui peut servir une copie de simulation (Simulation.fork()).
+ * Son état éventuel est ensuite recopié via Checkpointable.
+ */
+public interface Forkable<T> {
+
+    /**
+     * Instance de même configuration, sans état (ou la même instance si elle n'en a pas).
+     */
+    T newInstance();
+}
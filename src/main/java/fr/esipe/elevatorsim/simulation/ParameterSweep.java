@@ -0,0 +1,198 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.stats.SweepResult;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Balayage de paramètres : produit cartésien du nombre d'ascenseurs, des champs
+ * de SimulationConfig.ElevatorConfig et des stratégies, chaque point étant simulé
+ * en parallèle.
+ *
+ * Les résidents sont générés une seule fois : tous les points partagent les mêmes
+ * étages (lecture seule) et ne diffèrent que par leur flotte et leur stratégie.
+ * Un point donne le même résultat qu'un run isolé avec la configuration équivalente.
+ */
+public class ParameterSweep {
+
+    private final SimulationConfig config;
+    private final SimulationOptions baseOptions;
+
+    // Valeurs à combiner ; une liste vide = valeur du premier ascenseur de la config
+    public List<Integer> elevatorCounts = new ArrayList<>();
+    public List<Integer> capacities = new ArrayList<>();
+    public List<Double> maxSpeeds = new ArrayList<>();
+    public List<Double> accelerations = new ArrayList<>();
+    public List<Integer> doorOpenTimes = new ArrayList<>();
+    public List<String> strategies = new ArrayList<>();
+
+    public ParameterSweep(SimulationConfig config, SimulationOptions baseOptions) {
+        this.config = config;
+        this.baseOptions = baseOptions;
+    }
+
+    /**
+     * Grille complète, dans l'ordre lexicographique des paramètres.
+     */
+    public List<SweepResult> expand() {
+        SimulationConfig.ElevatorConfig ref = referenceElevator();
+        List<Integer> counts = orDefault(elevatorCounts, config.elevators == null ? 1 : config.elevators.size());
+        List<Integer> caps = orDefault(capacities, ref.capacity);
+        List<Double> speeds = orDefault(maxSpeeds, ref.maxSpeedFloorsPerSecond);
+        List<Double> accs = orDefault(accelerations, ref.accelerationFloorsPerSecond2);
+        List<Integer> doors = orDefault(doorOpenTimes, ref.doorOpenTimeSeconds);
+        List<String> strats = orDefault(strategies, "nearest");
+
+        List<SweepResult> points = new ArrayList<>();
+        for (int count : counts)
+            for (int cap : caps)
+                for (double speed : speeds)
+                    for (double acc : accs)
+                        for (int door : doors)
+                            for (String strategy : strats) {
+                                SweepResult p = new SweepResult();
+                                p.elevators = count;
+                                p.capacity = cap;
+                                p.maxSpeedFloorsPerSecond = speed;
+                                p.accelerationFloorsPerSecond2 = acc;
+                                p.doorOpenTimeSeconds = door;
+                                p.strategy = strategy;
+                                points.add(p);
+                            }
+        return points;
+    }
+
+    /**
+     * Simule tous les points ; les résultats sont dans l'ordre de la grille.
+     */
+    public List<SweepResult> run(int threads) {
+        List<SweepResult> points = expand();
+        Building residents = ModelFactory.buildFromConfig(config);
+
+        List<Callable<SweepResult>> tasks = new ArrayList<>(points.size());
+        for (SweepResult point : points) {
+            tasks.add(() -> runPoint(residents, point));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, points.size())));
+        try {
+            List<SweepResult> results = new ArrayList<>(points.size());
+            for (Future<SweepResult> f : pool.invokeAll(tasks)) {
+                results.add(f.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Sweep point failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SweepResult runPoint(Building residents, SweepResult point) {
+        Building building = Building.sharingFloors(residents);
+        for (int i = 0; i < point.elevators; i++) {
+            SimulationConfig.ElevatorConfig ec = new SimulationConfig.ElevatorConfig();
+            ec.id = i + 1;
+            ec.capacity = point.capacity;
+            ec.maxSpeedFloorsPerSecond = point.maxSpeedFloorsPerSecond;
+            ec.accelerationFloorsPerSecond2 = point.accelerationFloorsPerSecond2;
+            ec.doorOpenTimeSeconds = point.doorOpenTimeSeconds;
+            building.addElevator(ModelFactory.buildElevator(ec));
+        }
+
+        SimulationOptions options = baseOptions.copy();
+        options.printSummary = false;
+        SimulationClock clock = new SimulationClock(
+                config.simulation.dayDurationSeconds,
+                config.simulation.tickSeconds
+        );
+        Simulation simulation = new Simulation(building, clock, StrategyFactory.dispatcherFromName(point.strategy), options);
+        simulation.run();
+        point.setStats(simulation.getStats());
+        simulation.close();
+        return point;
+    }
+
+    private SimulationConfig.ElevatorConfig referenceElevator() {
+        if (config.elevators != null && !config.elevators.isEmpty()) {
+            return config.elevators.get(0);
+        }
+        SimulationConfig.ElevatorConfig ec = new SimulationConfig.ElevatorConfig();
+        ec.capacity = 8;
+        ec.maxSpeedFloorsPerSecond = 1.0;
+        ec.accelerationFloorsPerSecond2 = 0.5;
+        ec.doorOpenTimeSeconds = 2;
+        return ec;
+    }
+
+    private static <T> List<T> orDefault(List<T> values, T fallback) {
+        return (values == null || values.isEmpty()) ? List.of(fallback) : values;
+    }
+
+    // --- Analyse des plages en ligne de commande ---
+
+    /**
+     * "2,4,8" ou "1:6" ou "2:10:2" (bornes incluses).
+     */
+    public static List<Integer> parseIntRange(String spec) {
+        List<Integer> values = new ArrayList<>();
+        if (spec.contains(":")) {
+            String[] parts = spec.split(":", -1);
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("expected from:to or from:to:step: " + spec);
+            }
+            int from = Integer.parseInt(parts[0].trim());
+            int to = Integer.parseInt(parts[1].trim());
+            int step = (parts.length > 2) ? Integer.parseInt(parts[2].trim()) : 1;
+            if (step <= 0) throw new IllegalArgumentException("step must be > 0: " + spec);
+            for (int v = from; v <= to; v += step) {
+                values.add(v);
+            }
+        } else {
+            for (String p : spec.split(",")) {
+                values.add(Integer.parseInt(p.trim()));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * "0.5,1.0" ou "0.5:2.0:0.5" (bornes incluses ; le pas est obligatoire).
+     */
+    public static List<Double> parseDoubleRange(String spec) {
+        List<Double> values = new ArrayList<>();
+        if (spec.contains(":")) {
+            String[] parts = spec.split(":", -1);
+            if (parts.length != 3) {
+                // pas de pas implicite pour un réel : 1.0 n'a pas de sens sur 0.5:2
+                throw new IllegalArgumentException("expected from:to:step: " + spec);
+            }
+            double from = Double.parseDouble(parts[0].trim());
+            double to = Double.parseDouble(parts[1].trim());
+            double step = Double.parseDouble(parts[2].trim());
+            if (step <= 0) throw new IllegalArgumentException("step must be > 0: " + spec);
+            int n = (int) Math.floor((to - from) / step + 1e-9);
+            for (int i = 0; i <= n; i++) {
+                values.add(from + i * step);
+            }
+        } else {
+            for (String p : spec.split(",")) {
+                values.add(Double.parseDouble(p.trim()));
+            }
+        }
+        return values;
+    }
+}
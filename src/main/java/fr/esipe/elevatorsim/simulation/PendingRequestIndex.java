@@ -0,0 +1,316 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Index des requêtes actives (activées, pas encore déposées).
+ *
+ * - non assignées : un seau par étage d'origine + un ensemble global,
+ *   tous deux dans l'ordre d'activation (donc d'heure de requête) ;
+ * - assignées en attente : par cabine ;
+ * - à bord : par cabine.
+ *
+ * La plus ancienne requête non assignée est la tête de l'ensemble global (O(1)),
+ * la plus proche est cherchée en s'éloignant de l'étage de la cabine,
+ * et toutes les transitions (affectation, pickup, dropoff) sont en O(1).
+ */
+public class PendingRequestIndex implements PendingRequests {
+
+    private final Set<ElevatorRequest> unassigned = new LinkedHashSet<>();
+    private LinkedHashSet<ElevatorRequest>[] unassignedByFloor;
+    private final Map<ElevatorRequest, Long> activationOrder = new HashMap<>();
+    private long nextSequence = 0;
+
+    private final Map<Elevator, Set<ElevatorRequest>> awaitingByElevator = new HashMap<>();
+    private final Map<Elevator, Set<ElevatorRequest>> onboardByElevator = new HashMap<>();
+    private int size = 0;
+    TraceRecorder trace;                // null sauf run tracé
+
+    public PendingRequestIndex(int floorsCount) {
+        this.unassignedByFloor = newBuckets(floorsCount + 1);
+    }
+
+    // --- Transitions (moteur) ---
+
+    /**
+     * Rend une requête active. Les requêtes doivent arriver par heure croissante.
+     */
+    public void activate(ElevatorRequest request) {
+        size++;
+        if (request.isAssigned()) {
+            awaitingOf(request.getAssignedElevator()).add(request);
+            return;
+        }
+        activationOrder.put(request, nextSequence++);
+        unassigned.add(request);
+        bucket(request.getOriginFloor()).add(request);
+    }
+
+    @Override
+    public void assign(ElevatorRequest request, Elevator elevator) {
+        if (request.isPickedUp()) {
+            throw new IllegalStateException("request already picked up");
+        }
+        if (request.isAssigned()) {
+            awaitingOf(request.getAssignedElevator()).remove(request);
+        } else {
+            unassigned.remove(request);
+            bucket(request.getOriginFloor()).remove(request);
+            activationOrder.remove(request);
+        }
+        request.assignTo(elevator);
+        awaitingOf(elevator).add(request);
+        if (trace != null) {
+            trace.assignment(request, elevator);
+        }
+    }
+
+    public void pickedUp(ElevatorRequest request, int time) {
+        Elevator elevator = request.getAssignedElevator();
+        request.markPickedUp(time);
+        awaitingOf(elevator).remove(request);
+        onboardOf(elevator).add(request);
+    }
+
+    public void droppedOff(ElevatorRequest request, int time) {
+        leftCar(request, time);
+        completed(1);
+    }
+
+    /**
+     * Partie propre à la cabine d'une descente (cf. pas parallèle : seules les requêtes
+     * et ensembles de la cabine sont touchés).
+     */
+    void leftCar(ElevatorRequest request, int time) {
+        request.markDroppedOff(time);
+        onboardOf(request.getAssignedElevator()).remove(request);
+    }
+
+    /**
+     * Partie partagée des descentes : requêtes qui ne sont plus actives.
+     */
+    void completed(int count) {
+        size -= count;
+    }
+
+    /**
+     * Crée les ensembles de chaque cabine : pendant le pas parallèle, les cabines ne font
+     * plus que lire la table (aucune modification de structure concurrente).
+     */
+    void registerCars(List<Elevator> fleet) {
+        for (Elevator elevator : fleet) {
+            awaitingOf(elevator);
+            onboardOf(elevator);
+        }
+    }
+
+    /**
+     * Nombre de requêtes actives (activées, pas encore déposées).
+     */
+    public int size() {
+        return size;
+    }
+
+    public int onboardCount(Elevator elevator) {
+        Set<ElevatorRequest> onboard = onboardByElevator.get(elevator);
+        return (onboard == null) ? 0 : onboard.size();
+    }
+
+    /**
+     * Parcourt toutes les requêtes actives (non assignées, en attente, à bord), sans ordre particulier.
+     */
+    void forEachActive(Consumer<ElevatorRequest> action) {
+        unassigned.forEach(action);
+        awaitingByElevator.values().forEach(requests -> requests.forEach(action));
+        onboardByElevator.values().forEach(requests -> requests.forEach(action));
+    }
+
+    // --- Vue stratégies ---
+
+    @Override
+    public ElevatorRequest oldestUnassigned() {
+        return unassigned.isEmpty() ? null : unassigned.iterator().next();
+    }
+
+    @Override
+    public ElevatorRequest nearestUnassigned(int floor) {
+        if (unassigned.isEmpty()) {
+            return null;
+        }
+        int floors = unassignedByFloor.length;
+        for (int d = 0; floor - d >= 0 || floor + d < floors; d++) {
+            ElevatorRequest below = head(floor - d);
+            ElevatorRequest above = (d == 0) ? null : head(floor + d);
+            if (below == null && above == null) {
+                continue;
+            }
+            if (below == null) return above;
+            if (above == null) return below;
+            return isOlder(above, below) ? above : below;
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<ElevatorRequest> unassignedAt(int floor) {
+        if (floor < 0 || floor >= unassignedByFloor.length || unassignedByFloor[floor] == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(unassignedByFloor[floor]);
+    }
+
+    @Override
+    public Collection<ElevatorRequest> unassigned() {
+        return Collections.unmodifiableSet(unassigned);
+    }
+
+    @Override
+    public boolean hasUnassigned() {
+        return !unassigned.isEmpty();
+    }
+
+    @Override
+    public int unassignedCount() {
+        return unassigned.size();
+    }
+
+    @Override
+    public Collection<ElevatorRequest> awaitingPickup(Elevator elevator) {
+        Set<ElevatorRequest> awaiting = awaitingByElevator.get(elevator);
+        return (awaiting == null) ? Collections.emptySet() : Collections.unmodifiableSet(awaiting);
+    }
+
+    @Override
+    public Collection<ElevatorRequest> onboard(Elevator elevator) {
+        Set<ElevatorRequest> onboard = onboardByElevator.get(elevator);
+        return (onboard == null) ? Collections.emptySet() : Collections.unmodifiableSet(onboard);
+    }
+
+    // --- Accès moteur (modifiables) ---
+
+    Set<ElevatorRequest> awaitingOf(Elevator elevator) {
+        return awaitingByElevator.computeIfAbsent(elevator, k -> new LinkedHashSet<>());
+    }
+
+    Set<ElevatorRequest> onboardOf(Elevator elevator) {
+        return onboardByElevator.computeIfAbsent(elevator, k -> new LinkedHashSet<>());
+    }
+
+    // --- Point de reprise ---
+
+    /**
+     * Écrit l'index en conservant tous les ordres d'itération (activation, affectation, montée) :
+     * ils départagent les choix des stratégies. Porte aussi la progression des requêtes actives
+     * (cabine affectée, heure de montée) : le point de reprise ne relit rien d'autre du préfixe.
+     */
+    void writeState(CheckpointOutput out, List<Elevator> fleet) throws IOException {
+        out.writeLong(nextSequence);
+        out.writeInt(size);
+        out.writeInt(unassigned.size());
+        for (ElevatorRequest request : unassigned) {
+            out.writeRequest(request);
+            out.writeLong(activationOrder.get(request));
+        }
+        for (Elevator elevator : fleet) {
+            writeRequests(out, awaitingByElevator.get(elevator), false);
+            writeRequests(out, onboardByElevator.get(elevator), true);
+        }
+    }
+
+    void readState(CheckpointInput in, List<Elevator> fleet) throws IOException {
+        unassigned.clear();
+        Arrays.fill(unassignedByFloor, null);
+        activationOrder.clear();
+        awaitingByElevator.clear();
+        onboardByElevator.clear();
+
+        nextSequence = in.readLong();
+        size = in.readInt();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            ElevatorRequest request = in.readRequest();
+            activationOrder.put(request, in.readLong());
+            unassigned.add(request);
+            bucket(request.getOriginFloor()).add(request);
+        }
+        for (Elevator elevator : fleet) {
+            readRequests(in, elevator, awaitingOf(elevator), false);
+            readRequests(in, elevator, onboardOf(elevator), true);
+        }
+    }
+
+    private static void writeRequests(CheckpointOutput out, Set<ElevatorRequest> requests, boolean onboard)
+            throws IOException {
+        out.writeInt((requests == null) ? 0 : requests.size());
+        if (requests != null) {
+            for (ElevatorRequest request : requests) {
+                out.writeRequest(request);
+                if (onboard) {
+                    out.writeInt(request.getPickupTime());
+                }
+            }
+        }
+    }
+
+    private static void readRequests(CheckpointInput in, Elevator elevator, Set<ElevatorRequest> into,
+                                     boolean onboard) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            ElevatorRequest request = in.readRequest();
+            request.assignTo(elevator);
+            if (onboard) {
+                request.markPickedUp(in.readInt());
+            }
+            into.add(request);
+        }
+    }
+
+    // --- Interne ---
+
+    private ElevatorRequest head(int floor) {
+        if (floor < 0 || floor >= unassignedByFloor.length) {
+            return null;
+        }
+        Set<ElevatorRequest> bucket = unassignedByFloor[floor];
+        if (bucket == null || bucket.isEmpty()) {
+            return null;
+        }
+        Iterator<ElevatorRequest> it = bucket.iterator();
+        return it.next();
+    }
+
+    private boolean isOlder(ElevatorRequest a, ElevatorRequest b) {
+        if (a.getRequestTime() != b.getRequestTime()) {
+            return a.getRequestTime() < b.getRequestTime();
+        }
+        return activationOrder.get(a) < activationOrder.get(b);
+    }
+
+    private Set<ElevatorRequest> bucket(int floor) {
+        if (floor >= unassignedByFloor.length) {
+            unassignedByFloor = Arrays.copyOf(unassignedByFloor, floor + 1);
+        }
+        if (unassignedByFloor[floor] == null) {
+            unassignedByFloor[floor] = new LinkedHashSet<>();
+        }
+        return unassignedByFloor[floor];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedHashSet<ElevatorRequest>[] newBuckets(int n) {
+        return (LinkedHashSet<ElevatorRequest>[]) new LinkedHashSet[n];
+    }
+}
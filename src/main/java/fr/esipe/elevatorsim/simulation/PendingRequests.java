@@ -0,0 +1,55 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.util.Collection;
+
+/**
+ * Vue des requêtes actives offerte aux stratégies.
+ * Les stratégies ne peuvent ni ajouter ni retirer de requête : la seule écriture
+ * autorisée est l'affectation à une cabine, qui passe par assign() pour que
+ * l'index reste cohérent.
+ */
+public interface PendingRequests {
+
+    /**
+     * Requête non assignée la plus ancienne (ordre d'activation en cas d'égalité), ou null.
+     */
+    ElevatorRequest oldestUnassigned();
+
+    /**
+     * Requête non assignée dont l'étage d'origine est le plus proche de floor,
+     * la plus ancienne en cas d'égalité de distance, ou null.
+     */
+    ElevatorRequest nearestUnassigned(int floor);
+
+    /**
+     * Requêtes non assignées en attente à un étage, de la plus ancienne à la plus récente.
+     */
+    Collection<ElevatorRequest> unassignedAt(int floor);
+
+    /**
+     * Toutes les requêtes non assignées, de la plus ancienne à la plus récente.
+     */
+    Collection<ElevatorRequest> unassigned();
+
+    boolean hasUnassigned();
+
+    int unassignedCount();
+
+    /**
+     * Requêtes affectées à la cabine et pas encore prises en charge.
+     */
+    Collection<ElevatorRequest> awaitingPickup(Elevator elevator);
+
+    /**
+     * Passagers à bord de la cabine.
+     */
+    Collection<ElevatorRequest> onboard(Elevator elevator);
+
+    /**
+     * Affecte (ou réaffecte, tant qu'elle n'est pas prise en charge) une requête à une cabine.
+     */
+    void assign(ElevatorRequest request, Elevator elevator);
+}
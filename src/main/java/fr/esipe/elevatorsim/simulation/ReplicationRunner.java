@@ -0,0 +1,124 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.RandomStreams;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.stats.ReplicationSummary;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.ElevatorStrategy;
+import fr.esipe.elevatorsim.strategy.GroupDispatcher;
+import fr.esipe.elevatorsim.strategy.PerElevatorDispatcher;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Réplications Monte Carlo : N runs indépendants de la même configuration,
+ * chacun avec ses propres graines et son propre Building, répartis sur un pool de threads.
+ *
+ * Les graines de la réplication i ne dépendent que de (baseSeed, i) et les résultats
+ * sont fusionnés dans l'ordre des réplications : le résumé est identique quel que soit
+ * le nombre de threads.
+ */
+public class ReplicationRunner {
+
+    private final SimulationConfig config;
+    private final Supplier<GroupDispatcher> dispatcherFactory;
+    private final SimulationOptions baseOptions;
+
+    /**
+     * @param config          configuration partagée en lecture seule par tous les runs
+     * @param strategyFactory fournit une stratégie neuve par run (les stratégies peuvent avoir un état)
+     * @param baseOptions     options communes (moteur...) ; graines et affichage sont fixés par run
+     */
+    public ReplicationRunner(SimulationConfig config,
+                             Supplier<ElevatorStrategy> strategyFactory,
+                             SimulationOptions baseOptions) {
+        this.config = config;
+        this.dispatcherFactory = () -> new PerElevatorDispatcher(strategyFactory.get());
+        this.baseOptions = baseOptions;
+    }
+
+    /**
+     * Variante par nom de stratégie ou de répartiteur (cf. StrategyFactory.dispatcherFromName).
+     */
+    public ReplicationRunner(SimulationConfig config, String strategyName, SimulationOptions baseOptions) {
+        this.config = config;
+        this.dispatcherFactory = () -> StrategyFactory.dispatcherFromName(strategyName);
+        this.baseOptions = baseOptions;
+    }
+
+    public ReplicationSummary run(int replications, long baseSeed, int threads) {
+        return ReplicationSummary.of(runAll(replications, baseSeed, threads), baseSeed);
+    }
+
+    /**
+     * Exécute les réplications et renvoie leurs stats dans l'ordre des indices.
+     */
+    public List<SimulationStats> runAll(int replications, long baseSeed, int threads) {
+        if (replications <= 0) {
+            throw new IllegalArgumentException("replications must be > 0");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be > 0");
+        }
+
+        List<Callable<SimulationStats>> tasks = new ArrayList<>(replications);
+        for (int i = 0; i < replications; i++) {
+            final int index = i;
+            tasks.add(() -> runOne(baseSeed, index));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, replications));
+        try {
+            List<SimulationStats> results = new ArrayList<>(replications);
+            for (Future<SimulationStats> f : pool.invokeAll(tasks)) {
+                results.add(f.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Replications interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Replication failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Un run complet pour la réplication index.
+     */
+    public SimulationStats runOne(long baseSeed, int index) {
+        Building building = ModelFactory.buildFromConfig(config, seedFor(baseSeed, 2L * index));
+
+        SimulationOptions options = baseOptions.copy();
+        options.requestSeed = seedFor(baseSeed, 2L * index + 1);
+        options.printSummary = false;
+
+        SimulationClock clock = new SimulationClock(
+                config.simulation.dayDurationSeconds,
+                config.simulation.tickSeconds
+        );
+        Simulation simulation = new Simulation(building, clock, dispatcherFactory.get(), options);
+        simulation.run();
+        SimulationStats stats = simulation.getStats();
+        simulation.close();
+        return stats;
+    }
+
+    /**
+     * Graine dérivée (mélange SplitMix64) : flux bien séparés même pour des indices voisins.
+     */
+    static long seedFor(long baseSeed, long stream) {
+        return RandomStreams.seedFor(baseSeed, stream);
+    }
+}
@@ -0,0 +1,80 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Requêtes de la journée par heure de requête (rang = ElevatorRequest.getIndex()),
+ * en blocs de taille fixe. Une copie (fork()) partage les blocs : seul le tableau des blocs
+ * est recopié, et un bloc partagé n'est dupliqué qu'au premier remplacement d'une de ses
+ * requêtes. Coût d'une copie en O(nombre de blocs).
+ *
+ * Vue en lecture seule hors du moteur (cf. Simulation.getAllRequests()).
+ */
+final class RequestHistory extends AbstractList<ElevatorRequest> implements RandomAccess {
+
+    static final int CHUNK_REQUESTS = 4096;
+
+    private final ElevatorRequest[][] chunks;
+    private final boolean[] shared;         // bloc aussi référencé par une autre copie
+    private final int size;
+
+    /**
+     * Historique des requêtes triées ; leur rang est fixé ici.
+     */
+    RequestHistory(ElevatorRequest[] requests) {
+        this.size = requests.length;
+        this.chunks = new ElevatorRequest[(size + CHUNK_REQUESTS - 1) / CHUNK_REQUESTS][];
+        this.shared = new boolean[chunks.length];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c * CHUNK_REQUESTS;
+            chunks[c] = Arrays.copyOfRange(requests, from, Math.min(size, from + CHUNK_REQUESTS));
+        }
+        for (int i = 0; i < size; i++) {
+            requests[i].setIndex(i);
+        }
+    }
+
+    private RequestHistory(RequestHistory source) {
+        this.size = source.size;
+        this.chunks = source.chunks.clone();
+        this.shared = new boolean[chunks.length];
+        Arrays.fill(shared, true);
+        Arrays.fill(source.shared, true);
+    }
+
+    /**
+     * Copie qui partage tous les blocs avec celle-ci (à ne pas appeler pendant un run).
+     */
+    RequestHistory fork() {
+        return new RequestHistory(this);
+    }
+
+    @Override
+    public ElevatorRequest get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chunks[index / CHUNK_REQUESTS][index % CHUNK_REQUESTS];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remplace la requête de rang {@code index} dans cette copie seulement.
+     */
+    void replace(int index, ElevatorRequest request) {
+        int c = index / CHUNK_REQUESTS;
+        if (shared[c]) {
+            chunks[c] = chunks[c].clone();
+            shared[c] = false;
+        }
+        chunks[c][index % CHUNK_REQUESTS] = request;
+    }
+}
@@ -1,48 +1,218 @@
 package fr.esipe.elevatorsim.simulation;
 
+import fr.esipe.elevatorsim.config.RandomStreams;
 import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.stats.StatsCollector;
 import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.Elevator;
 import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.model.FleetState;
+import fr.esipe.elevatorsim.model.Floor;
 import fr.esipe.elevatorsim.model.Resident;
 import fr.esipe.elevatorsim.model.ResidentTripPlan;
 import fr.esipe.elevatorsim.strategy.ElevatorStrategy;
+import fr.esipe.elevatorsim.strategy.GroupDispatcher;
+import fr.esipe.elevatorsim.strategy.PerElevatorDispatcher;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 
 /**
  * Moteur principal de simulation.
  * Phase 4 : les déplacements des résidents créent des requêtes d'ascenseur,
  * traitées par une stratégie de contrôle.
+ * Deux modes d'avancement du temps : pas fixe ou événementiel (cf. EngineMode).
  */
 public class Simulation {
 
+    private static final int CHECKPOINT_MAGIC = 0x454C4350;     // "ELCP"
+    private static final int CHECKPOINT_VERSION = 2;
+
     private SimulationStats stats;
-    private final Map<Integer, List<ElevatorStopEvent>> elevatorStopEvents = new java.util.HashMap<>();
+    private final StatsCollector statsCollector;
+    private final Map<Integer, StopEventLog> elevatorStopEvents = new java.util.TreeMap<>();   // par id croissant
 
     private long occupancySum = 0;          // somme des passagers sur tous les ticks et ascenseurs
     private long capacitySum = 0;           // somme des capacités correspondantes (pour un taux moyen)
 
-    private final Random random = new Random(42); // graine fixe pour reproductibilité
     private final Building building;
     private final SimulationClock clock;
-    private final ElevatorStrategy elevatorStrategy;
+    private final GroupDispatcher dispatcher;
+    private final SimulationOptions options;
+    private final SimulationProfiler profiler;  // null si le profilage est désactivé
+
+    private final RequestHistory allRequests;
+    private final PendingRequestIndex pendingRequests;
+    private int nextRequestIndex = 0;       // prochaine requête à activer dans allRequests
+    private final List<ElevatorRequest> newRequests = new ArrayList<>();   // activées pendant le tick courant
+
+    private final Elevator.ArrivalListener arrivalHandler = this::onArrival;
+    private final StopEffects sequentialEffects = new StopEffects();
+    private StopEffects[] carEffects = new StopEffects[0];              // pas parallèle : un par cabine
+    private Elevator.ArrivalListener[] carHandlers = new Elevator.ArrivalListener[0];
+    private FleetState fleetState;                          // null hors options.fleetState
+    private int stepStartTime;              // début du tick en cours de simulation
+    private long handleStopsNanos;          // profilage : temps des arrivées pendant les step()
 
-    private final List<ElevatorRequest> allRequests = new ArrayList<>();
-    private final List<ElevatorRequest> pendingRequests = new ArrayList<>();
+    private final long requestsFingerprint;
+    private CheckpointWriter checkpointWriter;               // null si pas de points de reprise
+    private CheckpointArchive archive;                       // historique figé, créé au premier point de reprise
+    private int nextCheckpointTime = Integer.MAX_VALUE;
+    private volatile boolean running = false;                // runUntil() en cours
+    private int stopTime = Integer.MAX_VALUE;                // fin de runUntil() en cours
+    private int sharedRequestsFrom = Integer.MAX_VALUE;      // requêtes à venir partagées avec une copie (fork)
+
+    private TraceRecorder trace;                             // null si le run n'est pas tracé
+    private int[] tracedStopVersions;
+    private int[] tracedArrivals;
+    private boolean[] tracedDoorOpen;
 
     public Simulation(Building building, SimulationClock clock, ElevatorStrategy elevatorStrategy) {
+        this(building, clock, elevatorStrategy, new SimulationOptions());
+    }
+
+    /**
+     * Stratégie par cabine, appelée pour chaque ascenseur dans l'ordre de la flotte.
+     */
+    public Simulation(Building building,
+                      SimulationClock clock,
+                      ElevatorStrategy elevatorStrategy,
+                      SimulationOptions options) {
+        this(building, clock, new PerElevatorDispatcher(elevatorStrategy), options);
+    }
+
+    /**
+     * Répartiteur de groupe, appelé une fois par tick pour toute la flotte.
+     */
+    public Simulation(Building building,
+                      SimulationClock clock,
+                      GroupDispatcher dispatcher,
+                      SimulationOptions options) {
         this.building = building;
         this.clock = clock;
-        this.elevatorStrategy = elevatorStrategy;
-        generateRequestsFromResidents();
+        this.dispatcher = dispatcher;
+        this.options = options;
+        this.profiler = options.profile ? new SimulationProfiler() : null;
+        this.pendingRequests = new PendingRequestIndex(building.getFloorsCount());
+        this.statsCollector = new StatsCollector(building.getFloorsCount());
+        this.allRequests = new RequestHistory(generateRequestsFromResidents());
+        this.requestsFingerprint = fingerprint(allRequests);
+    }
+
+    /**
+     * Copie indépendante de la simulation à l'instant courant (cf. fork()).
+     */
+    private Simulation(Simulation parent) {
+        this.options = parent.options.copy();
+        this.options.tracePath = null;      // une seule trace par fichier : celle de l'original
+        this.clock = parent.clock.copy();
+        this.building = Building.sharingFloors(parent.building);
+        this.dispatcher = (GroupDispatcher) ((Forkable<?>) parent.dispatcher).newInstance();
+        this.profiler = options.profile ? new SimulationProfiler() : null;
+        this.pendingRequests = new PendingRequestIndex(building.getFloorsCount());
+        this.statsCollector = new StatsCollector(building.getFloorsCount());
+        this.requestsFingerprint = parent.requestsFingerprint;
+
+        for (Elevator elevator : parent.building.getElevators()) {
+            building.addElevator(new Elevator(elevator));
+        }
+
+        // Historique partagé par blocs (requêtes terminées et à venir) ; seules les requêtes
+        // actives sont copiées, leur progression vient de l'index ci-dessous. Les requêtes
+        // à venir restent partagées jusqu'à leur activation dans la copie (cf. activateRequests),
+        // l'original pouvant les modifier en place : seuls leurs champs immuables sont relus
+        this.allRequests = parent.allRequests.fork();
+        parent.pendingRequests.forEachActive(request -> {
+            ElevatorRequest copy = new ElevatorRequest(request.getResidentId(), request.getRequestTime(),
+                    request.getOriginFloor(), request.getDestinationFloor());
+            copy.setIndex(request.getIndex());
+            allRequests.replace(request.getIndex(), copy);
+        });
+        nextRequestIndex = parent.nextRequestIndex;
+        sharedRequestsFrom = nextRequestIndex;
+
+        occupancySum = parent.occupancySum;
+        capacitySum = parent.capacitySum;
+        parent.elevatorStopEvents.forEach((id, log) -> elevatorStopEvents.put(id, log.fork()));
+
+        // État vivant (index des requêtes actives, accumulateurs, répartiteur) : même codage
+        // que les points de reprise, les rangs des requêtes étant résolus dans la copie
+        List<Elevator> parentFleet = parent.building.getElevators();
+        try (CheckpointOutput out = CheckpointOutput.inMemory(parentFleet)) {
+            parent.pendingRequests.writeState(out, parentFleet);
+            parent.statsCollector.writeState(out);
+            if (parent.dispatcher instanceof Checkpointable) {
+                ((Checkpointable) parent.dispatcher).writeCheckpoint(out);
+            }
+            try (CheckpointInput in = new CheckpointInput(out.toByteBuffer(), allRequests, building.getElevators())) {
+                pendingRequests.readState(in, building.getElevators());
+                statsCollector.readState(in);
+                if (dispatcher instanceof Checkpointable) {
+                    ((Checkpointable) dispatcher).readCheckpoint(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to fork simulation", e);
+        }
+    }
+
+    /**
+     * Copie indépendante de la simulation à l'instant courant, pour des scénarios
+     * « et si ? » qui divergent d'un préfixe commun (ex. mettre une cabine hors service
+     * à 08:10) : horloge, cabines, requêtes actives, accumulateurs de stats, journaux
+     * d'arrêts et état du répartiteur. Les deux simulations peuvent ensuite tourner
+     * en parallèle sur des threads distincts.
+     *
+     * Le coût suit l'état vivant : seules les requêtes actives (tirées de l'index des requêtes
+     * en attente) sont copiées. Les résidents, les requêtes terminées et les blocs pleins des
+     * journaux d'arrêts sont partagés (jamais modifiés) ; l'historique des requêtes l'est par
+     * blocs, en O(nombre de blocs) ; les requêtes à venir ne sont copiées qu'à leur activation.
+     * Une requête terminée partagée désigne la cabine d'origine (même id) comme cabine assignée.
+     * À appeler entre deux runUntil() ; le répartiteur (ou la stratégie par cabine) doit
+     * implémenter Forkable.
+     */
+    public Simulation fork() {
+        if (running) {
+            throw new IllegalStateException("Cannot fork a running simulation");
+        }
+        boolean forkable = (dispatcher instanceof PerElevatorDispatcher)
+                ? ((PerElevatorDispatcher) dispatcher).isForkable()
+                : dispatcher instanceof Forkable;
+        if (!forkable) {
+            String name = (dispatcher instanceof PerElevatorDispatcher)
+                    ? ((PerElevatorDispatcher) dispatcher).getStrategy().getClass().getName()
+                    : dispatcher.getClass().getName();
+            throw new IllegalStateException("Cannot fork a simulation driven by " + name + " (not Forkable)");
+        }
+        return new Simulation(this);
+    }
+
+    public Building getBuilding() {
+        return building;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
     }
 
     public SimulationStats getStats() {
@@ -52,49 +222,44 @@ public class Simulation {
         return stats;
     }
 
-    public Map<Integer, List<ElevatorStopEvent>> getElevatorStopEvents() {
+    /**
+     * Journaux d'arrêts par ascenseur (id croissant), à relire en flux.
+     */
+    public Map<Integer, StopEventLog> getElevatorStopEvents() {
         return elevatorStopEvents;
     }
 
-    private SimulationStats computeStats() {
+    /**
+     * Libère les fichiers temporaires des journaux d'arrêts déversés sur disque.
+     */
+    public void close() {
+        closeTrace();
+        if (checkpointWriter != null) {
+            checkpointWriter.close();
+            checkpointWriter = null;
+        }
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close checkpoint history " + archive.path(), e);
+            }
+            archive = null;
+        }
+        elevatorStopEvents.values().forEach(StopEventLog::close);
+        if (profiler != null) {
+            profiler.unregister();
+        }
+    }
+
+    /**
+     * Assemble les stats finales à partir des accumulateurs : O(étages), sans tri.
+     */
+    SimulationStats computeStats() {
         SimulationStats s = new SimulationStats();
 
         s.totalRequests = allRequests.size();
-        s.completedRequests = (int) allRequests.stream().filter(ElevatorRequest::isCompleted).count();
-
-        var waits = allRequests.stream()
-                .filter(ElevatorRequest::isPickedUp)
-                .map(r -> r.getPickupTime() - r.getRequestTime())
-                .sorted()
-                .toList();
-
-        var travels = allRequests.stream()
-                .filter(ElevatorRequest::isCompleted)
-                .map(r -> r.getDropoffTime() - r.getPickupTime())
-                .sorted()
-                .toList();
-
-        s.averageWait = waits.stream().mapToInt(Integer::intValue).average().orElse(0.0);
-        s.medianWait = median(waits);
-        s.maxWait = waits.stream().mapToInt(Integer::intValue).max().orElse(0);
-
-        s.averageTravel = travels.stream().mapToInt(Integer::intValue).average().orElse(0.0);
-        s.medianTravel = median(travels);
-        s.maxTravel = travels.stream().mapToInt(Integer::intValue).max().orElse(0);
-
-        // Moyenne d'attente par étage d'origine
-        Map<Integer, java.util.List<Integer>> waitByOrigin = new java.util.HashMap<>();
-        for (ElevatorRequest r : allRequests) {
-            if (!r.isPickedUp()) continue;
-            int w = r.getPickupTime() - r.getRequestTime();
-            waitByOrigin.computeIfAbsent(r.getOriginFloor(), k -> new java.util.ArrayList<>()).add(w);
-        }
-        Map<Integer, Double> avgWaitByOrigin = new java.util.TreeMap<>();
-        for (var e : waitByOrigin.entrySet()) {
-            double avg = e.getValue().stream().mapToInt(Integer::intValue).average().orElse(0.0);
-            avgWaitByOrigin.put(e.getKey(), avg);
-        }
-        s.averageWaitByOriginFloor = avgWaitByOrigin;
+        statsCollector.fill(s);
 
         // Énergie
         double totalEnergy = 0.0;
@@ -113,52 +278,678 @@ public class Simulation {
     }
 
     public void run() {
+        if (profiler != null) {
+            profiler.register();
+            profiler.runStarted();
+        }
+        runUntil(clock.getEndTimeSeconds());
+        if (profiler != null) {
+            profiler.runFinished();
+        }
+
+        if (options.printSummary) {
+            printSummary();
+            if (profiler != null) {
+                profiler.printProfile();
+            }
+        }
+    }
+
+    /**
+     * Fait avancer la simulation jusqu'à l'instant donné (premier tick à partir de cet
+     * instant, non simulé), sans résumé. Un appel suivant, ou run(), reprend là où elle s'est
+     * arrêtée : le résultat final est le même que celui d'un run d'une traite.
+     */
+    public void runUntil(int timeSeconds) {
+        stats = null;
+        stopTime = timeSeconds;
+        if (options.tracePath != null && trace == null && !clock.isFinished()) {
+            openTrace();
+        }
+        if (options.checkpointIntervalSeconds > 0) {
+            checkpointWriter = new CheckpointWriter();
+            nextCheckpointTime = nextCheckpointAfter(clock.getCurrentTimeSeconds());
+        }
+        running = true;
+        try {
+            if (options.engineMode == EngineMode.EVENT) {
+                runEventDriven();
+            } else {
+                runTicks();
+            }
+        } finally {
+            running = false;
+            if (checkpointWriter != null) {
+                checkpointWriter.close();
+                checkpointWriter = null;
+            }
+            stopTime = Integer.MAX_VALUE;
+            if (clock.isFinished()) {
+                closeTrace();
+            }
+        }
+    }
+
+    /**
+     * Profileur du run, ou null si SimulationOptions.profile est faux.
+     */
+    public SimulationProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Moteur à pas fixe : chaque tick de la journée est simulé.
+     */
+    private void runTicks() {
+        while (!clock.isFinished() && clock.getCurrentTimeSeconds() < stopTime) {
+            checkpointIfDue(clock.getCurrentTimeSeconds());
+            simulateTick(clock.getCurrentTimeSeconds());
+            clock.tick();
+        }
+    }
+
+    /**
+     * Moteur événementiel : seuls les ticks où il se passe quelque chose sont simulés
+     * complètement. Entre deux événements, les cabines avancent sans appel à la stratégie.
+     *
+     * Tolérance : pour une stratégie réactive (cf. ElevatorStrategy), les statistiques
+     * et les arrêts produits sont identiques à ceux du moteur à pas fixe.
+     */
+    private void runEventDriven() {
         int tickSeconds = clock.getTickSeconds();
-        int nextRequestIndex = 0;
+        List<Elevator> elevators = building.getElevators();
+        int n = elevators.size();
+
+        PriorityQueue<SimulationEvent> events = new PriorityQueue<>();
+        int[] versions = new int[n];
+        int[] knownArrivals = new int[n];
+        boolean[] knownDoorOpen = new boolean[n];
+        int[] knownTargets = new int[n];
+        java.util.Arrays.fill(knownArrivals, -1);
+        int scheduledActivation = -1;
+
+        while (!clock.isFinished() && clock.getCurrentTimeSeconds() < stopTime) {
+            int processedTime = clock.getCurrentTimeSeconds();
+            checkpointIfDue(processedTime);
+            simulateTick(processedTime);
+            clock.tick();
+            if (clock.isFinished() || clock.getCurrentTimeSeconds() >= stopTime) {
+                break;
+            }
 
-        while (!clock.isFinished()) {
-            int currentTime = clock.getCurrentTimeSeconds();
+            int now = clock.getCurrentTimeSeconds();
+            int remainingTicks = ticksBetween(now, clock.getEndTimeSeconds(), tickSeconds);
 
-            // Activer les nouvelles requêtes
-            while (nextRequestIndex < allRequests.size()
-                    && allRequests.get(nextRequestIndex).getRequestTime() <= currentTime) {
-                pendingRequests.add(allRequests.get(nextRequestIndex));
-                nextRequestIndex++;
+            // Prochaine activation de requête
+            if (nextRequestIndex < allRequests.size() && nextRequestIndex != scheduledActivation) {
+                int time = alignToTick(allRequests.get(nextRequestIndex).getRequestTime(), tickSeconds);
+                events.add(new SimulationEvent(time, SimulationEvent.Type.REQUEST_ACTIVATION, -1, 0));
+                scheduledActivation = nextRequestIndex;
             }
 
-            // Stratégie pour chaque ascenseur
-            for (Elevator elevator : building.getElevators()) {
-                elevatorStrategy.step(building, elevator, pendingRequests, currentTime, tickSeconds);
+            // Prédictions des ascenseurs dont l'état a changé pendant ce tick
+            for (int i = 0; i < n; i++) {
+                Elevator elevator = elevators.get(i);
+                if (elevator.getArrivalsCount() == knownArrivals[i]
+                        && elevator.isDoorOpen() == knownDoorOpen[i]
+                        && elevator.currentTarget() == knownTargets[i]) {
+                    continue;
+                }
+                boolean arrived = elevator.getArrivalsCount() != knownArrivals[i];
+                knownArrivals[i] = elevator.getArrivalsCount();
+                knownDoorOpen[i] = elevator.isDoorOpen();
+                knownTargets[i] = elevator.currentTarget();
+                versions[i]++;
+
+                // Arrivée et fermeture des portes dans le même tick : la stratégie doit voir
+                // l'arrivée dès le tick suivant, aucune fermeture ne la rappellera plus tard
+                if (arrived && !elevator.isDoorOpen()) {
+                    events.add(new SimulationEvent(now, SimulationEvent.Type.ELEVATOR_STATE, i, versions[i]));
+                }
+                int ticks = elevator.ticksUntilNextEvent(tickSeconds, remainingTicks);
+                if (ticks > 0) {
+                    int time = now + (ticks - 1) * tickSeconds;
+                    events.add(new SimulationEvent(time, SimulationEvent.Type.ELEVATOR_STATE, i, versions[i]));
+                }
             }
 
-            // Mouvement + gestion des pickups/dropoffs
-            for (Elevator elevator : building.getElevators()) {
-                boolean previousDoorOpen = elevator.isDoorOpen();
-                elevator.step(tickSeconds);
-                handleStopsAndRequests(elevator, currentTime + tickSeconds, previousDoorOpen);
+            int wakeUp = dispatcher.nextWakeUpTime(building, now);
+            if (wakeUp != Integer.MAX_VALUE) {
+                int time = alignToTick(Math.max(wakeUp, now), tickSeconds);
+                events.add(new SimulationEvent(time, SimulationEvent.Type.STRATEGY_WAKEUP, -1, 0));
             }
 
-            // Stat occupation : on ne considère que les ticks où au moins un passager est à bord
-            for (Elevator elevator : building.getElevators()) {
-                int onboard = countOnboardPassengers(elevator);
-                if (onboard > 0) {
-                    occupancySum += onboard;
-                    capacitySum += elevator.getCapacity();
+            // Événements déjà traités ou périmés
+            while (!events.isEmpty()) {
+                SimulationEvent head = events.peek();
+                boolean stale = head.type == SimulationEvent.Type.ELEVATOR_STATE
+                        && head.version != versions[head.elevatorIndex];
+                if (head.time > processedTime && !stale) {
+                    break;
                 }
+                events.poll();
             }
-            clock.tick();
+
+            if (strategyCanActNow(elevators)) {
+                continue;
+            }
+
+            int skip = events.isEmpty()
+                    ? remainingTicks
+                    : Math.min(remainingTicks, (events.peek().time - now) / tickSeconds);
+            if (nextCheckpointTime != Integer.MAX_VALUE) {
+                // Le point de reprise se prend en tête de tick : on ne le saute pas
+                skip = Math.min(skip, ticksBetween(now, nextCheckpointTime, tickSeconds));
+            }
+            skip = Math.min(skip, ticksBetween(now, stopTime, tickSeconds));
+            if (skip > 0) {
+                long t0 = (profiler != null) ? System.nanoTime() : 0;
+                for (Elevator elevator : elevators) {
+                    elevator.advance(tickSeconds, skip);
+                }
+                long t1 = (profiler != null) ? System.nanoTime() : 0;
+                accumulateOccupancy(skip);
+                if (profiler != null) {
+                    // Ticks sautés comptés : leur mouvement l'est aussi, sinon les phases ne couvrent pas le run
+                    profiler.add(SimulationProfiler.Phase.ELEVATOR_STEP, t1 - t0);
+                    profiler.add(SimulationProfiler.Phase.OCCUPANCY, System.nanoTime() - t1);
+                    profiler.ticks(skip);
+                }
+                clock.advance(skip);
+            }
+        }
+    }
+
+    /**
+     * Un tick complet : activation des requêtes, stratégie, mouvements, occupation.
+     */
+    private void simulateTick(int currentTime) {
+        if (trace != null) {
+            simulateTickTraced(currentTime);    // prime sur le profilage par phase
+            return;
+        }
+        if (profiler != null) {
+            simulateTickProfiled(currentTime);
+            return;
+        }
+        int tickSeconds = clock.getTickSeconds();
+
+        // Activer les nouvelles requêtes
+        activateRequests(currentTime);
+
+        // Répartition (stratégie appelée pour chaque ascenseur, ou répartiteur de groupe)
+        dispatcher.dispatch(building, building.getElevators(), newRequests, pendingRequests, currentTime, tickSeconds);
+
+        // Mouvement + gestion des pickups/dropoffs à chaque arrivée
+        stepStartTime = currentTime;
+        stepFleet(building.getElevators(), tickSeconds);
+
+        accumulateOccupancy(1);
+    }
+
+    /**
+     * Pas de toutes les cabines. Au-delà de options.parallelStepMinFleet cabines, les pas sont
+     * faits en parallèle : chaque cabine ne touche qu'à elle-même, ses requêtes et ses ensembles
+     * (serveStop), les effets partagés de ses arrêts sont appliqués ensuite dans l'ordre de la
+     * flotte. Résultat identique au pas séquentiel, quel que soit le nombre de threads.
+     * Avec options.fleetState, la flotte est regroupée dans un FleetState et avancée en un
+     * seul pas (séquentiel, il prime sur le pas parallèle).
+     */
+    private void stepFleet(List<Elevator> elevators, int tickSeconds) {
+        if (options.fleetState) {
+            if (fleetState == null || !fleetState.holds(elevators)) {
+                fleetState = FleetState.of(elevators);
+            }
+            fleetState.step(tickSeconds, arrivalHandler);
+            return;
+        }
+        int n = elevators.size();
+        if (options.parallelStepMinFleet <= 0 || n < options.parallelStepMinFleet) {
+            for (Elevator elevator : elevators) {
+                elevator.step(tickSeconds, arrivalHandler);
+            }
+            return;
         }
+        if (carHandlers.length != n) {
+            carEffects = new StopEffects[n];
+            carHandlers = new Elevator.ArrivalListener[n];
+            for (int i = 0; i < n; i++) {
+                StopEffects effects = new StopEffects();
+                carEffects[i] = effects;
+                carHandlers[i] = (car, floor, offset) -> serveStop(car, floor, arrivalTime(offset), effects);
+            }
+        }
+        pendingRequests.registerCars(elevators);
+
+        IntStream.range(0, n).parallel()
+                .forEach(i -> elevators.get(i).step(tickSeconds, carHandlers[i]));
 
-        printSummary();
+        long t0 = (profiler != null) ? System.nanoTime() : 0;
+        for (int i = 0; i < n; i++) {
+            if (carEffects[i].stopCount() > 0) {
+                applyStopEffects(elevators.get(i), carEffects[i]);
+            }
+        }
+        if (profiler != null) {
+            handleStopsNanos += System.nanoTime() - t0;
+        }
+    }
+
+    /**
+     * Même tick que simulateTick, chronométré phase par phase
+     * (chemin séparé pour ne rien coûter quand le profilage est désactivé).
+     */
+    private void simulateTickProfiled(int currentTime) {
+        int tickSeconds = clock.getTickSeconds();
+        List<Elevator> elevators = building.getElevators();
+
+        long t0 = System.nanoTime();
+        activateRequests(currentTime);
+        long t1 = System.nanoTime();
+        profiler.add(SimulationProfiler.Phase.ACTIVATION, t1 - t0);
+
+        dispatcher.dispatch(building, elevators, newRequests, pendingRequests, currentTime, tickSeconds);
+        long t2 = System.nanoTime();
+        profiler.add(SimulationProfiler.Phase.STRATEGY, t2 - t1);
+        // Un appel par cabine pour une stratégie par cabine, un seul pour un répartiteur de groupe
+        profiler.strategyInvoked((dispatcher instanceof PerElevatorDispatcher) ? elevators.size() : 1);
+
+        // Les arrivées sont traitées pendant step() : leur temps est retiré du mouvement
+        stepStartTime = currentTime;
+        handleStopsNanos = 0;
+        stepFleet(elevators, tickSeconds);
+        long t3 = System.nanoTime();
+        profiler.add(SimulationProfiler.Phase.ELEVATOR_STEP, (t3 - t2) - handleStopsNanos);
+        profiler.add(SimulationProfiler.Phase.HANDLE_STOPS, handleStopsNanos);
+
+        accumulateOccupancy(1);
+        profiler.add(SimulationProfiler.Phase.OCCUPANCY, System.nanoTime() - t3);
+        profiler.ticks(1);
+    }
+
+    /**
+     * Même tick que simulateTick, avec la trace des décisions : les arrêts modifiés par
+     * la stratégie et les fermetures de portes se lisent par comparaison avant/après.
+     * Le pas passe par stepFleet (séquentiel, parallèle ou FleetState) : la trace, et donc
+     * --trace-verify, couvre le chemin réellement choisi. Les fermetures de portes sont
+     * notées après le pas de toute la flotte, dans l'ordre de la flotte.
+     */
+    private void simulateTickTraced(int currentTime) {
+        int tickSeconds = clock.getTickSeconds();
+        List<Elevator> elevators = building.getElevators();
+        trace.startTick(currentTime);
+
+        activateRequests(currentTime);
+
+        for (int i = 0; i < elevators.size(); i++) {
+            tracedStopVersions[i] = elevators.get(i).getStops().version();
+        }
+        dispatcher.dispatch(building, elevators, newRequests, pendingRequests, currentTime, tickSeconds);
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            if (elevator.getStops().version() != tracedStopVersions[i]) {
+                trace.stops(elevator);
+            }
+            tracedArrivals[i] = elevator.getArrivalsCount();
+            tracedDoorOpen[i] = elevator.isDoorOpen();
+        }
+
+        stepStartTime = currentTime;
+        stepFleet(elevators, tickSeconds);
+        for (int i = 0; i < elevators.size(); i++) {
+            Elevator elevator = elevators.get(i);
+            boolean reopened = elevator.getArrivalsCount() != tracedArrivals[i];
+            if (!elevator.isDoorOpen() && (tracedDoorOpen[i] || reopened)) {
+                trace.doorClose(elevator, currentTime + tickSeconds);
+            }
+        }
+
+        accumulateOccupancy(1);
+    }
+
+    private void openTrace() {
+        List<Elevator> elevators = building.getElevators();
+        try {
+            trace = new TraceRecorder(Paths.get(options.tracePath), clock, options.requestSeed,
+                    requestsFingerprint, elevators);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create trace " + options.tracePath, e);
+        }
+        tracedStopVersions = new int[elevators.size()];
+        tracedArrivals = new int[elevators.size()];
+        tracedDoorOpen = new boolean[elevators.size()];
+        pendingRequests.trace = trace;
+    }
+
+    private void closeTrace() {
+        if (trace != null) {
+            trace.close();
+            trace = null;
+            pendingRequests.trace = null;
+        }
+    }
+
+    private void activateRequests(int currentTime) {
+        newRequests.clear();
+        while (nextRequestIndex < allRequests.size()
+                && allRequests.get(nextRequestIndex).getRequestTime() <= currentTime) {
+            ElevatorRequest request = allRequests.get(nextRequestIndex);
+            if (nextRequestIndex >= sharedRequestsFrom) {
+                // Requête encore partagée avec une copie de la simulation : on active la nôtre
+                request = new ElevatorRequest(request.getResidentId(), request.getRequestTime(),
+                        request.getOriginFloor(), request.getDestinationFloor());
+                request.setIndex(nextRequestIndex);
+                allRequests.replace(nextRequestIndex, request);
+            }
+            pendingRequests.activate(request);
+            newRequests.add(request);
+            if (trace != null) {
+                trace.activation(request, nextRequestIndex);
+            }
+            nextRequestIndex++;
+        }
+    }
+
+    /**
+     * Stat occupation : on ne considère que les ticks où au moins un passager est à bord.
+     */
+    private void accumulateOccupancy(int ticks) {
+        for (Elevator elevator : building.getElevators()) {
+            int onboard = pendingRequests.onboardCount(elevator);
+            if (onboard > 0) {
+                occupancySum += (long) onboard * ticks;
+                capacitySum += (long) elevator.getCapacity() * ticks;
+            }
+        }
+    }
+
+    /**
+     * Vrai si une stratégie réactive peut agir au prochain tick :
+     * un ascenseur sans arrêt et au moins une requête non assignée.
+     */
+    private boolean strategyCanActNow(List<Elevator> elevators) {
+        if (!pendingRequests.hasUnassigned()) {
+            return false;
+        }
+        for (Elevator elevator : elevators) {
+            if (!elevator.hasStops()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // === Points de reprise ===
+
+    private int nextCheckpointAfter(int time) {
+        int interval = options.checkpointIntervalSeconds;
+        return (time / interval + 1) * interval;
+    }
+
+    private void checkpointIfDue(int time) {
+        if (time < nextCheckpointTime) {
+            return;
+        }
+        nextCheckpointTime = nextCheckpointAfter(time);
+        writeCheckpoint(Paths.get(String.format(Locale.ROOT, options.checkpointPath, time)));
+    }
+
+    /**
+     * Écrit tout de suite un point de reprise de l'état courant (en tête de tick,
+     * avant run() ou après un run interrompu).
+     */
+    public void saveCheckpoint(Path path) {
+        writeCheckpoint(path);
+    }
+
+    /**
+     * Complète l'archive, écrit l'état vivant en flux dans un fichier temporaire puis le publie :
+     * en tâche de fond pendant un run (fsync et renommage), tout de suite sinon.
+     * Le fil de simulation ne paie que ce qui a changé depuis le point précédent.
+     */
+    private void writeCheckpoint(Path path) {
+        if (checkpointWriter != null) {
+            checkpointWriter.await();      // l'archive n'est plus lue par la publication précédente
+        }
+        FileChannel temporary = null;
+        try {
+            if (archive == null) {
+                openArchive(path);
+            }
+            archive.append(elevatorStopEvents);
+            temporary = CheckpointWriter.openTemporary(path);
+            CheckpointOutput out = new CheckpointOutput(
+                    new BufferedOutputStream(Channels.newOutputStream(temporary), 1 << 16), building.getElevators());
+            writeSnapshot(out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            if (temporary != null) {
+                CheckpointWriter.discard(path, temporary);
+            }
+            throw new RuntimeException("Failed to write checkpoint " + path, e);
+        }
+        if (checkpointWriter != null) {
+            checkpointWriter.submit(path, temporary, archive);
+            return;
+        }
+        try {
+            CheckpointWriter.publish(path, temporary, archive);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Crée l'archive au premier point de reprise : les requêtes déjà terminées y sont versées
+     * une fois (parcours du préfixe), les suivantes au fil des descentes.
+     */
+    private void openArchive(Path checkpoint) throws IOException {
+        Path parent = checkpoint.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        archive = CheckpointArchive.createFor(checkpoint);
+        for (int i = 0; i < nextRequestIndex; i++) {
+            ElevatorRequest request = allRequests.get(i);
+            if (request.isCompleted()) {
+                archive.completed(request);
+            }
+        }
+    }
+
+    /**
+     * État vivant en binaire : horloge, cabines (profils de mouvement compris), index des
+     * requêtes actives avec leur progression, accumulateurs de stats, bloc en cours des journaux
+     * d'arrêts et état du répartiteur. L'historique (blocs pleins, requêtes terminées) est dans
+     * l'archive, dont seule la longueur est notée. Les requêtes elles-mêmes ne sont pas écrites :
+     * elles sont régénérées à l'identique depuis la configuration et la graine, puis vérifiées
+     * par empreinte.
+     */
+    private void writeSnapshot(CheckpointOutput out) throws IOException {
+        List<Elevator> fleet = building.getElevators();
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(CHECKPOINT_VERSION);
+        out.writeInt(clock.getCurrentTimeSeconds());
+        out.writeInt(clock.getEndTimeSeconds());
+        out.writeInt(clock.getTickSeconds());
+        out.writeLong(options.requestSeed);
+        out.writeInt(allRequests.size());
+        out.writeLong(requestsFingerprint);
+        out.writeUTF(archive.path().getFileName().toString());
+        out.writeLong(archive.length());
+
+        out.writeInt(fleet.size());
+        for (Elevator elevator : fleet) {
+            elevator.writeState(out);
+        }
+        out.writeInt(nextRequestIndex);
+        pendingRequests.writeState(out, fleet);
+        statsCollector.writeState(out);
+        out.writeLong(occupancySum);
+        out.writeLong(capacitySum);
+
+        out.writeInt(elevatorStopEvents.size());
+        for (Map.Entry<Integer, StopEventLog> entry : elevatorStopEvents.entrySet()) {
+            StopEventLog log = entry.getValue();
+            long archived = archive.archivedStops(entry.getKey());
+            out.writeInt(entry.getKey());
+            out.writeLong(archived);
+            out.writeLong(log.size() - archived);
+            StopEventLog.Cursor cursor = log.cursor(archived);
+            while (cursor.next()) {
+                out.writeInt(cursor.time());
+                out.writeInt(cursor.floor());
+                out.writeInt(cursor.entered());
+                out.writeInt(cursor.left());
+                out.writeInt(cursor.onboardAfter());
+            }
+        }
+
+        out.writeUTF(dispatcher.getClass().getName());
+        out.writeBoolean(dispatcher instanceof Checkpointable);
+        if (dispatcher instanceof Checkpointable) {
+            ((Checkpointable) dispatcher).writeCheckpoint(out);
+        }
+    }
+
+    /**
+     * Reprend un run à partir d'un point de reprise (et de son archive, à côté), sur une
+     * simulation neuve construite avec la même configuration, la même graine et le même
+     * répartiteur ; run() continue ensuite jusqu'à la fin de la journée avec un résultat
+     * identique au run ininterrompu.
+     */
+    public void restoreCheckpoint(Path path) {
+        if (clock.getCurrentTimeSeconds() != 0 || nextRequestIndex != 0) {
+            throw new IllegalStateException("Checkpoints can only be restored into a fresh simulation");
+        }
+        List<Elevator> fleet = building.getElevators();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             CheckpointInput in = new CheckpointInput(
+                     new BufferedInputStream(Channels.newInputStream(channel), 1 << 16), allRequests, fleet)) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                throw new IllegalArgumentException("Not a simulation checkpoint: " + path);
+            }
+            int version = in.readInt();
+            if (version != CHECKPOINT_VERSION) {
+                throw new IllegalArgumentException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            int time = in.readInt();
+            if (in.readInt() != clock.getEndTimeSeconds() || in.readInt() != clock.getTickSeconds()) {
+                throw new IllegalStateException("Checkpoint was written with another clock (day length or tick)");
+            }
+            if (in.readLong() != options.requestSeed
+                    || in.readInt() != allRequests.size()
+                    || in.readLong() != requestsFingerprint) {
+                throw new IllegalStateException("Checkpoint does not match this scenario (config or seed)");
+            }
+            Path history = path.resolveSibling(in.readUTF());
+            long historyLength = in.readLong();
+            if (in.readInt() != fleet.size()) {
+                throw new IllegalStateException("Checkpoint was written with another fleet size");
+            }
+            for (Elevator elevator : fleet) {
+                elevator.readState(in);
+            }
+
+            // Historique : requêtes terminées et blocs pleins des journaux d'arrêts
+            elevatorStopEvents.values().forEach(StopEventLog::close);
+            elevatorStopEvents.clear();
+            CheckpointArchive.read(history, historyLength, elevatorStopEvents, id -> newStopLog(),
+                    allRequests, fleet);
+
+            nextRequestIndex = in.readInt();
+            pendingRequests.readState(in, fleet);
+            statsCollector.readState(in);
+            occupancySum = in.readLong();
+            capacitySum = in.readLong();
+
+            int logs = in.readInt();
+            for (int l = 0; l < logs; l++) {
+                int id = in.readInt();
+                StopEventLog log = elevatorStopEvents.computeIfAbsent(id, k -> newStopLog());
+                if (log.size() != in.readLong()) {
+                    throw new IOException("Checkpoint history " + history + " does not match elevator " + id);
+                }
+                for (long e = in.readLong(); e > 0; e--) {
+                    log.add(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+                }
+            }
+
+            String dispatcherClass = in.readUTF();
+            if (!dispatcherClass.equals(dispatcher.getClass().getName())) {
+                throw new IllegalStateException("Checkpoint was written with dispatcher " + dispatcherClass
+                        + ", not " + dispatcher.getClass().getName());
+            }
+            if (in.readBoolean()) {
+                ((Checkpointable) dispatcher).readCheckpoint(in);
+            }
+            clock.restoreTime(time);
+            stats = null;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to restore checkpoint " + path, e);
+        }
+    }
+
+    private StopEventLog newStopLog() {
+        return new StopEventLog(options.stopLogMaxInMemoryEvents, options.stopLogChunkEvents);
+    }
+
+    /**
+     * Empreinte des requêtes générées : garde-fou contre une reprise avec une autre configuration.
+     */
+    private static long fingerprint(List<ElevatorRequest> requests) {
+        long hash = 1125899906842597L;
+        for (ElevatorRequest request : requests) {
+            hash = 31 * hash + request.getResidentId();
+            hash = 31 * hash + request.getRequestTime();
+            hash = 31 * hash + request.getOriginFloor();
+            hash = 31 * hash + request.getDestinationFloor();
+        }
+        return hash;
+    }
+
+    private static int alignToTick(int time, int tickSeconds) {
+        return ((time + tickSeconds - 1) / tickSeconds) * tickSeconds;
+    }
+
+    private static int ticksBetween(int from, int to, int tickSeconds) {
+        return (to - from + tickSeconds - 1) / tickSeconds;
     }
 
 
     /**
      * Transforme les ResidentTripPlan en requêtes d'ascenseur.
      * Hypothèse : chaque plan est un trajet depuis l'étage courant vers targetFloor.
+     *
+     * Chaque résident a son propre flux aléatoire (graine des options + id) : les étages sont
+     * traités en parallèle et le résultat ne dépend pas du nombre de threads. Les requêtes sont
+     * ensuite triées par heure (tri parallèle stable : à heure égale, ordre étage puis résident).
      */
-    private void generateRequestsFromResidents() {
-        for (Resident resident : building.getAllResidents()) {
+    private ElevatorRequest[] generateRequestsFromResidents() {
+        List<Floor> floors = building.getFloors();
+        ElevatorRequest[][] runs = new ElevatorRequest[floors.size()][];
+        IntStream.range(0, floors.size()).parallel()
+                .forEach(f -> runs[f] = requestsOf(floors.get(f).getResidents()));
+
+        int total = 0;
+        for (ElevatorRequest[] run : runs) {
+            total += run.length;
+        }
+        ElevatorRequest[] all = new ElevatorRequest[total];
+        int offset = 0;
+        for (ElevatorRequest[] run : runs) {
+            System.arraycopy(run, 0, all, offset, run.length);
+            offset += run.length;
+        }
+        Arrays.parallelSort(all, Comparator.comparingInt(ElevatorRequest::getRequestTime));
+        return all;
+    }
+
+    private ElevatorRequest[] requestsOf(List<Resident> residents) {
+        List<ElevatorRequest> requests = new ArrayList<>();
+        for (Resident resident : residents) {
+            SplittableRandom random = RandomStreams.forResident(
+                    options.requestSeed, resident.getId(), RandomStreams.TRIP_DEPARTURES);
             int currentFloor = resident.getCurrentFloor();
 
             for (ResidentTripPlan plan : resident.getTripPlans()) {
@@ -174,67 +965,132 @@ public class Simulation {
                 }
 
                 if (origin != dest) {
-                    allRequests.add(new ElevatorRequest(resident.getId(),time, origin, dest));
+                    requests.add(new ElevatorRequest(resident.getId(), time, origin, dest));
                 }
 
                 currentFloor = dest;
             }
         }
-
-        allRequests.sort(Comparator.comparingInt(ElevatorRequest::getRequestTime));
+        return requests.toArray(new ElevatorRequest[0]);
     }
 
     /**
-     * Quand un ascenseur ouvre ses portes à un étage,
-     * on gère les pickups/dropoffs des requêtes qui lui sont associées.
+     * Arrivée d'une cabine pendant step() : l'instant exact est arrondi à la seconde
+     * supérieure (avec un tick d'une seconde, c'est la fin du tick de l'arrivée).
      */
-    private void handleStopsAndRequests(Elevator elevator,
-                                        int eventTime,
-                                        boolean previousDoorOpen) {
-
-        if (!elevator.isDoorOpen() || previousDoorOpen) {
+    private void onArrival(Elevator elevator, int floor, double offsetSeconds) {
+        int eventTime = arrivalTime(offsetSeconds);
+        if (profiler == null) {
+            handleStopsAndRequests(elevator, floor, eventTime);
             return;
         }
+        long t0 = System.nanoTime();
+        handleStopsAndRequests(elevator, floor, eventTime);
+        handleStopsNanos += System.nanoTime() - t0;
+    }
 
-        int floor = elevator.getCurrentFloorRounded();
+    private int arrivalTime(double offsetSeconds) {
+        return stepStartTime + (int) Math.ceil(offsetSeconds - 1e-9);
+    }
 
+    /**
+     * Quand un ascenseur s'arrête à un étage,
+     * on gère les pickups/dropoffs des requêtes qui lui sont associées.
+     */
+    private void handleStopsAndRequests(Elevator elevator,
+                                        int floor,
+                                        int eventTime) {
+        serveStop(elevator, floor, eventTime, sequentialEffects);
+        applyStopEffects(elevator, sequentialEffects);
+    }
+
+    /**
+     * Partie d'un arrêt propre à la cabine : ses passagers et ses requêtes affectées.
+     * Ne touche à aucun état partagé (cf. stepFleet) ; le reste va dans effects.
+     */
+    private void serveStop(Elevator elevator, int floor, int eventTime, StopEffects effects) {
+        Set<ElevatorRequest> onboard = pendingRequests.onboardOf(elevator);
+        Set<ElevatorRequest> awaiting = pendingRequests.awaitingOf(elevator);
+        int onboardAtArrival = onboard.size();
+        int scanned = onboard.size() + awaiting.size();
         int entered = 0;
         int left = 0;
 
-        Iterator<ElevatorRequest> it = pendingRequests.iterator();
+        // Dropoffs : uniquement parmi les passagers de cette cabine
+        Iterator<ElevatorRequest> it = onboard.iterator();
         while (it.hasNext()) {
             ElevatorRequest request = it.next();
-
-            if (!request.isAssigned() || request.getAssignedElevator() != elevator) {
-                continue;
+            if (request.getDestinationFloor() == floor) {
+                it.remove();
+                pendingRequests.leftCar(request, eventTime);
+                effects.droppedOff.add(request);
+                elevator.passengerLeaves();
+                left++;
             }
+        }
 
-            // Pickup
-            if (!request.isPickedUp()
-                    && request.getOriginFloor() == floor
+        // Pickups : parmi les requêtes affectées à cette cabine
+        it = awaiting.iterator();
+        while (it.hasNext()) {
+            ElevatorRequest request = it.next();
+            if (request.getOriginFloor() == floor
                     && eventTime >= request.getRequestTime()) {
-                request.markPickedUp(eventTime);
-                entered++;
-            }
-
-            // Dropoff
-            if (request.isPickedUp()
-                    && !request.isCompleted()
-                    && request.getDestinationFloor() == floor) {
-                request.markDroppedOff(eventTime);
-                left++;
                 it.remove();
+                pendingRequests.pickedUp(request, eventTime);
+                effects.pickedUp.add(request);
+                elevator.passengerEnters();
+                entered++;
             }
         }
 
-        // Si arrêt utile ou non, on log quand même l'info : rapport ascenseur complet
-        int onboardAfter = countOnboardPassengers(elevator);
-        elevatorStopEvents
-                .computeIfAbsent(elevator.getId(), k -> new java.util.ArrayList<>())
-                .add(new ElevatorStopEvent(eventTime, floor, entered, left, onboardAfter));
+        effects.addStop(eventTime, floor, entered, left, onboard.size(), onboardAtArrival, scanned);
     }
 
+    /**
+     * Partie partagée des arrêts d'une cabine, dans l'ordre où ils ont eu lieu :
+     * stats, compteur des requêtes actives, journal d'arrêts, trace et profilage.
+     */
+    private void applyStopEffects(Elevator elevator, StopEffects effects) {
+        int dropped = 0;
+        int picked = 0;
+        for (int stop = 0; stop < effects.stopCount(); stop++) {
+            int eventTime = effects.time(stop);
+            int floor = effects.floor(stop);
+            if (profiler != null) {
+                profiler.doorOpened();
+                profiler.requestsScanned(effects.scanned(stop));
+            }
+            if (trace != null) {
+                trace.doorOpen(elevator, floor, eventTime, effects.onboardAtArrival(stop));
+            }
+
+            for (int k = effects.left(stop); k > 0; k--) {
+                ElevatorRequest request = effects.droppedOff.get(dropped++);
+                if (trace != null) {
+                    trace.dropoff(request, elevator, eventTime);
+                }
+                if (archive != null) {
+                    archive.completed(request);
+                }
+                statsCollector.recordDropoff(eventTime - request.getPickupTime());
+            }
+            pendingRequests.completed(effects.left(stop));
 
+            for (int k = effects.entered(stop); k > 0; k--) {
+                ElevatorRequest request = effects.pickedUp.get(picked++);
+                if (trace != null) {
+                    trace.pickup(request, elevator, eventTime);
+                }
+                statsCollector.recordPickup(request.getOriginFloor(), eventTime - request.getRequestTime());
+            }
+
+            // Si arrêt utile ou non, on log quand même l'info : rapport ascenseur complet
+            elevatorStopEvents
+                    .computeIfAbsent(elevator.getId(), k -> newStopLog())
+                    .add(eventTime, floor, effects.entered(stop), effects.left(stop), effects.onboardAfter(stop));
+        }
+        effects.clear();
+    }
 
     private void printSummary() {
         SimulationStats s = getStats();
@@ -245,9 +1101,11 @@ public class Simulation {
         System.out.printf("Temps d'attente moyen (s)       : %.2f%n", s.averageWait);
         System.out.printf("Temps d'attente médian (s)      : %.2f%n", s.medianWait);
         System.out.printf("Temps d'attente max (s)         : %d%n", s.maxWait);
+        System.out.printf("Temps d'attente p90/p99/p99.9   : %.0f / %.0f / %.0f%n", s.p90Wait, s.p99Wait, s.p999Wait);
         System.out.printf("Temps de trajet moyen (s)       : %.2f%n", s.averageTravel);
         System.out.printf("Temps de trajet médian (s)      : %.2f%n", s.medianTravel);
         System.out.printf("Temps de trajet max (s)         : %d%n", s.maxTravel);
+        System.out.printf("Temps de trajet p90/p99/p99.9   : %.0f / %.0f / %.0f%n", s.p90Travel, s.p99Travel, s.p999Travel);
 
         System.out.println("--- Temps d'attente moyen par étage d'origine ---");
         s.averageWaitByOriginFloor.forEach((floor, avg) ->
@@ -259,34 +1117,13 @@ public class Simulation {
     }
 
 
-    private static double median(List<Integer> values) {
-        int n = values.size();
-        if (n == 0) {
-            return 0.0;
-        }
-        if (n % 2 == 1) {
-            return values.get(n / 2);
-        }
-        return (values.get(n / 2 - 1) + values.get(n / 2)) / 2.0;
-    }
-
-    private int countOnboardPassengers(Elevator elevator) {
-        int count = 0;
-        for (ElevatorRequest r : allRequests) {
-            if (r.isAssigned()
-                    && r.getAssignedElevator() == elevator
-                    && r.isPickedUp()
-                    && !r.isCompleted()) {
-                count++;
-            }
-        }
-        return count;
-    }
-
     public java.util.List<ElevatorRequest> getAllRequests() {
         return allRequests;
     }
 
+    /**
+     * Vue objet d'un arrêt (cf. StopEventLog#toList) ; le moteur ne stocke que des entiers.
+     */
     public static class ElevatorStopEvent {
         public final int time;            // seconde où les portes s’ouvrent
         public final int floor;           // étage
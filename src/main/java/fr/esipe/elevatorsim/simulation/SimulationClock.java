@@ -25,6 +25,35 @@ public class SimulationClock {
         currentTimeSeconds += tickSeconds;
     }
 
+    /**
+     * Avance de plusieurs ticks d'un coup (moteur événementiel).
+     */
+    public void advance(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("ticks must be >= 0");
+        }
+        currentTimeSeconds += ticks * tickSeconds;
+    }
+
+    /**
+     * Horloge indépendante au même instant (copie de simulation).
+     */
+    SimulationClock copy() {
+        SimulationClock copy = new SimulationClock(endTimeSeconds, tickSeconds);
+        copy.currentTimeSeconds = currentTimeSeconds;
+        return copy;
+    }
+
+    /**
+     * Replace l'horloge à un instant sauvegardé (reprise d'un point de reprise).
+     */
+    void restoreTime(int currentTimeSeconds) {
+        if (currentTimeSeconds < 0 || currentTimeSeconds % tickSeconds != 0) {
+            throw new IllegalArgumentException("time must be a multiple of tickSeconds");
+        }
+        this.currentTimeSeconds = currentTimeSeconds;
+    }
+
     public int getCurrentTimeSeconds() {
         return currentTimeSeconds;
     }
@@ -32,4 +61,8 @@ public class SimulationClock {
     public int getTickSeconds() {
         return tickSeconds;
     }
+
+    public int getEndTimeSeconds() {
+        return endTimeSeconds;
+    }
 }
@@ -0,0 +1,31 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Événement futur du moteur événementiel.
+ * L'instant est toujours aligné sur un tick : l'événement déclenche le traitement complet de ce tick.
+ */
+final class SimulationEvent implements Comparable<SimulationEvent> {
+
+    enum Type {
+        REQUEST_ACTIVATION,   // une requête devient active
+        ELEVATOR_STATE,       // arrivée à un arrêt ou fermeture des portes
+        STRATEGY_WAKEUP       // réveil demandé par la stratégie
+    }
+
+    final int time;
+    final Type type;
+    final int elevatorIndex;  // -1 si l'événement ne concerne pas un ascenseur
+    final int version;        // pour ignorer les prédictions périmées
+
+    SimulationEvent(int time, Type type, int elevatorIndex, int version) {
+        this.time = time;
+        this.type = type;
+        this.elevatorIndex = elevatorIndex;
+        this.version = version;
+    }
+
+    @Override
+    public int compareTo(SimulationEvent other) {
+        return Integer.compare(time, other.time);
+    }
+}
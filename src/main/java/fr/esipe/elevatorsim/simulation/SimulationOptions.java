@@ -0,0 +1,36 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Options d'exécution du moteur (indépendantes du scénario décrit par SimulationConfig).
+ */
+public class SimulationOptions {
+
+    public EngineMode engineMode = EngineMode.TICK;
+
+    public long requestSeed = 42;             // tirage des heures de départ dans les fenêtres
+    public boolean printSummary = true;       // résumé console en fin de run
+    public boolean profile = false;           // chronos par phase + MBean (cf. SimulationProfiler)
+    public long stopLogMaxInMemoryEvents = 1 << 20;   // arrêts gardés en mémoire par ascenseur avant déversement disque
+    public int stopLogChunkEvents = StopEventLog.DEFAULT_CHUNK_EVENTS;   // arrêts par bloc des journaux
+    public int checkpointIntervalSeconds = 0;         // points de reprise tous les N s simulées (0 = aucun)
+    public String checkpointPath = "target/checkpoints/checkpoint-%d.ckpt";   // %d = instant simulé
+    public String tracePath = null;                   // trace binaire des décisions (cf. TraceRecorder), null = aucune
+    public int parallelStepMinFleet = 64;             // pas des cabines en parallèle à partir de N cabines (0 = jamais)
+    public boolean fleetState = false;                // état des cabines en tableaux, pas de flotte groupé (cf. FleetState)
+
+    public SimulationOptions copy() {
+        SimulationOptions o = new SimulationOptions();
+        o.engineMode = engineMode;
+        o.requestSeed = requestSeed;
+        o.printSummary = printSummary;
+        o.profile = profile;
+        o.stopLogMaxInMemoryEvents = stopLogMaxInMemoryEvents;
+        o.stopLogChunkEvents = stopLogChunkEvents;
+        o.checkpointIntervalSeconds = checkpointIntervalSeconds;
+        o.checkpointPath = checkpointPath;
+        o.tracePath = tracePath;
+        o.parallelStepMinFleet = parallelStepMinFleet;
+        o.fleetState = fleetState;
+        return o;
+    }
+}
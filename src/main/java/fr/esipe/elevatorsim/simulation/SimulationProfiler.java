@@ -0,0 +1,188 @@
+package fr.esipe.elevatorsim.simulation;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chronométrage par phase du moteur et compteurs du chemin chaud.
+ *
+ * Activé via SimulationOptions.profile : désactivé, le moteur ne garde qu'un test de nullité
+ * par phase. Les compteurs sont écrits par le seul thread de simulation ; les lectures JMX
+ * concurrentes sont sans synchronisation (valeurs éventuellement légèrement en retard).
+ */
+public class SimulationProfiler implements SimulationProfilerMXBean {
+
+    public enum Phase {
+        ACTIVATION("activation des requêtes"),
+        STRATEGY("stratégie"),
+        ELEVATOR_STEP("Elevator.step"),
+        HANDLE_STOPS("arrêts (pickups/dropoffs)"),
+        OCCUPANCY("occupation");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long strategyInvocations = 0;
+    private long requestsScanned = 0;
+    private long doorOpenings = 0;
+    private long simulatedTicks = 0;
+
+    private long startNanos = 0;
+    private long endNanos = 0;          // 0 tant que le run est en cours
+
+    private ObjectName objectName;
+
+    void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    void strategyInvoked(int count) {
+        strategyInvocations += count;
+    }
+
+    void requestsScanned(int count) {
+        requestsScanned += count;
+    }
+
+    void doorOpened() {
+        doorOpenings++;
+    }
+
+    void ticks(int count) {
+        simulatedTicks += count;
+    }
+
+    void runStarted() {
+        startNanos = System.nanoTime();
+        endNanos = 0;
+    }
+
+    void runFinished() {
+        endNanos = System.nanoTime();
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    @Override
+    public long getActivationNanos() {
+        return getPhaseNanos(Phase.ACTIVATION);
+    }
+
+    @Override
+    public long getStrategyNanos() {
+        return getPhaseNanos(Phase.STRATEGY);
+    }
+
+    @Override
+    public long getElevatorStepNanos() {
+        return getPhaseNanos(Phase.ELEVATOR_STEP);
+    }
+
+    @Override
+    public long getHandleStopsNanos() {
+        return getPhaseNanos(Phase.HANDLE_STOPS);
+    }
+
+    @Override
+    public long getOccupancyNanos() {
+        return getPhaseNanos(Phase.OCCUPANCY);
+    }
+
+    @Override
+    public long getStrategyInvocations() {
+        return strategyInvocations;
+    }
+
+    @Override
+    public long getRequestsScanned() {
+        return requestsScanned;
+    }
+
+    @Override
+    public long getDoorOpenings() {
+        return doorOpenings;
+    }
+
+    @Override
+    public long getSimulatedTicks() {
+        return simulatedTicks;
+    }
+
+    @Override
+    public double getTicksPerWallSecond() {
+        if (startNanos == 0) {
+            return 0.0;
+        }
+        long end = (endNanos != 0) ? endNanos : System.nanoTime();
+        long elapsed = end - startNanos;
+        return (elapsed <= 0) ? 0.0 : simulatedTicks * 1e9 / elapsed;
+    }
+
+    /**
+     * Enregistre le profileur auprès du serveur MBean de la plateforme
+     * (fr.esipe.elevatorsim:type=SimulationProfiler,name=run-N).
+     */
+    public void register() {
+        if (objectName != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("fr.esipe.elevatorsim:type=SimulationProfiler,name=run-"
+                    + INSTANCES.incrementAndGet());
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            System.out.println("[WARN] Profileur non enregistré en JMX : " + e.getMessage());
+        }
+    }
+
+    public void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (InstanceNotFoundException ignored) {
+            // déjà retiré
+        } catch (JMException e) {
+            System.out.println("[WARN] Profileur non retiré de JMX : " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    public void printProfile() {
+        long total = 0;
+        for (long n : phaseNanos) {
+            total += n;
+        }
+        System.out.println("=== Profil du moteur ===");
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            System.out.printf("%-28s : %10.2f ms (%5.1f %%)%n",
+                    phase.getLabel(), nanos / 1e6, (total == 0) ? 0.0 : 100.0 * nanos / total);
+        }
+        System.out.printf("Appels de stratégie             : %d%n", strategyInvocations);
+        System.out.printf("Requêtes examinées aux arrêts   : %d%n", requestsScanned);
+        System.out.printf("Ouvertures de portes            : %d%n", doorOpenings);
+        System.out.printf("Ticks simulés                   : %d%n", simulatedTicks);
+        System.out.printf("Ticks par seconde réelle        : %.0f%n", getTicksPerWallSecond());
+    }
+}
@@ -0,0 +1,28 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Vue JMX du profileur (lecture seule, consultable pendant le run, ex. avec jconsole).
+ * Temps cumulés en nanosecondes.
+ */
+public interface SimulationProfilerMXBean {
+
+    long getActivationNanos();
+
+    long getStrategyNanos();
+
+    long getElevatorStepNanos();
+
+    long getHandleStopsNanos();
+
+    long getOccupancyNanos();
+
+    long getStrategyInvocations();
+
+    long getRequestsScanned();
+
+    long getDoorOpenings();
+
+    long getSimulatedTicks();
+
+    double getTicksPerWallSecond();
+}
@@ -0,0 +1,77 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Effets des arrêts d'une cabine sur l'état partagé (stats, journal d'arrêts, compteur des
+ * requêtes actives, trace, profilage), mis de côté pendant le pas de la cabine puis appliqués
+ * par le moteur. En pas parallèle, chaque cabine remplit le sien et le moteur les applique
+ * dans l'ordre de la flotte : même séquence que le moteur séquentiel.
+ * Réutilisé d'un tick à l'autre (tableaux primitifs, listes vidées sans réallocation).
+ */
+final class StopEffects {
+
+    static final int FIELDS = 7;    // time, floor, entered, left, onboardAfter, onboardAtArrival, scanned
+
+    private int[] stops = new int[4 * FIELDS];
+    private int stopCount = 0;
+    final List<ElevatorRequest> droppedOff = new ArrayList<>();   // dans l'ordre des arrêts
+    final List<ElevatorRequest> pickedUp = new ArrayList<>();
+
+    void addStop(int time, int floor, int entered, int left, int onboardAfter, int onboardAtArrival, int scanned) {
+        if ((stopCount + 1) * FIELDS > stops.length) {
+            stops = Arrays.copyOf(stops, stops.length * 2);
+        }
+        int base = stopCount * FIELDS;
+        stops[base] = time;
+        stops[base + 1] = floor;
+        stops[base + 2] = entered;
+        stops[base + 3] = left;
+        stops[base + 4] = onboardAfter;
+        stops[base + 5] = onboardAtArrival;
+        stops[base + 6] = scanned;
+        stopCount++;
+    }
+
+    int stopCount() {
+        return stopCount;
+    }
+
+    int time(int stop) {
+        return stops[stop * FIELDS];
+    }
+
+    int floor(int stop) {
+        return stops[stop * FIELDS + 1];
+    }
+
+    int entered(int stop) {
+        return stops[stop * FIELDS + 2];
+    }
+
+    int left(int stop) {
+        return stops[stop * FIELDS + 3];
+    }
+
+    int onboardAfter(int stop) {
+        return stops[stop * FIELDS + 4];
+    }
+
+    int onboardAtArrival(int stop) {
+        return stops[stop * FIELDS + 5];
+    }
+
+    int scanned(int stop) {
+        return stops[stop * FIELDS + 6];
+    }
+
+    void clear() {
+        stopCount = 0;
+        droppedOff.clear();
+        pickedUp.clear();
+    }
+}
@@ -0,0 +1,381 @@
+package fr.esipe.elevatorsim.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal des arrêts d'un ascenseur, stocké en entiers primitifs (5 int par arrêt :
+ * time, floor, entered, left, onboardAfter) dans des blocs de taille fixe.
+ *
+ * Au-delà de {@code maxInMemoryEvents}, les blocs pleins les plus anciens sont déversés
+ * dans un fichier temporaire (supprimé à la fermeture). La relecture (visiteur ou curseur)
+ * se fait dans l'ordre d'insertion, sans créer d'objet par arrêt.
+ *
+ * Une copie (fork()) partage l'historique : les blocs pleins ne sont plus jamais modifiés
+ * et les fichiers de déversement, où l'on ne fait qu'ajouter, sont partagés en lecture
+ * (chaque copie lit son préfixe ; le fichier est fermé avec le dernier journal qui le lit).
+ */
+public final class StopEventLog implements Closeable {
+
+    public static final int FIELDS = 5;
+    public static final int DEFAULT_CHUNK_EVENTS = 4096;
+
+    /**
+     * Reçoit les arrêts un par un, dans l'ordre chronologique.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int time, int floor, int entered, int left, int onboardAfter);
+    }
+
+    private final int chunkEvents;
+    private final long maxInMemoryEvents;
+
+    private final ArrayDeque<int[]> fullChunks = new ArrayDeque<>();
+    private int[] current;
+    private int currentEvents = 0;
+
+    private final List<Segment> inherited = new ArrayList<>();   // préfixes déversés hérités (fork)
+    private SpillFile spill;            // notre fichier, null tant que rien n'y a été déversé
+    private long ownSpilledEvents = 0;
+    private long spilledEvents = 0;     // hérités + les nôtres
+    private long size = 0;
+
+    public StopEventLog() {
+        this(Long.MAX_VALUE, DEFAULT_CHUNK_EVENTS);
+    }
+
+    public StopEventLog(long maxInMemoryEvents, int chunkEvents) {
+        if (chunkEvents <= 0) {
+            throw new IllegalArgumentException("chunkEvents must be > 0");
+        }
+        this.chunkEvents = chunkEvents;
+        this.maxInMemoryEvents = Math.max(maxInMemoryEvents, chunkEvents);
+        this.current = new int[chunkEvents * FIELDS];
+    }
+
+    public void add(int time, int floor, int entered, int left, int onboardAfter) {
+        if (currentEvents == chunkEvents) {
+            fullChunks.addLast(current);
+            current = new int[chunkEvents * FIELDS];
+            currentEvents = 0;
+            spillIfNeeded();
+        }
+        int base = currentEvents * FIELDS;
+        current[base] = time;
+        current[base + 1] = floor;
+        current[base + 2] = entered;
+        current[base + 3] = left;
+        current[base + 4] = onboardAfter;
+        currentEvents++;
+        size++;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Nombre d'arrêts déversés sur disque.
+     */
+    public long spilledEvents() {
+        return spilledEvents;
+    }
+
+    /**
+     * Nombre d'arrêts rangés dans des blocs pleins (sur disque ou en mémoire) : ce préfixe
+     * du journal n'est plus jamais modifié (cf. CheckpointArchive).
+     */
+    public long sealedEvents() {
+        return size - currentEvents;
+    }
+
+    /**
+     * Copie indépendante (cf. Simulation.fork()) : seul le bloc en cours est recopié,
+     * le reste de l'historique est partagé. Coût en O(nombre de blocs).
+     */
+    public StopEventLog fork() {
+        StopEventLog copy = new StopEventLog(maxInMemoryEvents, chunkEvents);
+        for (Segment segment : inherited) {
+            segment.file.retain();
+            copy.inherited.add(segment);
+        }
+        if (spill != null) {
+            spill.retain();
+            copy.inherited.add(new Segment(spill, ownSpilledEvents));
+        }
+        copy.fullChunks.addAll(fullChunks);
+        System.arraycopy(current, 0, copy.current, 0, currentEvents * FIELDS);
+        copy.currentEvents = currentEvents;
+        copy.spilledEvents = spilledEvents;
+        copy.size = size;
+        return copy;
+    }
+
+    public void forEach(Visitor visitor) {
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            visitor.visit(cursor.time(), cursor.floor(), cursor.entered(), cursor.left(), cursor.onboardAfter());
+        }
+    }
+
+    /**
+     * Curseur positionné avant le premier arrêt ; le journal ne doit pas être modifié pendant le parcours.
+     */
+    public Cursor cursor() {
+        return new Cursor(0);
+    }
+
+    /**
+     * Curseur positionné avant l'arrêt d'indice {@code from} : les blocs entiers qui le précèdent
+     * sont sautés sans être relus (ni sur disque ni en mémoire).
+     */
+    public Cursor cursor(long from) {
+        return new Cursor(from);
+    }
+
+    /**
+     * Matérialise le journal (tests, petits volumes).
+     */
+    public List<Simulation.ElevatorStopEvent> toList() {
+        List<Simulation.ElevatorStopEvent> list = new ArrayList<>((int) Math.min(size, Integer.MAX_VALUE));
+        forEach((time, floor, entered, left, onboardAfter) ->
+                list.add(new Simulation.ElevatorStopEvent(time, floor, entered, left, onboardAfter)));
+        return list;
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (Segment segment : inherited) {
+                segment.file.release();
+            }
+            inherited.clear();
+            if (spill != null) {
+                spill.release();
+                spill = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void spillIfNeeded() {
+        long inMemory = size - spilledEvents + 1;   // +1 : l'arrêt en cours d'ajout
+        while (!fullChunks.isEmpty() && inMemory > maxInMemoryEvents) {
+            int[] chunk = fullChunks.removeFirst();
+            writeChunk(chunk);
+            ownSpilledEvents += chunkEvents;
+            spilledEvents += chunkEvents;
+            inMemory -= chunkEvents;
+        }
+    }
+
+    private void writeChunk(int[] chunk) {
+        try {
+            if (spill == null) {
+                Path file = Files.createTempFile("elevator-stops-", ".bin");
+                spill = new SpillFile(FileChannel.open(file,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(chunk.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+            buffer.asIntBuffer().put(chunk);
+            long position = ownSpilledEvents * FIELDS * Integer.BYTES;
+            while (buffer.hasRemaining()) {
+                position += spill.channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill stop events", e);
+        }
+    }
+
+    /**
+     * Fichier de déversement, partagé entre un journal et ses copies.
+     */
+    private static final class SpillFile {
+        final FileChannel channel;
+        private int references = 1;
+
+        SpillFile(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        synchronized void retain() {
+            references++;
+        }
+
+        synchronized void release() throws IOException {
+            if (--references == 0) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Les {@code events} premiers arrêts d'un fichier de déversement.
+     */
+    private static final class Segment {
+        final SpillFile file;
+        final long events;
+
+        Segment(SpillFile file, long events) {
+            this.file = file;
+            this.events = events;
+        }
+    }
+
+    /**
+     * Parcours séquentiel : d'abord les blocs sur disque (hérités puis les nôtres), puis ceux en mémoire.
+     */
+    public final class Cursor {
+
+        private final int[] fileChunk;
+        private final ByteBuffer fileBuffer;
+        private final List<Segment> segments = new ArrayList<>(inherited);
+        private int segment = 0;
+        private long fileChunksLeft;
+        private long filePosition = 0;
+
+        private final java.util.Iterator<int[]> memoryChunks = fullChunks.iterator();
+        private int[] chunk;
+        private int chunkSize = 0;   // nb d'arrêts valides dans chunk
+        private int index = -1;
+        private boolean onCurrent = false;
+
+        private Cursor(long skip) {
+            if (spill != null) {
+                segments.add(new Segment(spill, ownSpilledEvents));
+            }
+            this.fileChunksLeft = segments.isEmpty() ? 0 : segments.get(0).events / chunkEvents;
+            this.fileChunk = (spilledEvents > 0) ? new int[chunkEvents * FIELDS] : null;
+            this.fileBuffer = (spilledEvents > 0)
+                    ? ByteBuffer.allocate(chunkEvents * FIELDS * Integer.BYTES).order(ByteOrder.nativeOrder())
+                    : null;
+
+            long chunks = skip / chunkEvents;
+            for (; chunks > 0; chunks--) {
+                if (!skipChunk()) {
+                    break;
+                }
+            }
+            for (long events = chunks * chunkEvents + skip % chunkEvents; events > 0 && next(); events--) {
+                // arrêts restants avant from, dans le bloc en cours
+            }
+        }
+
+        public boolean next() {
+            if (chunk != null && index + 1 < chunkSize) {
+                index++;
+                return true;
+            }
+            if (!loadNextChunk()) {
+                return false;
+            }
+            index = 0;
+            return true;
+        }
+
+        public int time() {
+            return chunk[index * FIELDS];
+        }
+
+        public int floor() {
+            return chunk[index * FIELDS + 1];
+        }
+
+        public int entered() {
+            return chunk[index * FIELDS + 2];
+        }
+
+        public int left() {
+            return chunk[index * FIELDS + 3];
+        }
+
+        public int onboardAfter() {
+            return chunk[index * FIELDS + 4];
+        }
+
+        private boolean loadNextChunk() {
+            nextSegmentIfExhausted();
+            if (fileChunksLeft > 0) {
+                readFileChunk();
+                fileChunksLeft--;
+                chunk = fileChunk;
+                chunkSize = chunkEvents;
+                return true;
+            }
+            if (memoryChunks.hasNext()) {
+                chunk = memoryChunks.next();
+                chunkSize = chunkEvents;
+                return true;
+            }
+            if (!onCurrent && currentEvents > 0) {
+                onCurrent = true;
+                chunk = current;
+                chunkSize = currentEvents;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Passe un bloc plein sans le lire ; faux s'il ne reste que le bloc en cours.
+         */
+        private boolean skipChunk() {
+            nextSegmentIfExhausted();
+            if (fileChunksLeft > 0) {
+                fileChunksLeft--;
+                filePosition += (long) chunkEvents * FIELDS * Integer.BYTES;
+                return true;
+            }
+            if (memoryChunks.hasNext()) {
+                memoryChunks.next();
+                return true;
+            }
+            return false;
+        }
+
+        private void nextSegmentIfExhausted() {
+            while (fileChunksLeft == 0 && segment + 1 < segments.size()) {
+                segment++;
+                fileChunksLeft = segments.get(segment).events / chunkEvents;
+                filePosition = 0;
+            }
+        }
+
+        private void readFileChunk() {
+            try {
+                fileBuffer.clear();
+                while (fileBuffer.hasRemaining()) {
+                    int n = segments.get(segment).file.channel.read(fileBuffer, filePosition);
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of spill file");
+                    }
+                    filePosition += n;
+                }
+                fileBuffer.flip();
+                IntBuffer ints = fileBuffer.asIntBuffer();
+                ints.get(fileChunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read spilled stop events", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package fr.esipe.elevatorsim.simulation;
+
+/**
+ * Types d'enregistrements de la trace d'un run (cf. TraceRecorder / TraceReader).
+ * Le code de chaque type est écrit dans le fichier : ne pas réordonner.
+ */
+public enum TraceEvent {
+    ACTIVATION,     // requête activée (étage = origine, aux = destination)
+    ASSIGNMENT,     // requête confiée à une cabine (étage = origine)
+    STOPS,          // arrêts d'une cabine modifiés par la stratégie (étage = prochaine cible, aux = nb d'arrêts)
+    DOOR_OPEN,      // arrivée et ouverture des portes (aux = passagers à bord à l'arrivée)
+    DOOR_CLOSE,     // fermeture des portes (étage = étage courant)
+    PICKUP,         // montée d'un passager
+    DROPOFF;        // descente d'un passager
+
+    private static final TraceEvent[] VALUES = values();
+
+    public static TraceEvent fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown trace event code: " + code);
+        }
+        return VALUES[code];
+    }
+}
@@ -0,0 +1,232 @@
+package fr.esipe.elevatorsim.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lecture d'une trace écrite par TraceRecorder, projetée en mémoire en lecture seule :
+ * accès direct au i-ème enregistrement, sans allocation par lecture.
+ *
+ * - recherche par instant : dichotomie sur le tick (croissant dans le fichier) ;
+ * - recherche par cabine : dernier enregistrement de la cabine (table de fin de fichier,
+ *   reconstruite par un parcours si le run a été interrompu), puis chaînage arrière ;
+ * - vérification : premier enregistrement différent entre deux traces (même scénario).
+ */
+public final class TraceReader implements Closeable {
+
+    private static final int REGION_SHIFT = 30;           // régions de 1 Go (multiple de 32 octets)
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] regions;
+    private final long count;
+    private final int tickSeconds;
+    private final long requestSeed;
+    private final long requestsFingerprint;
+    private final Map<Integer, Long> lastOfElevator = new HashMap<>();
+
+    public TraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TraceRecorder.HEADER_BYTES);
+        if (header.getInt(0) != TraceRecorder.MAGIC) {
+            channel.close();
+            throw new IllegalArgumentException("Not a simulation trace: " + path);
+        }
+        if (header.getInt(4) != TraceRecorder.VERSION || header.getInt(8) != TraceRecorder.RECORD_BYTES) {
+            channel.close();
+            throw new IllegalArgumentException("Unsupported trace version: " + path);
+        }
+        this.tickSeconds = header.getInt(12);
+        this.count = header.getLong(TraceRecorder.HEADER_COUNT);
+        long trailer = header.getLong(TraceRecorder.HEADER_TRAILER);
+        this.requestSeed = header.getLong(32);
+        this.requestsFingerprint = header.getLong(40);
+
+        long bytes = count * TraceRecorder.RECORD_BYTES;
+        int regionCount = (int) ((bytes + REGION_MASK) >>> REGION_SHIFT);
+        this.regions = new MappedByteBuffer[regionCount];
+        for (int r = 0; r < regionCount; r++) {
+            long start = (long) r << REGION_SHIFT;
+            regions[r] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    TraceRecorder.HEADER_BYTES + start, Math.min(1L << REGION_SHIFT, bytes - start));
+        }
+
+        if (trailer >= 0) {
+            readElevatorTable(trailer);
+        } else {
+            // Run interrompu : dernier enregistrement de chaque cabine par un parcours
+            for (long i = 0; i < count; i++) {
+                if (elevatorId(i) >= 0) {
+                    lastOfElevator.put(elevatorId(i), i);
+                }
+            }
+        }
+    }
+
+    private void readElevatorTable(long trailer) throws IOException {
+        ByteBuffer size = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(size, trailer);
+        int n = size.flip().getInt();
+        ByteBuffer table = ByteBuffer.allocate(2 * Integer.BYTES * n);
+        long position = trailer + Integer.BYTES;
+        while (table.hasRemaining()) {
+            int read = channel.read(table, position);
+            if (read < 0) {
+                throw new IOException("Truncated trace file");
+            }
+            position += read;
+        }
+        table.flip();
+        for (int i = 0; i < n; i++) {
+            int id = table.getInt();
+            int last = table.getInt();
+            if (last >= 0) {
+                lastOfElevator.put(id, (long) last);
+            }
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public int getTickSeconds() {
+        return tickSeconds;
+    }
+
+    public long getRequestSeed() {
+        return requestSeed;
+    }
+
+    public long getRequestsFingerprint() {
+        return requestsFingerprint;
+    }
+
+    // === Champs du i-ème enregistrement ===
+
+    public int tick(long i) {
+        return field(i, 0);
+    }
+
+    public int time(long i) {
+        return field(i, 1);
+    }
+
+    public TraceEvent type(long i) {
+        return TraceEvent.fromCode(field(i, 2));
+    }
+
+    /**
+     * Id de la cabine, -1 pour une activation de requête.
+     */
+    public int elevatorId(long i) {
+        return field(i, 3);
+    }
+
+    /**
+     * Indice de la requête dans Simulation.getAllRequests(), -1 si sans objet.
+     */
+    public int request(long i) {
+        return field(i, 4);
+    }
+
+    public int floor(long i) {
+        return field(i, 5);
+    }
+
+    public int aux(long i) {
+        return field(i, 6);
+    }
+
+    private int field(long i, int field) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("record " + i + " of " + count);
+        }
+        long offset = i * TraceRecorder.RECORD_BYTES + (long) field * Integer.BYTES;
+        return regions[(int) (offset >>> REGION_SHIFT)].getInt((int) (offset & REGION_MASK));
+    }
+
+    // === Recherche ===
+
+    /**
+     * Premier enregistrement du tick contenant l'instant donné (size() si au-delà de la fin).
+     */
+    public long seekTime(int timeSeconds) {
+        int tick = (timeSeconds / tickSeconds) * tickSeconds;
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (tick(mid) < tick) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Dernier enregistrement de la cabine (-1 si aucun).
+     */
+    public long lastOfElevator(int elevatorId) {
+        return lastOfElevator.getOrDefault(elevatorId, -1L);
+    }
+
+    /**
+     * Enregistrement précédent de la même cabine (-1 au début).
+     */
+    public long previousOfElevator(long i) {
+        return field(i, 7);
+    }
+
+    /**
+     * Premier enregistrement différent (instant, type, cabine, requête, étage, aux),
+     * ou -1 si les traces sont identiques. Une trace préfixe de l'autre diffère à sa fin.
+     */
+    public long firstDifference(TraceReader other) {
+        long common = Math.min(count, other.count);
+        for (long i = 0; i < common; i++) {
+            for (int field = 0; field < TraceRecorder.RECORD_INTS - 1; field++) {
+                if (field(i, field) != other.field(i, field)) {
+                    return i;
+                }
+            }
+        }
+        return (count == other.count) ? -1 : common;
+    }
+
+    /**
+     * Une ligne lisible (inspection, rapports de vérification).
+     */
+    public String format(long i) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("#%-9d t=%-6d %-10s", i, time(i), type(i)));
+        if (elevatorId(i) >= 0) {
+            sb.append(" car=").append(elevatorId(i));
+        }
+        if (request(i) >= 0) {
+            sb.append(" req=").append(request(i));
+        }
+        sb.append(" floor=").append(floor(i));
+        switch (type(i)) {
+            case ACTIVATION -> sb.append(" dest=").append(aux(i));
+            case STOPS -> sb.append(" stops=").append(aux(i));
+            case DOOR_OPEN -> sb.append(" onboard=").append(aux(i));
+            default -> { }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,189 @@
+package fr.esipe.elevatorsim.simulation;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trace binaire d'un run : enregistrements de taille fixe ajoutés dans un fichier projeté
+ * en mémoire (MappedByteBuffer), région par région. Un enregistrement = 8 int :
+ * tick, instant, type, id cabine, indice de requête, étage, aux, enregistrement précédent
+ * de la même cabine (chaînage pour TraceReader.previousOfElevator).
+ *
+ * Aucune allocation par événement : les écritures sont des putInt absolus dans la région
+ * courante ; seule la projection d'une nouvelle région (toutes les REGION_RECORDS entrées)
+ * alloue. Le nombre d'enregistrements de l'en-tête est mis à jour à chaque changement de
+ * région et à la fermeture, qui ajoute la table des derniers enregistrements par cabine.
+ */
+final class TraceRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x454C5452;          // "ELTR"
+    static final int VERSION = 2;        // 2 : fermetures de portes après le pas de toute la flotte
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_INTS = 8;
+    static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+    static final int REGION_RECORDS = 1 << 16;    // 2 Mo par région
+
+    // Position des champs dans l'en-tête
+    static final int HEADER_COUNT = 16;
+    static final int HEADER_TRAILER = 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer region;
+    private long regionFirst = -REGION_RECORDS;   // indice du premier enregistrement de la région
+    private long count = 0;
+
+    private final Map<Elevator, Integer> fleetIndex = new IdentityHashMap<>();
+    private final int[] elevatorIds;
+    private final int[] lastOfElevator;
+    private int tick;
+
+    TraceRecorder(Path path, SimulationClock clock, long requestSeed, long requestsFingerprint,
+                  List<Elevator> fleet) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.elevatorIds = new int[fleet.size()];
+        this.lastOfElevator = new int[fleet.size()];
+        Arrays.fill(lastOfElevator, -1);
+        for (int i = 0; i < fleet.size(); i++) {
+            fleetIndex.put(fleet.get(i), i);
+            elevatorIds[i] = fleet.get(i).getId();
+        }
+
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, RECORD_BYTES);
+        header.putInt(12, clock.getTickSeconds());
+        header.putLong(HEADER_COUNT, 0L);
+        header.putLong(HEADER_TRAILER, -1L);
+        header.putLong(32, requestSeed);
+        header.putLong(40, requestsFingerprint);
+        header.putInt(48, fleet.size());
+    }
+
+    /**
+     * Début d'un tick simulé : instant des enregistrements sans instant propre.
+     */
+    void startTick(int tickTime) {
+        this.tick = tickTime;
+    }
+
+    void activation(ElevatorRequest request, int index) {
+        append(tick, TraceEvent.ACTIVATION, -1, index, request.getOriginFloor(), request.getDestinationFloor());
+    }
+
+    void assignment(ElevatorRequest request, Elevator elevator) {
+        append(tick, TraceEvent.ASSIGNMENT, car(elevator), request.getIndex(), request.getOriginFloor(), 0);
+    }
+
+    void stops(Elevator elevator) {
+        append(tick, TraceEvent.STOPS, car(elevator), -1, elevator.currentTarget(), elevator.getStops().size());
+    }
+
+    void doorOpen(Elevator elevator, int floor, int time, int onboardAfter) {
+        append(time, TraceEvent.DOOR_OPEN, car(elevator), -1, floor, onboardAfter);
+    }
+
+    void doorClose(Elevator elevator, int time) {
+        append(time, TraceEvent.DOOR_CLOSE, car(elevator), -1, elevator.getCurrentFloorRounded(), 0);
+    }
+
+    void pickup(ElevatorRequest request, Elevator elevator, int time) {
+        append(time, TraceEvent.PICKUP, car(elevator), request.getIndex(), request.getOriginFloor(), 0);
+    }
+
+    void dropoff(ElevatorRequest request, Elevator elevator, int time) {
+        append(time, TraceEvent.DROPOFF, car(elevator), request.getIndex(), request.getDestinationFloor(), 0);
+    }
+
+    private int car(Elevator elevator) {
+        return fleetIndex.get(elevator);
+    }
+
+    private void append(int time, TraceEvent type, int car, int request, int floor, int aux) {
+        if (count - regionFirst >= REGION_RECORDS) {
+            nextRegion();
+        }
+        int base = (int) (count - regionFirst) * RECORD_BYTES;
+        region.putInt(base, tick);
+        region.putInt(base + 4, time);
+        region.putInt(base + 8, type.ordinal());
+        region.putInt(base + 12, (car < 0) ? -1 : elevatorIds[car]);
+        region.putInt(base + 16, request);
+        region.putInt(base + 20, floor);
+        region.putInt(base + 24, aux);
+        if (car >= 0) {
+            region.putInt(base + 28, lastOfElevator[car]);
+            lastOfElevator[car] = (int) count;
+        } else {
+            region.putInt(base + 28, -1);
+        }
+        count++;
+    }
+
+    private void nextRegion() {
+        try {
+            header.putLong(HEADER_COUNT, count);
+            regionFirst = count;
+            region = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_BYTES + regionFirst * RECORD_BYTES, (long) REGION_RECORDS * RECORD_BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend trace file", e);
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    /**
+     * Écrit la table (id cabine, dernier enregistrement) après les enregistrements,
+     * puis le compte final. Le fichier garde la taille de la dernière région projetée.
+     */
+    @Override
+    public void close() {
+        try {
+            if (region != null) {
+                region.force();
+            }
+            long trailer = HEADER_BYTES + count * RECORD_BYTES;
+            ByteBuffer table = ByteBuffer.allocate(Integer.BYTES * (1 + 2 * elevatorIds.length));
+            table.putInt(elevatorIds.length);
+            for (int i = 0; i < elevatorIds.length; i++) {
+                table.putInt(elevatorIds[i]).putInt(lastOfElevator[i]);
+            }
+            table.flip();
+            long position = trailer;
+            while (table.hasRemaining()) {
+                position += channel.write(table, position);
+            }
+            header.putLong(HEADER_COUNT, count);
+            header.putLong(HEADER_TRAILER, trailer);
+            header.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close trace file", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Relit une table écrite par ColumnarTableWriter.
+ * Les colonnes non compressées sont projetées en mémoire (aucune copie) ;
+ * les colonnes Deflate sont décompressées dans un tampon direct.
+ */
+public final class ColumnarReportReader {
+
+    private final Path directory;
+    private final long rowCount;
+    private final List<String> columns;
+
+    private ColumnarReportReader(Path directory, long rowCount, List<String> columns) {
+        this.directory = directory;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public static ColumnarReportReader open(String directory) {
+        Path dir = Path.of(directory);
+        try {
+            ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(dir.resolve(ColumnarTableWriter.TABLE_FILE)))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != ColumnarTableWriter.TABLE_MAGIC) {
+                throw new IllegalArgumentException("Not a columnar table: " + directory);
+            }
+            header.getInt(); // version
+            long rows = header.getLong();
+            int count = header.getInt();
+            List<String> names = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[header.getShort()];
+                header.get(bytes);
+                header.get(); // type
+                header.get(); // compression
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return new ColumnarReportReader(dir, rows, Collections.unmodifiableList(names));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read columnar table " + directory, e);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Valeurs d'une colonne (ColumnarTableWriter.NULL_INT pour null).
+     */
+    public IntBuffer column(String name) {
+        if (!columns.contains(name)) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        Path file = directory.resolve(name + ColumnarTableWriter.COLUMN_SUFFIX);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != ColumnarTableWriter.COLUMN_MAGIC) {
+                throw new IllegalArgumentException("Not a column file: " + file);
+            }
+            byte compression = mapped.get(4);
+            long rows = mapped.getLong(8);
+            long payloadBytes = mapped.getLong(16);
+
+            ByteBuffer payload = mapped.slice(ColumnarTableWriter.COLUMN_HEADER_BYTES, (int) payloadBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (compression == ColumnarTableWriter.COMPRESSION_NONE) {
+                return payload.asIntBuffer();
+            }
+            return inflate(payload, rows).asIntBuffer();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read column " + file, e);
+        }
+    }
+
+    private static ByteBuffer inflate(ByteBuffer compressed, long rows) {
+        ByteBuffer out = ByteBuffer.allocateDirect(Math.toIntExact(rows * Integer.BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            while (out.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(out) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed column", e);
+        } finally {
+            inflater.end();
+        }
+        out.flip();
+        return out;
+    }
+}
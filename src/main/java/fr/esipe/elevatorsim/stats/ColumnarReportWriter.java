@@ -0,0 +1,71 @@
+package fr.esipe.elevatorsim.stats;
+
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.StopEventLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Export binaire en colonnes des requêtes et des arrêts (alternative compacte au JSON,
+ * pensée pour les notebooks : chaque colonne se charge directement en tableau numpy int32).
+ */
+public final class ColumnarReportWriter {
+
+    public static final String[] REQUEST_COLUMNS = {
+            "residentId", "origin", "destination", "requestTime", "pickupTime", "dropoffTime", "elevatorId"
+    };
+
+    public static final String[] STOP_COLUMNS = {
+            "elevatorId", "time", "floor", "entered", "left", "onboardAfter"
+    };
+
+    private ColumnarReportWriter() {
+    }
+
+    public static void writeRequests(String directory, List<ElevatorRequest> allRequests, boolean deflate) {
+        try (ColumnarTableWriter w = new ColumnarTableWriter(Path.of(directory), REQUEST_COLUMNS, deflate)) {
+            for (ElevatorRequest r : allRequests) {
+                w.write(0, r.getResidentId());
+                w.write(1, r.getOriginFloor());
+                w.write(2, r.getDestinationFloor());
+                w.write(3, r.getRequestTime());
+                w.writeNullable(4, r.getPickupTime());
+                w.writeNullable(5, r.getDropoffTime());
+                w.write(6, (r.getAssignedElevator() != null)
+                        ? r.getAssignedElevator().getId()
+                        : ColumnarTableWriter.NULL_INT);
+                w.endRow();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write request columns to " + directory, e);
+        }
+    }
+
+    /**
+     * Arrêts de tous les ascenseurs (par id croissant, puis dans l'ordre chronologique).
+     */
+    public static void writeStops(String directory,
+                                  Map<Integer, StopEventLog> stopsByElevator,
+                                  boolean deflate) {
+        try (ColumnarTableWriter w = new ColumnarTableWriter(Path.of(directory), STOP_COLUMNS, deflate)) {
+            for (Map.Entry<Integer, StopEventLog> entry : new TreeMap<>(stopsByElevator).entrySet()) {
+                StopEventLog.Cursor e = entry.getValue().cursor();
+                while (e.next()) {
+                    w.write(0, entry.getKey());
+                    w.write(1, e.time());
+                    w.write(2, e.floor());
+                    w.write(3, e.entered());
+                    w.write(4, e.left());
+                    w.write(5, e.onboardAfter());
+                    w.endRow();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write stop columns to " + directory, e);
+        }
+    }
+}
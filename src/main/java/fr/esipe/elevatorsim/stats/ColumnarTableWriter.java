@@ -0,0 +1,163 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Écriture d'une table en colonnes binaires : un fichier par colonne d'entiers 32 bits
+ * (petit-boutiste) et un fichier d'en-tête {@value #TABLE_FILE} (schéma + nombre de lignes).
+ *
+ * Fichier colonne : magic "ESC1", compression (0 = aucune, 1 = Deflate), type (1 = INT32),
+ * 2 octets réservés, nombre de lignes (long), taille des données (long), puis les données
+ * à partir de l'octet {@value #COLUMN_HEADER_BYTES}.
+ * Les valeurs absentes (null) sont codées par {@link #NULL_INT}.
+ */
+public final class ColumnarTableWriter implements Closeable {
+
+    public static final String TABLE_FILE = "table.bin";
+    public static final String COLUMN_SUFFIX = ".col";
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    static final int TABLE_MAGIC = 0x31545345;    // "EST1"
+    static final int COLUMN_MAGIC = 0x31435345;   // "ESC1"
+    static final int COLUMN_HEADER_BYTES = 24;
+    static final byte TYPE_INT32 = 1;
+    static final byte COMPRESSION_NONE = 0;
+    static final byte COMPRESSION_DEFLATE = 1;
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path directory;
+    private final String[] columns;
+    private final boolean deflate;
+    private final FileChannel[] channels;
+    private final OutputStream[] deflaters;
+    private final ByteBuffer[] buffers;
+    private long rows = 0;
+
+    public ColumnarTableWriter(Path directory, String[] columns, boolean deflate) throws IOException {
+        this.directory = directory;
+        this.columns = columns.clone();
+        this.deflate = deflate;
+        this.channels = new FileChannel[columns.length];
+        this.deflaters = new OutputStream[columns.length];
+        this.buffers = new ByteBuffer[columns.length];
+
+        Files.createDirectories(directory);
+        for (int c = 0; c < columns.length; c++) {
+            channels[c] = FileChannel.open(directory.resolve(columns[c] + COLUMN_SUFFIX),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            channels[c].position(COLUMN_HEADER_BYTES);   // en-tête écrit à la fermeture
+            if (deflate) {
+                deflaters[c] = new DeflaterOutputStream(Channels.newOutputStream(channels[c]),
+                        new Deflater(Deflater.BEST_SPEED), BUFFER_BYTES);
+            }
+            buffers[c] = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Valeur de la colonne c pour la ligne en cours.
+     */
+    public void write(int column, int value) throws IOException {
+        ByteBuffer buffer = buffers[column];
+        if (!buffer.hasRemaining()) {
+            flush(column);
+        }
+        buffer.putInt(value);
+    }
+
+    public void writeNullable(int column, Integer value) throws IOException {
+        write(column, (value == null) ? NULL_INT : value);
+    }
+
+    /**
+     * Termine la ligne en cours (chaque colonne doit avoir reçu exactement une valeur).
+     */
+    public void endRow() {
+        rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (int c = 0; c < columns.length; c++) {
+            flush(c);
+            if (deflate) {
+                deflaters[c].close();   // termine le flux compressé (ferme aussi le canal)
+                try (FileChannel ch = FileChannel.open(directory.resolve(columns[c] + COLUMN_SUFFIX),
+                        StandardOpenOption.WRITE)) {
+                    writeColumnHeader(ch, ch.size() - COLUMN_HEADER_BYTES);
+                }
+            } else {
+                writeColumnHeader(channels[c], channels[c].position() - COLUMN_HEADER_BYTES);
+                channels[c].close();
+            }
+        }
+        writeTableHeader();
+    }
+
+    private void flush(int column) throws IOException {
+        ByteBuffer buffer = buffers[column];
+        buffer.flip();
+        if (deflate) {
+            deflaters[column].write(buffer.array(), 0, buffer.limit());
+        } else {
+            while (buffer.hasRemaining()) {
+                channels[column].write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    private void writeColumnHeader(FileChannel channel, long payloadBytes) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(COLUMN_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(COLUMN_MAGIC);
+        header.put(deflate ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+        header.put(TYPE_INT32);
+        header.putShort((short) 0);
+        header.putLong(rows);
+        header.putLong(payloadBytes);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private void writeTableHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TABLE_MAGIC);
+        header.putInt(1);  // version
+        header.putLong(rows);
+        header.putInt(columns.length);
+        for (String name : columns) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) bytes.length);
+            header.put(bytes);
+            header.put(TYPE_INT32);
+            header.put(deflate ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+        }
+        header.flip();
+        try (FileChannel ch = FileChannel.open(directory.resolve(TABLE_FILE),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                ch.write(header);
+            }
+        }
+    }
+}
@@ -1,28 +1,45 @@
 package fr.esipe.elevatorsim.stats;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import fr.esipe.elevatorsim.simulation.Simulation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import fr.esipe.elevatorsim.simulation.StopEventLog;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Arrêts par ascenseur, écrits en flux (ascenseurs par id croissant).
+ */
 public final class ElevatorStopsJsonWriter {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT);
-
     private ElevatorStopsJsonWriter() {
     }
 
     public static void write(String filePath,
-                             Map<Integer, List<Simulation.ElevatorStopEvent>> stopsByElevator) {
-        try {
-            File out = new File(filePath);
-            out.getParentFile().mkdirs();
-            MAPPER.writeValue(out, stopsByElevator);
+                             Map<Integer, StopEventLog> stopsByElevator) {
+        write(filePath, stopsByElevator, false);
+    }
+
+    public static void write(String filePath,
+                             Map<Integer, StopEventLog> stopsByElevator,
+                             boolean compact) {
+        try (JsonGenerator gen = JsonOutput.open(filePath, compact)) {
+            gen.writeStartObject();
+            for (Map.Entry<Integer, StopEventLog> entry : new TreeMap<>(stopsByElevator).entrySet()) {
+                gen.writeArrayFieldStart(String.valueOf(entry.getKey()));
+                StopEventLog.Cursor e = entry.getValue().cursor();
+                while (e.next()) {
+                    gen.writeStartObject();
+                    gen.writeNumberField("time", e.time());
+                    gen.writeNumberField("floor", e.floor());
+                    gen.writeNumberField("entered", e.entered());
+                    gen.writeNumberField("left", e.left());
+                    gen.writeNumberField("onboardAfter", e.onboardAfter());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
         } catch (IOException e) {
             throw new RuntimeException("Failed to write elevator stops report to " + filePath, e);
         }
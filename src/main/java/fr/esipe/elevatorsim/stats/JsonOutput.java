@@ -0,0 +1,70 @@
+package fr.esipe.elevatorsim.stats;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ouverture d'un JsonGenerator en flux sur un fichier (canal + tampon).
+ * Les writers écrivent les objets un par un : la mémoire ne dépend pas du nombre de requêtes.
+ */
+final class JsonOutput {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Ne sert qu'à sérialiser les petits objets (SimulationStats) au milieu du flux
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonOutput() {
+    }
+
+    /**
+     * @param compact true : sortie sur une ligne (plus rapide) ; false : indentée comme avant
+     */
+    static JsonGenerator open(String filePath, boolean compact) throws IOException {
+        Path path = Path.of(filePath);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+
+        try {
+            JsonGenerator gen = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            gen.setCodec(MAPPER);
+            if (!compact) {
+                gen.useDefaultPrettyPrinter();
+            }
+            return gen;
+        } catch (IOException | RuntimeException e) {
+            // Le générateur n'existe pas : personne d'autre ne fermera le canal
+            try {
+                out.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    static void writeNullableInt(JsonGenerator gen, String field, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeNumberField(field, value);
+        }
+    }
+}
@@ -1,45 +1,51 @@
 package fr.esipe.elevatorsim.stats;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import fr.esipe.elevatorsim.model.ElevatorRequest;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Rapport global (structure SimulationReport), écrit en flux requête par requête.
+ */
 public final class JsonReportWriter {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT);
-
     private JsonReportWriter() {}
 
     public static void write(String filePath,
                              SimulationStats stats,
                              List<ElevatorRequest> allRequests) {
-        SimulationReport report = new SimulationReport();
-        report.stats = stats;
-
-        report.requests = allRequests.stream().map(r -> {
-            SimulationReport.RequestReport rr = new SimulationReport.RequestReport();
-            rr.residentId = r.getResidentId();
-            rr.originFloor = r.getOriginFloor();
-            rr.destinationFloor = r.getDestinationFloor();
-            rr.requestTime = r.getRequestTime();
-            rr.pickupTime = r.getPickupTime();
-            rr.dropoffTime = r.getDropoffTime();
-            rr.assignedElevatorId = (r.getAssignedElevator() != null)
-                    ? r.getAssignedElevator().getId()
-                    : null;
-            return rr;
-        }).toList();
-
-        try {
-            File out = new File(filePath);
-            out.getParentFile().mkdirs();
-            MAPPER.writeValue(out, report);
+        write(filePath, stats, allRequests, false);
+    }
+
+    public static void write(String filePath,
+                             SimulationStats stats,
+                             List<ElevatorRequest> allRequests,
+                             boolean compact) {
+        try (JsonGenerator gen = JsonOutput.open(filePath, compact)) {
+            gen.writeStartObject();
+
+            gen.writeFieldName("stats");
+            gen.writeObject(stats);
+
+            gen.writeArrayFieldStart("requests");
+            for (ElevatorRequest r : allRequests) {
+                gen.writeStartObject();
+                gen.writeNumberField("residentId", r.getResidentId());
+                gen.writeNumberField("originFloor", r.getOriginFloor());
+                gen.writeNumberField("destinationFloor", r.getDestinationFloor());
+                gen.writeNumberField("requestTime", r.getRequestTime());
+                JsonOutput.writeNullableInt(gen, "pickupTime", r.getPickupTime());
+                JsonOutput.writeNullableInt(gen, "dropoffTime", r.getDropoffTime());
+                JsonOutput.writeNullableInt(gen, "assignedElevatorId",
+                        (r.getAssignedElevator() != null) ? r.getAssignedElevator().getId() : null);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+
+            gen.writeEndObject();
         } catch (IOException e) {
             throw new RuntimeException("Failed to write report to " + filePath, e);
         }
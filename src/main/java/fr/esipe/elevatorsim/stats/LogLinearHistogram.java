@@ -0,0 +1,136 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Histogramme à mémoire fixe pour des durées entières >= 0 (style HDR).
+ *
+ * Les valeurs inférieures à 2^SUB_BITS ont chacune leur case (comptage exact).
+ * Au-delà, chaque intervalle [2^k, 2^(k+1)) est découpé en 2^(SUB_BITS-1) cases
+ * de même largeur : erreur relative inférieure à 2^-(SUB_BITS-1).
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BITS = 10;
+    private static final int EXACT_LIMIT = 1 << SUB_BITS;          // 1024 : exact en dessous
+    private static final int HALF = EXACT_LIMIT >> 1;              // cases par puissance de 2 au-delà
+    private static final int BUCKETS = EXACT_LIMIT + (31 - SUB_BITS) * HALF;
+
+    private final long[] counts;
+    private long total = 0;
+
+    public LogLinearHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    public LogLinearHistogram(LogLinearHistogram other) {
+        this.counts = other.counts.clone();
+        this.total = other.total;
+    }
+
+    public void record(int value) {
+        counts[indexOf(Math.max(0, value))]++;
+        total++;
+    }
+
+    public long getTotalCount() {
+        return total;
+    }
+
+    /**
+     * Valeur de rang k (0 = plus petite) ; exacte si elle est inférieure à 1024.
+     */
+    public double valueAtRank(long k) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+            if (cumulative > k) {
+                return representative(i);
+            }
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    /**
+     * Médiane au sens usuel (moyenne des deux valeurs centrales si effectif pair).
+     */
+    public double median() {
+        if (total == 0) {
+            return 0.0;
+        }
+        if (total % 2 == 1) {
+            return valueAtRank(total / 2);
+        }
+        return (valueAtRank(total / 2 - 1) + valueAtRank(total / 2)) / 2.0;
+    }
+
+    /**
+     * Percentile par rang le plus proche (p entre 0 et 1).
+     */
+    public double percentile(double p) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = (long) Math.ceil(p * total) - 1;
+        return valueAtRank(Math.max(0, Math.min(total - 1, rank)));
+    }
+
+    /**
+     * Écrit les cases non vides (indice, effectif) : quelques centaines d'octets en pratique.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                nonEmpty++;
+            }
+        }
+        out.writeLong(total);
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    public void readState(DataInput in) throws IOException {
+        Arrays.fill(counts, 0L);
+        total = in.readLong();
+        int nonEmpty = in.readInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int index = in.readInt();
+            counts[index] = in.readLong();
+        }
+    }
+
+    private static int indexOf(int value) {
+        if (value < EXACT_LIMIT) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);      // >= SUB_BITS
+        int shift = exponent - (SUB_BITS - 1);
+        int sub = (value >>> shift) - HALF;                            // 0 .. HALF-1
+        return EXACT_LIMIT + (exponent - SUB_BITS) * HALF + sub;
+    }
+
+    private static double representative(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int offset = index - EXACT_LIMIT;
+        int exponent = SUB_BITS + offset / HALF;
+        int sub = offset % HALF;
+        int shift = exponent - (SUB_BITS - 1);
+        long low = ((long) (sub + HALF)) << shift;
+        long width = 1L << shift;
+        return low + (width - 1) / 2.0;
+    }
+}
@@ -0,0 +1,82 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégat de plusieurs réplications d'une même configuration :
+ * moyenne, écart-type et intervalle de confiance à 95 % pour chaque métrique.
+ */
+public class ReplicationSummary {
+
+    public int replications;
+    public long baseSeed;
+    public Map<String, MetricSummary> metrics = new LinkedHashMap<>();
+
+    public static class MetricSummary {
+        public double mean;
+        public double stdDev;
+        public double ci95Low;
+        public double ci95High;
+        public double min;
+        public double max;
+    }
+
+    /**
+     * Fusionne les stats dans l'ordre de la liste (résultat indépendant du nombre de threads).
+     */
+    public static ReplicationSummary of(List<SimulationStats> runs, long baseSeed) {
+        ReplicationSummary summary = new ReplicationSummary();
+        summary.replications = runs.size();
+        summary.baseSeed = baseSeed;
+
+        for (StatsMetric metric : StatsMetric.values()) {
+            // Welford : moyenne et variance en une passe
+            long n = 0;
+            double mean = 0.0;
+            double m2 = 0.0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (SimulationStats s : runs) {
+                double x = metric.valueOf(s);
+                n++;
+                double delta = x - mean;
+                mean += delta / n;
+                m2 += delta * (x - mean);
+                min = Math.min(min, x);
+                max = Math.max(max, x);
+            }
+
+            MetricSummary ms = new MetricSummary();
+            ms.mean = mean;
+            ms.stdDev = (n > 1) ? Math.sqrt(m2 / (n - 1)) : 0.0;
+            double halfWidth = (n > 1) ? studentT975(n - 1) * ms.stdDev / Math.sqrt(n) : 0.0;
+            ms.ci95Low = mean - halfWidth;
+            ms.ci95High = mean + halfWidth;
+            ms.min = (n == 0) ? 0.0 : min;
+            ms.max = (n == 0) ? 0.0 : max;
+            summary.metrics.put(metric.getFieldName(), ms);
+        }
+        return summary;
+    }
+
+    // Quantile 97,5 % de la loi de Student (petits échantillons), 1,96 au-delà
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private static double studentT975(long degreesOfFreedom) {
+        if (degreesOfFreedom <= T_975.length) {
+            return T_975[(int) degreesOfFreedom - 1];
+        }
+        // Valeur de la borne inférieure de chaque tranche : intervalle légèrement conservateur
+        if (degreesOfFreedom <= 40) return 2.042;
+        if (degreesOfFreedom <= 60) return 2.021;
+        if (degreesOfFreedom <= 120) return 2.000;
+        if (degreesOfFreedom <= 1000) return 1.980;
+        return 1.960;
+    }
+}
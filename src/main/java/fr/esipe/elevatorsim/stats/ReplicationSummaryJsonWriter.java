@@ -0,0 +1,26 @@
+package fr.esipe.elevatorsim.stats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+
+public final class ReplicationSummaryJsonWriter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ReplicationSummaryJsonWriter() {
+    }
+
+    public static void write(String filePath, ReplicationSummary summary) {
+        try {
+            File out = new File(filePath);
+            out.getParentFile().mkdirs();
+            MAPPER.writeValue(out, summary);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write replication summary to " + filePath, e);
+        }
+    }
+}
@@ -1,20 +1,26 @@
 package fr.esipe.elevatorsim.stats;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonGenerator;
 import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.ElevatorRequest;
 import fr.esipe.elevatorsim.model.Floor;
 import fr.esipe.elevatorsim.model.Resident;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Trajets par résident, écrits en flux.
+ *
+ * Pas de map d'objets ni de tri global des requêtes : les résidents sont rangés par id dans
+ * une table primitive (id, étage), puis un tri par dénombrement place les rangs de requêtes
+ * par résident en gardant leur ordre. Mémoire : un int par requête, O(nombre de requêtes)
+ * comme tout regroupement par résident, plus un long et deux int par résident.
+ */
 public final class ResidentsReportJsonWriter {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT);
+    private static final int NO_HOME = -1;      // id de requête absent du bâtiment
 
     private ResidentsReportJsonWriter() {
     }
@@ -22,71 +28,132 @@ public final class ResidentsReportJsonWriter {
     public static void write(String filePath,
                              Building building,
                              List<ElevatorRequest> allRequests) {
-        // Index résidents par id
-        Map<Integer, Resident> residentsById = new HashMap<>();
-        for (Floor floor : building.getFloors()) {
-            for (Resident r : floor.getResidents()) {
-                residentsById.put(r.getId(), r);
-            }
-        }
+        write(filePath, building, allRequests, false);
+    }
 
-        // Regrouper requêtes par résident
-        Map<Integer, List<ElevatorRequest>> byResident = new HashMap<>();
-        for (ElevatorRequest r : allRequests) {
-            byResident.computeIfAbsent(r.getResidentId(), k -> new ArrayList<>()).add(r);
+    public static void write(String filePath,
+                             Building building,
+                             List<ElevatorRequest> allRequests,
+                             boolean compact) {
+        long[] residents = residentTable(building, allRequests);
+
+        // Tri par dénombrement : start[r]..start[r + 1] = requêtes du résident de rang r
+        int[] start = new int[residents.length + 1];
+        for (ElevatorRequest request : allRequests) {
+            start[rank(residents, request.getResidentId()) + 1]++;
+        }
+        for (int r = 0; r < residents.length; r++) {
+            start[r + 1] += start[r];
+        }
+        int[] next = Arrays.copyOf(start, residents.length);
+        int[] order = new int[allRequests.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[next[rank(residents, allRequests.get(i).getResidentId())]++] = i;
         }
 
-        // Construire structure export
-        List<ResidentReport> reports = new ArrayList<>();
-        for (Map.Entry<Integer, List<ElevatorRequest>> entry : byResident.entrySet()) {
-            int residentId = entry.getKey();
-            Resident resident = residentsById.get(residentId);
-
-            ResidentReport rr = new ResidentReport();
-            rr.residentId = residentId;
-            rr.homeFloor = (resident != null) ? resident.getHomeFloor() : null;
-
-            rr.trips = new ArrayList<>();
-            for (ElevatorRequest req : entry.getValue()) {
-                Trip t = new Trip();
-                t.originFloor = req.getOriginFloor();
-                t.destinationFloor = req.getDestinationFloor();
-                t.requestTime = req.getRequestTime();
-                t.pickupTime = req.getPickupTime();
-                t.dropoffTime = req.getDropoffTime();
-                t.elevatorId = (req.getAssignedElevator() != null)
-                        ? req.getAssignedElevator().getId()
-                        : null;
-                rr.trips.add(t);
-            }
+        try (JsonGenerator gen = JsonOutput.open(filePath, compact)) {
+            gen.writeStartArray();
 
-            reports.add(rr);
-        }
+            for (int r = 0; r < residents.length; r++) {
+                if (start[r] == start[r + 1]) {
+                    continue;
+                }
+                int homeFloor = (int) residents[r];
 
-        // Tri par id pour une sortie stable
-        reports.sort(Comparator.comparingInt(r -> r.residentId));
+                gen.writeStartObject();
+                gen.writeNumberField("residentId", (int) (residents[r] >> 32));
+                JsonOutput.writeNullableInt(gen, "homeFloor", (homeFloor != NO_HOME) ? homeFloor : null);
+                gen.writeArrayFieldStart("trips");
+                for (int k = start[r]; k < start[r + 1]; k++) {
+                    writeTrip(gen, allRequests.get(order[k]));
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
 
-        try {
-            File out = new File(filePath);
-            out.getParentFile().mkdirs();
-            MAPPER.writeValue(out, reports);
+            gen.writeEndArray();
         } catch (IOException e) {
             throw new RuntimeException("Failed to write residents report to " + filePath, e);
         }
     }
 
-    public static class ResidentReport {
-        public int residentId;
-        public Integer homeFloor;
-        public List<Trip> trips;
+    /**
+     * Résidents triés par id, codés (id << 32) | étage ; les ids de requêtes sans résident
+     * dans le bâtiment y sont ajoutés avec l'étage NO_HOME.
+     */
+    private static long[] residentTable(Building building, List<ElevatorRequest> allRequests) {
+        int count = 0;
+        for (Floor floor : building.getFloors()) {
+            count += floor.getResidents().size();
+        }
+        long[] table = new long[count];
+        int n = 0;
+        for (Floor floor : building.getFloors()) {
+            for (Resident resident : floor.getResidents()) {
+                table[n++] = entry(resident.getId(), resident.getHomeFloor());
+            }
+        }
+        Arrays.sort(table);
+
+        long[] unknown = new long[0];
+        int unknownCount = 0;
+        for (ElevatorRequest request : allRequests) {
+            if (rank(table, request.getResidentId()) < 0) {
+                if (unknownCount == unknown.length) {
+                    unknown = Arrays.copyOf(unknown, Math.max(16, 2 * unknownCount));
+                }
+                unknown[unknownCount++] = entry(request.getResidentId(), NO_HOME);
+            }
+        }
+        if (unknownCount == 0) {
+            return table;
+        }
+        Arrays.sort(unknown, 0, unknownCount);
+        int distinct = 0;
+        for (int i = 0; i < unknownCount; i++) {
+            if (distinct == 0 || unknown[i] != unknown[distinct - 1]) {
+                unknown[distinct++] = unknown[i];
+            }
+        }
+        long[] merged = Arrays.copyOf(table, table.length + distinct);
+        System.arraycopy(unknown, 0, merged, table.length, distinct);
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static long entry(int residentId, int homeFloor) {
+        return ((long) residentId << 32) | (homeFloor & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Rang d'un id dans la table (recherche dichotomique), négatif s'il est absent.
+     */
+    private static int rank(long[] table, int residentId) {
+        int lo = 0;
+        int hi = table.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = (int) (table[mid] >> 32);
+            if (id < residentId) {
+                lo = mid + 1;
+            } else if (id > residentId) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
     }
 
-    public static class Trip {
-        public int originFloor;
-        public int destinationFloor;
-        public int requestTime;
-        public Integer pickupTime;
-        public Integer dropoffTime;
-        public Integer elevatorId;
+    private static void writeTrip(JsonGenerator gen, ElevatorRequest req) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("originFloor", req.getOriginFloor());
+        gen.writeNumberField("destinationFloor", req.getDestinationFloor());
+        gen.writeNumberField("requestTime", req.getRequestTime());
+        JsonOutput.writeNullableInt(gen, "pickupTime", req.getPickupTime());
+        JsonOutput.writeNullableInt(gen, "dropoffTime", req.getDropoffTime());
+        JsonOutput.writeNullableInt(gen, "elevatorId",
+                (req.getAssignedElevator() != null) ? req.getAssignedElevator().getId() : null);
+        gen.writeEndObject();
     }
 }
@@ -0,0 +1,100 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Accumulateur incrémental pour une série de durées entières :
+ * effectif, min/max, somme exacte, variance (Welford) et histogramme pour les percentiles.
+ */
+public class RunningStats {
+
+    private long count = 0;
+    private long sum = 0;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private double mean = 0.0;   // moyenne courante (Welford)
+    private double m2 = 0.0;     // somme des carrés des écarts (Welford)
+    private final LogLinearHistogram histogram;
+
+    public RunningStats() {
+        this.histogram = new LogLinearHistogram();
+    }
+
+    public RunningStats(RunningStats other) {
+        this.count = other.count;
+        this.sum = other.sum;
+        this.min = other.min;
+        this.max = other.max;
+        this.mean = other.mean;
+        this.m2 = other.m2;
+        this.histogram = new LogLinearHistogram(other.histogram);
+    }
+
+    public void record(int value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        histogram.record(value);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Moyenne calculée sur la somme exacte (pas d'erreur d'arrondi cumulée).
+     */
+    public double getMean() {
+        return (count == 0) ? 0.0 : (double) sum / count;
+    }
+
+    public double getStdDev() {
+        return (count > 1) ? Math.sqrt(m2 / (count - 1)) : 0.0;
+    }
+
+    public int getMin() {
+        return (count == 0) ? 0 : min;
+    }
+
+    public int getMax() {
+        return (count == 0) ? 0 : max;
+    }
+
+    public double getMedian() {
+        return histogram.median();
+    }
+
+    public double getPercentile(double p) {
+        return histogram.percentile(p);
+    }
+
+    public LogLinearHistogram getHistogram() {
+        return histogram;
+    }
+
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeLong(sum);
+        out.writeInt(min);
+        out.writeInt(max);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+        histogram.writeState(out);
+    }
+
+    public void readState(DataInput in) throws IOException {
+        count = in.readLong();
+        sum = in.readLong();
+        min = in.readInt();
+        max = in.readInt();
+        mean = in.readDouble();
+        m2 = in.readDouble();
+        histogram.readState(in);
+    }
+}
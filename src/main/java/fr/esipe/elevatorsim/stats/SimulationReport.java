@@ -4,6 +4,7 @@ import java.util.List;
 
 /**
  * Conteneur sérialisable pour un rapport complet de simulation.
+ * JsonReportWriter écrit cette structure en flux ; cette classe sert à la relire.
  */
 public class SimulationReport {
 
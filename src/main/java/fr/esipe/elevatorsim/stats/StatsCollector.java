@@ -0,0 +1,115 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collecte des statistiques au fil de l'eau, à chaque pickup et dropoff,
+ * sans conserver les valeurs individuelles. La construction de SimulationStats
+ * coûte O(étages) + O(taille des histogrammes), quel que soit le nombre de requêtes.
+ */
+public class StatsCollector {
+
+    private final RunningStats waits;
+    private final RunningStats travels;
+
+    // Accumulateurs par étage d'origine (tableaux primitifs, agrandis au besoin)
+    private long[] waitSumByOrigin;
+    private int[] waitCountByOrigin;
+
+    public StatsCollector(int floorsCount) {
+        this.waits = new RunningStats();
+        this.travels = new RunningStats();
+        this.waitSumByOrigin = new long[floorsCount + 1];
+        this.waitCountByOrigin = new int[floorsCount + 1];
+    }
+
+    public StatsCollector(StatsCollector other) {
+        this.waits = new RunningStats(other.waits);
+        this.travels = new RunningStats(other.travels);
+        this.waitSumByOrigin = other.waitSumByOrigin.clone();
+        this.waitCountByOrigin = other.waitCountByOrigin.clone();
+    }
+
+    public void recordPickup(int originFloor, int waitSeconds) {
+        waits.record(waitSeconds);
+        if (originFloor >= waitSumByOrigin.length) {
+            waitSumByOrigin = Arrays.copyOf(waitSumByOrigin, originFloor + 1);
+            waitCountByOrigin = Arrays.copyOf(waitCountByOrigin, originFloor + 1);
+        }
+        waitSumByOrigin[originFloor] += waitSeconds;
+        waitCountByOrigin[originFloor]++;
+    }
+
+    public void recordDropoff(int travelSeconds) {
+        travels.record(travelSeconds);
+    }
+
+    public RunningStats getWaits() {
+        return waits;
+    }
+
+    public RunningStats getTravels() {
+        return travels;
+    }
+
+    /**
+     * Écrit les accumulateurs pour un point de reprise (cf. readState).
+     */
+    public void writeState(DataOutput out) throws IOException {
+        waits.writeState(out);
+        travels.writeState(out);
+        out.writeInt(waitSumByOrigin.length);
+        for (int floor = 0; floor < waitSumByOrigin.length; floor++) {
+            out.writeLong(waitSumByOrigin[floor]);
+            out.writeInt(waitCountByOrigin[floor]);
+        }
+    }
+
+    public void readState(DataInput in) throws IOException {
+        waits.readState(in);
+        travels.readState(in);
+        int floors = in.readInt();
+        waitSumByOrigin = new long[floors];
+        waitCountByOrigin = new int[floors];
+        for (int floor = 0; floor < floors; floor++) {
+            waitSumByOrigin[floor] = in.readLong();
+            waitCountByOrigin[floor] = in.readInt();
+        }
+    }
+
+    /**
+     * Remplit les champs de temps d'attente / trajet de SimulationStats.
+     */
+    public void fill(SimulationStats s) {
+        s.completedRequests = (int) travels.getCount();
+
+        s.averageWait = waits.getMean();
+        s.medianWait = waits.getMedian();
+        s.maxWait = waits.getMax();
+        s.stdDevWait = waits.getStdDev();
+        s.p90Wait = waits.getPercentile(0.90);
+        s.p99Wait = waits.getPercentile(0.99);
+        s.p999Wait = waits.getPercentile(0.999);
+
+        s.averageTravel = travels.getMean();
+        s.medianTravel = travels.getMedian();
+        s.maxTravel = travels.getMax();
+        s.stdDevTravel = travels.getStdDev();
+        s.p90Travel = travels.getPercentile(0.90);
+        s.p99Travel = travels.getPercentile(0.99);
+        s.p999Travel = travels.getPercentile(0.999);
+
+        Map<Integer, Double> avgWaitByOrigin = new TreeMap<>();
+        for (int floor = 0; floor < waitCountByOrigin.length; floor++) {
+            if (waitCountByOrigin[floor] > 0) {
+                avgWaitByOrigin.put(floor, (double) waitSumByOrigin[floor] / waitCountByOrigin[floor]);
+            }
+        }
+        s.averageWaitByOriginFloor = avgWaitByOrigin;
+    }
+}
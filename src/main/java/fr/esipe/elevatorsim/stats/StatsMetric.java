@@ -0,0 +1,55 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métriques scalaires de SimulationStats, désignées par le nom du champ.
+ * Sert aux agrégations (réplications, balayages de paramètres).
+ */
+public enum StatsMetric {
+
+    TOTAL_REQUESTS("totalRequests", s -> s.totalRequests),
+    COMPLETED_REQUESTS("completedRequests", s -> s.completedRequests),
+    AVERAGE_WAIT("averageWait", s -> s.averageWait),
+    MEDIAN_WAIT("medianWait", s -> s.medianWait),
+    MAX_WAIT("maxWait", s -> s.maxWait),
+    STD_DEV_WAIT("stdDevWait", s -> s.stdDevWait),
+    P90_WAIT("p90Wait", s -> s.p90Wait),
+    P99_WAIT("p99Wait", s -> s.p99Wait),
+    P999_WAIT("p999Wait", s -> s.p999Wait),
+    AVERAGE_TRAVEL("averageTravel", s -> s.averageTravel),
+    MEDIAN_TRAVEL("medianTravel", s -> s.medianTravel),
+    MAX_TRAVEL("maxTravel", s -> s.maxTravel),
+    STD_DEV_TRAVEL("stdDevTravel", s -> s.stdDevTravel),
+    P90_TRAVEL("p90Travel", s -> s.p90Travel),
+    P99_TRAVEL("p99Travel", s -> s.p99Travel),
+    P999_TRAVEL("p999Travel", s -> s.p999Travel),
+    TOTAL_ENERGY("totalEnergy", s -> s.totalEnergy),
+    ENERGY_PER_REQUEST("energyPerRequest", s -> s.energyPerRequest),
+    AVERAGE_FILL_RATE("averageFillRate", s -> s.averageFillRate);
+
+    private final String fieldName;
+    private final ToDoubleFunction<SimulationStats> extractor;
+
+    StatsMetric(String fieldName, ToDoubleFunction<SimulationStats> extractor) {
+        this.fieldName = fieldName;
+        this.extractor = extractor;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public double valueOf(SimulationStats stats) {
+        return extractor.applyAsDouble(stats);
+    }
+
+    public static StatsMetric fromName(String name) {
+        for (StatsMetric m : values()) {
+            if (m.fieldName.equalsIgnoreCase(name) || m.name().equalsIgnoreCase(name)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric: " + name);
+    }
+}
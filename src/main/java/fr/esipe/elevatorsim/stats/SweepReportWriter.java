@@ -0,0 +1,72 @@
+package fr.esipe.elevatorsim.stats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Écrit le tableau comparatif d'un balayage en CSV et en JSON.
+ */
+public final class SweepReportWriter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private SweepReportWriter() {
+    }
+
+    public static void writeCsv(String filePath, List<SweepResult> results) {
+        File out = new File(filePath);
+        out.getParentFile().mkdirs();
+        try (BufferedWriter w = Files.newBufferedWriter(out.toPath(), StandardCharsets.UTF_8)) {
+            StringBuilder header = new StringBuilder(
+                    "elevators,capacity,maxSpeedFloorsPerSecond,accelerationFloorsPerSecond2,doorOpenTimeSeconds,strategy");
+            for (StatsMetric m : StatsMetric.values()) {
+                header.append(',').append(m.getFieldName());
+            }
+            w.write(header.toString());
+            w.newLine();
+
+            for (SweepResult r : results) {
+                StringBuilder line = new StringBuilder();
+                line.append(r.elevators).append(',')
+                        .append(r.capacity).append(',')
+                        .append(format(r.maxSpeedFloorsPerSecond)).append(',')
+                        .append(format(r.accelerationFloorsPerSecond2)).append(',')
+                        .append(r.doorOpenTimeSeconds).append(',')
+                        .append(r.strategy);
+                for (StatsMetric m : StatsMetric.values()) {
+                    line.append(',').append(format(r.metrics.get(m.getFieldName())));
+                }
+                w.write(line.toString());
+                w.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write sweep CSV to " + filePath, e);
+        }
+    }
+
+    public static void writeJson(String filePath, List<SweepResult> results) {
+        try {
+            File out = new File(filePath);
+            out.getParentFile().mkdirs();
+            MAPPER.writeValue(out, results);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write sweep JSON to " + filePath, e);
+        }
+    }
+
+    private static String format(double v) {
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+            return Long.toString((long) v);
+        }
+        return String.format(Locale.ROOT, "%.6f", v).replaceAll("0+$", "");
+    }
+}
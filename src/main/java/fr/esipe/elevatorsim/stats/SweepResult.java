@@ -0,0 +1,43 @@
+package fr.esipe.elevatorsim.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Une ligne du tableau comparatif d'un balayage de paramètres :
+ * le point de la grille et les métriques obtenues.
+ */
+public class SweepResult {
+
+    public int elevators;
+    public int capacity;
+    public double maxSpeedFloorsPerSecond;
+    public double accelerationFloorsPerSecond2;
+    public int doorOpenTimeSeconds;
+    public String strategy;
+
+    public Map<String, Double> metrics = new LinkedHashMap<>();
+
+    public void setStats(SimulationStats stats) {
+        metrics.clear();
+        for (StatsMetric m : StatsMetric.values()) {
+            metrics.put(m.getFieldName(), m.valueOf(stats));
+        }
+    }
+
+    /**
+     * Copie triée selon une métrique (ordre de la grille conservé en cas d'égalité).
+     */
+    public static List<SweepResult> sortedBy(List<SweepResult> results, StatsMetric metric, boolean descending) {
+        Comparator<SweepResult> cmp = Comparator.comparingDouble(r -> r.metrics.get(metric.getFieldName()));
+        if (descending) {
+            cmp = cmp.reversed();
+        }
+        List<SweepResult> sorted = new ArrayList<>(results);
+        sorted.sort(cmp);
+        return sorted;
+    }
+}
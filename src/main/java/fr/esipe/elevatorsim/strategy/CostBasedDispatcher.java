@@ -0,0 +1,280 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.model.StopSet;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+import fr.esipe.elevatorsim.simulation.Checkpointable;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Répartiteur de groupe par coût : chaque requête va à la cabine qui minimise
+ * l'attente estimée totale.
+ *
+ * Coût d'une affectation (requête r, cabine c) = attente estimée de r (temps pour que c
+ * atteigne l'origine de r en suivant son balayage, arrêts intermédiaires compris, cf. EtaEstimator)
+ * + retard infligé aux requêtes déjà confiées à c si l'origine ajoute un arrêt.
+ * Une cabine dont les engagements (à bord + en attente) atteignent la capacité est exclue.
+ *
+ * Les requêtes non assignées sont affectées par lots via une matrice de coûts
+ * requêtes x cabines, résolue gloutonnement (plus petit coût global d'abord, puis mise à
+ * jour de la colonne de la cabine choisie). Le travail est incrémental : rien n'est
+ * recalculé tant qu'aucune requête n'arrive et qu'aucune cabine ne change d'état
+ * (arrivée, portes). Quand une cabine se libère, les requêtes pas encore prises en charge
+ * des autres cabines lui sont réaffectées si elle les atteint nettement plus tôt.
+ *
+ * Les cabines servent leurs arrêts en balayage (StopOrder.SWEEP) ; les arrêts sont
+ * les origines des requêtes en attente et les destinations des passagers à bord.
+ */
+public class CostBasedDispatcher implements GroupDispatcher, Checkpointable, Forkable<GroupDispatcher> {
+
+    private static final double UNAVAILABLE = Double.POSITIVE_INFINITY;
+    private static final int MAX_BATCH = 64;   // lignes de la matrice de coûts
+
+    private final FleetWatcher watcher = new FleetWatcher();
+    private final EtaEstimator eta = new EtaEstimator();
+    private Elevator[] cars = new Elevator[0];
+    private boolean[] rebuild = new boolean[0];
+
+    @Override
+    public void dispatch(Building building,
+                         List<Elevator> fleet,
+                         List<ElevatorRequest> newRequests,
+                         PendingRequests pendingRequests,
+                         int currentTimeSeconds,
+                         int tickSeconds) {
+        if (watcher.sync(fleet)) {
+            cars = watcher.cars();
+            rebuild = new boolean[cars.length];
+            for (Elevator car : cars) {
+                car.setStopOrder(StopOrder.SWEEP);
+            }
+        }
+
+        eta.setTime(currentTimeSeconds);
+        boolean carsChanged = watcher.scan();
+        List<Elevator> freed = new ArrayList<>();
+        for (int i = 0; i < cars.length; i++) {
+            Elevator car = cars[i];
+            if (!watcher.changed(i)) {
+                continue;
+            }
+            if (watcher.arrived(i)) {
+                // Passagers montés à cet arrêt : leur destination devient un arrêt
+                for (ElevatorRequest request : pendingRequests.onboard(car)) {
+                    car.getStops().add(request.getDestinationFloor());
+                }
+            }
+            if (car.getStops().isEmpty() && !car.isDoorOpen()) {
+                freed.add(car);
+            }
+        }
+
+        if (newRequests.isEmpty() && !carsChanged) {
+            return;
+        }
+
+        if (!freed.isEmpty()) {
+            rebalance(freed, pendingRequests);
+        }
+        assignUnassigned(pendingRequests);
+
+        for (int i = 0; i < cars.length; i++) {
+            if (rebuild[i]) {
+                rebuildStops(cars[i], pendingRequests);
+                rebuild[i] = false;
+            }
+        }
+    }
+
+    @Override
+    public int nextWakeUpTime(Building building, int currentTimeSeconds) {
+        // Une arrivée ou un changement de portes non encore vu : être rappelé au prochain tick
+        return watcher.hasUnseenChanges() ? currentTimeSeconds : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) throws IOException {
+        watcher.writeState(out);
+        eta.writeState(out, cars);
+    }
+
+    /**
+     * Les arrêts (ordre SWEEP compris) sont restaurés avec les cabines : rien à réinitialiser.
+     */
+    @Override
+    public void readCheckpoint(CheckpointInput in) throws IOException {
+        watcher.readState(in);
+        cars = watcher.cars();
+        rebuild = new boolean[cars.length];
+        eta.readState(in, cars);
+    }
+
+    @Override
+    public GroupDispatcher newInstance() {
+        return new CostBasedDispatcher();
+    }
+
+    /**
+     * Attente estimée (s) avant que la cabine atteigne l'étage, en suivant ses arrêts
+     * (cf. EtaEstimator : profil de mouvement exact et temps de porte des arrêts intermédiaires).
+     */
+    public double estimateArrival(Elevator car, int floor) {
+        return eta.eta(car, floor);
+    }
+
+    // === Affectation ===
+
+    /**
+     * Affecte les requêtes non assignées (les plus anciennes d'abord) par lots,
+     * tant qu'il reste de la place dans la flotte.
+     */
+    private void assignUnassigned(PendingRequests pendingRequests) {
+        while (pendingRequests.hasUnassigned()) {
+            int freeSlots = 0;
+            for (Elevator car : cars) {
+                freeSlots += Math.max(0, car.getCapacity() - committed(car, pendingRequests));
+            }
+            int batchSize = Math.min(Math.min(freeSlots, MAX_BATCH), pendingRequests.unassignedCount());
+            if (batchSize == 0) {
+                return;
+            }
+            List<ElevatorRequest> batch = new ArrayList<>(batchSize);
+            for (ElevatorRequest request : pendingRequests.unassigned()) {
+                batch.add(request);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            if (assignBatch(batch, pendingRequests) == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Matrice de coûts lot x cabines, résolue gloutonnement.
+     * @return nombre de requêtes affectées
+     */
+    private int assignBatch(List<ElevatorRequest> batch, PendingRequests pendingRequests) {
+        int rows = batch.size();
+        double[][] cost = new double[rows][cars.length];
+        for (int c = 0; c < cars.length; c++) {
+            fillColumn(cost, batch, c, pendingRequests);
+        }
+        boolean[] done = new boolean[rows];
+        int assigned = 0;
+        while (assigned < rows) {
+            int bestRow = -1;
+            int bestCar = -1;
+            double best = UNAVAILABLE;
+            for (int r = 0; r < rows; r++) {
+                if (done[r]) {
+                    continue;
+                }
+                for (int c = 0; c < cars.length; c++) {
+                    if (cost[r][c] < best) {
+                        best = cost[r][c];
+                        bestRow = r;
+                        bestCar = c;
+                    }
+                }
+            }
+            if (bestRow < 0) {
+                break;   // plus aucune cabine disponible
+            }
+            ElevatorRequest request = batch.get(bestRow);
+            pendingRequests.assign(request, cars[bestCar]);
+            cars[bestCar].getStops().add(request.getOriginFloor());
+            done[bestRow] = true;
+            assigned++;
+            fillColumn(cost, batch, bestCar, pendingRequests);
+        }
+        return assigned;
+    }
+
+    private void fillColumn(double[][] cost, List<ElevatorRequest> batch, int c, PendingRequests pendingRequests) {
+        Elevator car = cars[c];
+        int committed = committed(car, pendingRequests);
+        for (int r = 0; r < cost.length; r++) {
+            cost[r][c] = assignmentCost(car, committed, batch.get(r).getOriginFloor());
+        }
+    }
+
+    private double assignmentCost(Elevator car, int committed, int origin) {
+        if (committed >= car.getCapacity()) {
+            return UNAVAILABLE;
+        }
+        double delayToOthers = car.getStops().contains(origin) ? 0.0 : stopPenalty(car) * committed;
+        return estimateArrival(car, origin) + delayToOthers;
+    }
+
+    /**
+     * Réaffecte aux cabines libérées les requêtes en attente des autres cabines
+     * quand le gain dépasse un arrêt de la cabine libérée (hystérésis).
+     */
+    private void rebalance(List<Elevator> freed, PendingRequests pendingRequests) {
+        for (int i = 0; i < cars.length; i++) {
+            Elevator owner = cars[i];
+            if (freed.contains(owner) || pendingRequests.awaitingPickup(owner).isEmpty()) {
+                continue;
+            }
+            List<ElevatorRequest> awaiting = new ArrayList<>(pendingRequests.awaitingPickup(owner));
+            for (ElevatorRequest request : awaiting) {
+                double current = estimateArrival(owner, request.getOriginFloor());
+                Elevator target = null;
+                double best = current;
+                for (Elevator candidate : freed) {
+                    int committed = committed(candidate, pendingRequests);
+                    double cost = assignmentCost(candidate, committed, request.getOriginFloor());
+                    if (cost + stopPenalty(candidate) < best) {
+                        best = cost + stopPenalty(candidate);
+                        target = candidate;
+                    }
+                }
+                if (target != null) {
+                    pendingRequests.assign(request, target);
+                    target.getStops().add(request.getOriginFloor());
+                    rebuild[i] = true;
+                }
+            }
+        }
+    }
+
+    // === Arrêts ===
+
+    /**
+     * Arrêts recalculés : origines des requêtes en attente, destinations des passagers à bord.
+     */
+    private static void rebuildStops(Elevator car, PendingRequests pendingRequests) {
+        StopSet stops = car.getStops();
+        stops.clear();
+        for (ElevatorRequest request : pendingRequests.awaitingPickup(car)) {
+            stops.add(request.getOriginFloor());
+        }
+        for (ElevatorRequest request : pendingRequests.onboard(car)) {
+            stops.add(request.getDestinationFloor());
+        }
+    }
+
+    private static int committed(Elevator car, PendingRequests pendingRequests) {
+        return pendingRequests.onboard(car).size() + pendingRequests.awaitingPickup(car).size();
+    }
+
+    /**
+     * Temps perdu par un arrêt intermédiaire : portes + freinage/relance.
+     */
+    private static double stopPenalty(Elevator car) {
+        return car.getDoorOpenTimeSeconds()
+                + car.getMaxSpeedFloorsPerSecond() / car.getAccelerationFloorsPerSecond2();
+    }
+}
@@ -0,0 +1,252 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.model.StopSet;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+import fr.esipe.elevatorsim.simulation.Checkpointable;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
+
+import java.io.IOException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Répartition par destination (type "destination dispatch" des halls d'immeuble).
+ *
+ * Les requêtes en attente sont rangées dans des seaux (origine, destination), remplis
+ * au fil des activations. Quand une cabine est libre (aucun passager ni requête confiée),
+ * on forme un lot au départ de l'origine de la plus ancienne requête : son seau d'abord,
+ * puis les seaux de destinations voisines dans le même sens (à moins de zoneFloors étages),
+ * jusqu'à la capacité de la cabine. Le lot entier est confié à la cabine libre la plus proche,
+ * qui va le chercher puis, une fois tout le monde à bord, dessert ses destinations en balayage.
+ *
+ * Le coût d'un lot dépend du nombre de seaux parcourus (paires d'étages distinctes),
+ * pas du nombre de requêtes en attente : chaque origine garde un bitset de ses
+ * destinations non vides pour trouver les voisines par parcours de mots.
+ */
+public class DestinationDispatcher implements GroupDispatcher, Checkpointable, Forkable<GroupDispatcher> {
+
+    public static final int DEFAULT_ZONE_FLOORS = 4;
+
+    private final int zoneFloors;
+    private final FleetWatcher watcher = new FleetWatcher();
+
+    // buckets[origine][destination], créés à la demande
+    private ArrayDeque<ElevatorRequest>[][] buckets = newBuckets(0);
+    private StopSet[] destinationsByOrigin = new StopSet[0];
+
+    public DestinationDispatcher() {
+        this(DEFAULT_ZONE_FLOORS);
+    }
+
+    /**
+     * @param zoneFloors écart maximal entre la destination de la plus ancienne requête
+     *                   du lot et celles des requêtes groupées avec elle
+     */
+    public DestinationDispatcher(int zoneFloors) {
+        if (zoneFloors < 0) {
+            throw new IllegalArgumentException("zoneFloors must be >= 0");
+        }
+        this.zoneFloors = zoneFloors;
+    }
+
+    @Override
+    public void dispatch(Building building,
+                         List<Elevator> fleet,
+                         List<ElevatorRequest> newRequests,
+                         PendingRequests pendingRequests,
+                         int currentTimeSeconds,
+                         int tickSeconds) {
+        if (watcher.sync(fleet)) {
+            for (Elevator car : watcher.cars()) {
+                car.setStopOrder(StopOrder.SWEEP);
+            }
+        }
+        for (ElevatorRequest request : newRequests) {
+            if (!request.isAssigned()) {
+                bucket(request.getOriginFloor(), request.getDestinationFloor()).add(request);
+            }
+        }
+        boolean carsChanged = watcher.scan();
+        if (newRequests.isEmpty() && !carsChanged) {
+            return;
+        }
+
+        // Lot embarqué : ses destinations deviennent les arrêts de la cabine
+        Elevator[] cars = watcher.cars();
+        for (int i = 0; i < cars.length; i++) {
+            if (watcher.arrived(i)) {
+                for (ElevatorRequest request : pendingRequests.onboard(cars[i])) {
+                    cars[i].getStops().add(request.getDestinationFloor());
+                }
+            }
+        }
+
+        while (pendingRequests.hasUnassigned()) {
+            ElevatorRequest oldest = pendingRequests.oldestUnassigned();
+            Elevator car = nearestFreeCar(oldest.getOriginFloor(), pendingRequests);
+            if (car == null) {
+                return;
+            }
+            for (ElevatorRequest request : takeBatch(oldest, car.getCapacity())) {
+                pendingRequests.assign(request, car);
+            }
+            car.getStops().add(oldest.getOriginFloor());
+        }
+    }
+
+    @Override
+    public int nextWakeUpTime(Building building, int currentTimeSeconds) {
+        return watcher.hasUnseenChanges() ? currentTimeSeconds : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Seaux non vides, par origine puis destination, avec leurs requêtes dans l'ordre d'arrivée.
+     */
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) throws IOException {
+        watcher.writeState(out);
+        List<ArrayDeque<ElevatorRequest>> filled = new ArrayList<>();
+        for (ArrayDeque<ElevatorRequest>[] row : buckets) {
+            if (row == null) {
+                continue;
+            }
+            for (ArrayDeque<ElevatorRequest> bucket : row) {
+                if (bucket != null && !bucket.isEmpty()) {
+                    filled.add(bucket);
+                }
+            }
+        }
+        out.writeInt(filled.size());
+        for (ArrayDeque<ElevatorRequest> bucket : filled) {
+            out.writeInt(bucket.size());
+            for (ElevatorRequest request : bucket) {
+                out.writeRequest(request);
+            }
+        }
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) throws IOException {
+        watcher.readState(in);
+        buckets = newBuckets(0);
+        destinationsByOrigin = new StopSet[0];
+        for (int count = in.readInt(); count > 0; count--) {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                ElevatorRequest request = in.readRequest();
+                bucket(request.getOriginFloor(), request.getDestinationFloor()).add(request);
+            }
+        }
+    }
+
+    @Override
+    public GroupDispatcher newInstance() {
+        return new DestinationDispatcher(zoneFloors);
+    }
+
+    /**
+     * Retire des seaux le lot formé autour de la requête la plus ancienne.
+     */
+    private List<ElevatorRequest> takeBatch(ElevatorRequest oldest, int capacity) {
+        int origin = oldest.getOriginFloor();
+        int destination = oldest.getDestinationFloor();
+        boolean up = destination > origin;
+        StopSet destinations = destinationsByOrigin[origin];
+        List<ElevatorRequest> batch = new ArrayList<>(capacity);
+
+        drain(origin, destination, batch, capacity);
+
+        // Destinations voisines du même sens, la plus proche d'abord
+        int above = destinations.nextAbove(destination + 1);
+        int below = destinations.nextBelow(destination - 1);
+        while (batch.size() < capacity) {
+            boolean aboveOk = above >= 0 && above - destination <= zoneFloors && (up || above < origin);
+            boolean belowOk = below >= 0 && destination - below <= zoneFloors && (!up || below > origin);
+            if (!aboveOk && !belowOk) {
+                break;
+            }
+            if (aboveOk && (!belowOk || above - destination <= destination - below)) {
+                drain(origin, above, batch, capacity);
+                above = destinations.nextAbove(above + 1);
+            } else {
+                drain(origin, below, batch, capacity);
+                below = destinations.nextBelow(below - 1);
+            }
+        }
+        return batch;
+    }
+
+    private void drain(int origin, int destination, List<ElevatorRequest> batch, int capacity) {
+        ArrayDeque<ElevatorRequest> queue = buckets[origin][destination];
+        while (batch.size() < capacity && !queue.isEmpty()) {
+            batch.add(queue.poll());
+        }
+        if (queue.isEmpty()) {
+            destinationsByOrigin[origin].remove(destination);
+        }
+    }
+
+    /**
+     * Cabine libre (sans passager ni requête confiée) la plus proche de l'étage,
+     * la première de la flotte en cas d'égalité ; null si aucune.
+     */
+    private Elevator nearestFreeCar(int floor, PendingRequests pendingRequests) {
+        Elevator best = null;
+        double bestTime = Double.MAX_VALUE;
+        for (Elevator car : watcher.cars()) {
+            if (car.hasStops()
+                    || !pendingRequests.onboard(car).isEmpty()
+                    || !pendingRequests.awaitingPickup(car).isEmpty()) {
+                continue;
+            }
+            double time = Math.abs(car.getPosition() - floor) / car.getMaxSpeedFloorsPerSecond();
+            if (time < bestTime) {
+                bestTime = time;
+                best = car;
+            }
+        }
+        return best;
+    }
+
+    private ArrayDeque<ElevatorRequest> bucket(int origin, int destination) {
+        int size = Math.max(origin, destination) + 1;
+        if (size > buckets.length) {
+            buckets = Arrays.copyOf(buckets, size);
+            destinationsByOrigin = Arrays.copyOf(destinationsByOrigin, size);
+        }
+        if (buckets[origin] == null || buckets[origin].length <= destination) {
+            ArrayDeque<ElevatorRequest>[] row = newRow(buckets.length);
+            if (buckets[origin] != null) {
+                System.arraycopy(buckets[origin], 0, row, 0, buckets[origin].length);
+            }
+            buckets[origin] = row;
+        }
+        if (destinationsByOrigin[origin] == null) {
+            destinationsByOrigin[origin] = new StopSet(StopOrder.SWEEP);
+        }
+        if (buckets[origin][destination] == null) {
+            buckets[origin][destination] = new ArrayDeque<>();
+        }
+        destinationsByOrigin[origin].add(destination);
+        return buckets[origin][destination];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<ElevatorRequest>[][] newBuckets(int n) {
+        return (ArrayDeque<ElevatorRequest>[][]) new ArrayDeque[n][];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<ElevatorRequest>[] newRow(int n) {
+        return (ArrayDeque<ElevatorRequest>[]) new ArrayDeque[n];
+    }
+}
@@ -2,19 +2,32 @@ package fr.esipe.elevatorsim.strategy;
 
 import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.Elevator;
-import fr.esipe.elevatorsim.model.ElevatorRequest;
-
-import java.util.List;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
 
 /**
  * Stratégie de contrôle d'un ascenseur.
  * A chaque tick, elle peut décider d'ajouter des arrêts en fonction des requêtes.
+ * Les requêtes actives sont lues via l'index PendingRequests ; une requête choisie
+ * est affectée avec pendingRequests.assign(...).
+ *
+ * Avec le moteur événementiel, step() n'est appelée qu'aux instants où il se passe
+ * quelque chose (nouvelle requête, arrivée à un arrêt, fermeture des portes) ou quand
+ * un ascenseur sans arrêt peut prendre une requête non assignée.
+ * Une stratégie qui doit agir en dehors de ces instants le signale via nextWakeUpTime().
  */
 public interface ElevatorStrategy {
 
     void step(Building building,
               Elevator elevator,
-              List<ElevatorRequest> pendingRequests,
+              PendingRequests pendingRequests,
               int currentTimeSeconds,
               int tickSeconds);
+
+    /**
+     * Prochain instant (en secondes) où la stratégie veut être rappelée
+     * même si aucun événement ne se produit. Par défaut : jamais.
+     */
+    default int nextWakeUpTime(Building building, int currentTimeSeconds) {
+        return Integer.MAX_VALUE;
+    }
 }
@@ -0,0 +1,268 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.MotionProfile;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.model.StopSet;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Estimation du temps avant qu'une cabine puisse s'arrêter à un étage (ETA), pour les répartiteurs.
+ *
+ * Deux niveaux de cache :
+ * - par modèle de cabine (vitesse max, accélération), une table distance en étages ->
+ *   durée d'un trajet arrêt à arrêt (profil trapézoïdal en forme close), à laquelle
+ *   s'ajoute le temps de porte de la cabine à chaque arrêt ;
+ * - par cabine, l'instant d'arrivée possible à chaque étage en suivant ses arrêts dans leur
+ *   ordre de service (portes comprises), recalculé seulement quand ses arrêts changent
+ *   (StopSet.version()). Entre deux changements, la cabine suit exactement ce plan : les
+ *   instants restent valables et eta() est une lecture de tableau.
+ *
+ * Une cabine sans arrêt n'a pas de plan : son ETA vient directement de la table.
+ * L'estimateur n'est pas thread-safe (un par répartiteur).
+ */
+public class EtaEstimator {
+
+    private static final double EPSILON = 1e-6;
+
+    private final Map<Model, double[]> travelTables = new HashMap<>();
+    private Model lastModel;          // dernière table servie (flotte homogène : pas de hachage)
+    private double[] lastTable;
+    private final Map<Elevator, CarEta> cars = new IdentityHashMap<>();
+    private int now;
+
+    /**
+     * Instant courant de la simulation : les ETA sont rendues à partir de cet instant.
+     */
+    public void setTime(int currentTimeSeconds) {
+        this.now = currentTimeSeconds;
+    }
+
+    /**
+     * Secondes avant que la cabine puisse ouvrir ses portes à l'étage, si on lui ajoutait
+     * cet arrêt sans changer l'ordre des autres. Les arrêts déjà prévus sur le chemin
+     * comptent avec leur temps de porte.
+     */
+    public double eta(Elevator car, int floor) {
+        if (floor < 0) {
+            throw new IllegalArgumentException("floor must be >= 0");
+        }
+        if (!car.hasStops()) {
+            double door = car.isDoorOpen() ? car.secondsUntilNextEvent() : 0.0;
+            if (Math.abs(car.getPosition() - Math.rint(car.getPosition())) < EPSILON) {
+                return door + travelTime(car, (int) Math.abs(floor - Math.rint(car.getPosition())));
+            }
+            // Arrêtée entre deux étages (cas limite) : profil direct
+            return door + plan(car, floor).getDuration();
+        }
+        CarEta cache = cars.computeIfAbsent(car, c -> new CarEta());
+        if (cache.version != car.getStops().version() || floor >= cache.eta.length) {
+            rebuild(car, cache, floor);
+        }
+        return Math.max(0.0, cache.eta[floor] - now);
+    }
+
+    /**
+     * Durée d'un trajet de distance étages, à l'arrêt au départ et à l'arrivée (portes exclues).
+     */
+    public double travelTime(Elevator car, int floors) {
+        if (lastModel == null || !lastModel.matches(car) || floors >= lastTable.length) {
+            Model model = new Model(car);
+            double[] table = travelTables.get(model);
+            if (table == null || floors >= table.length) {
+                table = growTable(model, table, floors);
+            }
+            lastModel = model;
+            lastTable = table;
+        }
+        return lastTable[floors];
+    }
+
+    /**
+     * Plans par cabine et instant courant : une reprise relit les mêmes instants
+     * au lieu de les recalculer depuis la position courante (à l'arrondi près).
+     * Les tables par modèle se recalculent à l'identique.
+     */
+    void writeState(CheckpointOutput out, Elevator[] fleet) throws IOException {
+        out.writeInt(now);
+        for (Elevator car : fleet) {
+            CarEta cache = cars.get(car);
+            out.writeBoolean(cache != null);
+            if (cache != null) {
+                out.writeInt(cache.version);
+                out.writeInt(cache.eta.length);
+                for (double t : cache.eta) {
+                    out.writeDouble(t);
+                }
+            }
+        }
+    }
+
+    void readState(CheckpointInput in, Elevator[] fleet) throws IOException {
+        now = in.readInt();
+        cars.clear();
+        for (Elevator car : fleet) {
+            if (in.readBoolean()) {
+                CarEta cache = new CarEta();
+                cache.version = in.readInt();
+                cache.eta = new double[in.readInt()];
+                for (int i = 0; i < cache.eta.length; i++) {
+                    cache.eta[i] = in.readDouble();
+                }
+                cars.put(car, cache);
+            }
+        }
+    }
+
+    // === Tables par modèle ===
+
+    private double[] growTable(Model model, double[] table, int floors) {
+        int from = (table == null) ? 0 : table.length;
+        int length = Math.max(floors + 1, Math.max(64, from * 2));
+        double[] grown = (table == null) ? new double[length] : Arrays.copyOf(table, length);
+        for (int d = from; d < length; d++) {
+            grown[d] = MotionProfile.plan(0.0, 0.0, d, model.maxSpeed, model.acceleration).getDuration();
+        }
+        travelTables.put(model, grown);
+        return grown;
+    }
+
+    // === Plan par cabine ===
+
+    /**
+     * Instants absolus d'arrivée possible à chaque étage, en rejouant l'ordre de service
+     * des arrêts sur une copie (même choix de cible que la cabine).
+     */
+    private void rebuild(Elevator car, CarEta cache, int queried) {
+        StopSet remaining = new StopSet(car.getStops());
+        int top = Math.max(queried, Math.max((int) Math.ceil(car.getPosition()), remaining.nextBelow(Integer.MAX_VALUE)));
+        double[] eta = (cache.eta.length > top) ? cache.eta : new double[top + 1];
+        top = eta.length - 1;
+        Arrays.fill(eta, Double.NaN);
+        int door = car.getDoorOpenTimeSeconds();
+
+        // Premier trajet : depuis l'état courant (portes, vitesse), via le profil exact
+        double start = now + (car.isDoorOpen() ? car.secondsUntilNextEvent() : 0.0);
+        int target = car.currentTarget();
+        double reach = car.getStoppingPosition();
+        int step = (target >= reach) ? 1 : -1;
+        int first = (step > 0) ? (int) Math.ceil(reach - EPSILON) : (int) Math.floor(reach + EPSILON);
+        for (int floor = first; floor != target && floor >= 0 && floor <= top; floor += step) {
+            eta[floor] = start + plan(car, floor).getDuration();
+        }
+        double arrival = start + plan(car, target).getDuration();
+        eta[target] = arrival;
+        remaining.remove(target);
+
+        // Arrêts suivants : trajets arrêt à arrêt, tirés de la table
+        int position = target;
+        Elevator.Direction direction = direction(car.getPosition(), target, car.getDirection());
+        boolean sweep = remaining.getOrder() == StopOrder.SWEEP;
+        while (!remaining.isEmpty()) {
+            int next = remaining.peek(position, direction);
+            start = arrival + door;
+            step = (next > position) ? 1 : -1;
+            if (sweep && direction != Elevator.Direction.IDLE
+                    && (step > 0) != (direction == Elevator.Direction.UP)) {
+                // Demi-tour : un arrêt ajouté au-delà serait desservi avant, en prolongeant le balayage
+                fillBeyond(car, eta, position, direction, start);
+            }
+            for (int floor = position + step; floor != next; floor += step) {
+                if (Double.isNaN(eta[floor])) {
+                    eta[floor] = start + travelTime(car, Math.abs(floor - position));
+                }
+            }
+            arrival = start + travelTime(car, Math.abs(next - position));
+            if (Double.isNaN(eta[next])) {
+                eta[next] = arrival;
+            }
+            remaining.remove(next);
+            direction = direction(position, next, direction);
+            position = next;
+        }
+
+        // Étages jamais traversés : après le dernier arrêt (au bout de la file, ou du balayage)
+        start = arrival + door;
+        for (int floor = 0; floor < eta.length; floor++) {
+            if (Double.isNaN(eta[floor])) {
+                eta[floor] = start + travelTime(car, Math.abs(floor - position));
+            }
+        }
+
+        cache.eta = eta;
+        cache.version = car.getStops().version();
+    }
+
+    private void fillBeyond(Elevator car, double[] eta, int position, Elevator.Direction direction, double start) {
+        int step = (direction == Elevator.Direction.UP) ? 1 : -1;
+        for (int floor = position + step; floor >= 0 && floor < eta.length; floor += step) {
+            if (Double.isNaN(eta[floor])) {
+                eta[floor] = start + travelTime(car, Math.abs(floor - position));
+            }
+        }
+    }
+
+    private MotionProfile plan(Elevator car, int floor) {
+        if (car.isDoorOpen()) {
+            // Départ portes fermées, à l'arrêt
+            return MotionProfile.plan(car.getPosition(), 0.0, floor,
+                    car.getMaxSpeedFloorsPerSecond(), car.getAccelerationFloorsPerSecond2());
+        }
+        return MotionProfile.plan(car.getPosition(), car.getVelocity(), floor,
+                car.getMaxSpeedFloorsPerSecond(), car.getAccelerationFloorsPerSecond2());
+    }
+
+    private static Elevator.Direction direction(double from, int to, Elevator.Direction current) {
+        if (to > from + EPSILON) {
+            return Elevator.Direction.UP;
+        }
+        if (to < from - EPSILON) {
+            return Elevator.Direction.DOWN;
+        }
+        return current;
+    }
+
+    private static final class CarEta {
+        double[] eta = new double[0];
+        int version = -1;
+    }
+
+    /**
+     * Caractéristiques dont dépend la table des durées de trajet.
+     */
+    private static final class Model {
+        final double maxSpeed;
+        final double acceleration;
+
+        Model(Elevator car) {
+            this.maxSpeed = car.getMaxSpeedFloorsPerSecond();
+            this.acceleration = car.getAccelerationFloorsPerSecond2();
+        }
+
+        boolean matches(Elevator car) {
+            return maxSpeed == car.getMaxSpeedFloorsPerSecond()
+                    && acceleration == car.getAccelerationFloorsPerSecond2();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Model)) {
+                return false;
+            }
+            Model other = (Model) o;
+            return maxSpeed == other.maxSpeed && acceleration == other.acceleration;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(maxSpeed) * 31 + Double.hashCode(acceleration);
+        }
+    }
+}
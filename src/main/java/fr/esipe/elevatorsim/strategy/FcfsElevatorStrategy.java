@@ -3,9 +3,8 @@ package fr.esipe.elevatorsim.strategy;
 import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.Elevator;
 import fr.esipe.elevatorsim.model.ElevatorRequest;
-
-import java.util.Comparator;
-import java.util.List;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
 
 /**
  * Stratégie simple :
@@ -13,12 +12,12 @@ import java.util.List;
  *   il prend la requête non assignée la plus ancienne,
  *   va à l'étage d'origine, puis à l'étage de destination.
  */
-public class FcfsElevatorStrategy implements ElevatorStrategy {
+public class FcfsElevatorStrategy implements ElevatorStrategy, Forkable<ElevatorStrategy> {
 
     @Override
     public void step(Building building,
                      Elevator elevator,
-                     List<ElevatorRequest> pendingRequests,
+                     PendingRequests pendingRequests,
                      int currentTimeSeconds,
                      int tickSeconds) {
 
@@ -28,16 +27,13 @@ public class FcfsElevatorStrategy implements ElevatorStrategy {
         }
 
         // Cherche la requête non assignée la plus ancienne
-        ElevatorRequest oldest = pendingRequests.stream()
-                .filter(r -> !r.isAssigned() && !r.isCompleted())
-                .min(Comparator.comparingInt(ElevatorRequest::getRequestTime))
-                .orElse(null);
+        ElevatorRequest oldest = pendingRequests.oldestUnassigned();
 
         if (oldest == null) {
             return; // aucune requête à gérer
         }
 
-        oldest.assignTo(elevator);
+        pendingRequests.assign(oldest, elevator);
 
         int currentFloor = elevator.getCurrentFloorRounded();
 
@@ -49,4 +45,12 @@ public class FcfsElevatorStrategy implements ElevatorStrategy {
         // Puis aller à la destination
         elevator.addStop(oldest.getDestinationFloor());
     }
+
+    /**
+     * Sans état : la même instance sert aux copies de simulation.
+     */
+    @Override
+    public ElevatorStrategy newInstance() {
+        return this;
+    }
 }
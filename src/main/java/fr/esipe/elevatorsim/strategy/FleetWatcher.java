@@ -0,0 +1,115 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Suivi des changements d'état des cabines (arrivées, portes) d'un appel de répartiteur
+ * à l'autre : sert aux répartiteurs incrémentaux, qui ne recalculent rien tant que
+ * rien n'a changé, et à leur nextWakeUpTime (être rappelé au tick qui suit un changement).
+ */
+final class FleetWatcher {
+
+    private Elevator[] cars = new Elevator[0];
+    private int[] knownArrivals = new int[0];
+    private boolean[] knownDoorOpen = new boolean[0];
+    private boolean[] changed = new boolean[0];
+    private boolean[] arrived = new boolean[0];
+
+    /**
+     * Se recale sur la flotte si elle a changé.
+     * @return true si la flotte est nouvelle (les cabines sont à initialiser)
+     */
+    boolean sync(List<Elevator> fleet) {
+        if (cars.length == fleet.size()) {
+            boolean same = true;
+            for (int i = 0; i < cars.length && same; i++) {
+                same = cars[i] == fleet.get(i);
+            }
+            if (same) {
+                return false;
+            }
+        }
+        cars = fleet.toArray(new Elevator[0]);
+        knownArrivals = new int[cars.length];
+        knownDoorOpen = new boolean[cars.length];
+        changed = new boolean[cars.length];
+        arrived = new boolean[cars.length];
+        for (int i = 0; i < cars.length; i++) {
+            knownArrivals[i] = cars[i].getArrivalsCount();
+            knownDoorOpen[i] = cars[i].isDoorOpen();
+        }
+        return true;
+    }
+
+    /**
+     * Relève les changements depuis le dernier appel (cf. changed/arrived).
+     * @return true si au moins une cabine a changé
+     */
+    boolean scan() {
+        boolean any = false;
+        for (int i = 0; i < cars.length; i++) {
+            Elevator car = cars[i];
+            arrived[i] = car.getArrivalsCount() != knownArrivals[i];
+            changed[i] = arrived[i] || car.isDoorOpen() != knownDoorOpen[i];
+            knownArrivals[i] = car.getArrivalsCount();
+            knownDoorOpen[i] = car.isDoorOpen();
+            any |= changed[i];
+        }
+        return any;
+    }
+
+    /**
+     * Vrai si une cabine a changé depuis le dernier scan().
+     */
+    boolean hasUnseenChanges() {
+        for (int i = 0; i < cars.length; i++) {
+            if (cars[i].getArrivalsCount() != knownArrivals[i] || cars[i].isDoorOpen() != knownDoorOpen[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * État vu au dernier scan() (changed/arrived ne servent que pendant un dispatch).
+     */
+    void writeState(CheckpointOutput out) throws IOException {
+        out.writeInt(cars.length);
+        for (int i = 0; i < cars.length; i++) {
+            out.writeElevator(cars[i]);
+            out.writeInt(knownArrivals[i]);
+            out.writeBoolean(knownDoorOpen[i]);
+        }
+    }
+
+    void readState(CheckpointInput in) throws IOException {
+        int n = in.readInt();
+        cars = new Elevator[n];
+        knownArrivals = new int[n];
+        knownDoorOpen = new boolean[n];
+        changed = new boolean[n];
+        arrived = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            cars[i] = in.readElevator();
+            knownArrivals[i] = in.readInt();
+            knownDoorOpen[i] = in.readBoolean();
+        }
+    }
+
+    Elevator[] cars() {
+        return cars;
+    }
+
+    boolean changed(int index) {
+        return changed[index];
+    }
+
+    boolean arrived(int index) {
+        return arrived[index];
+    }
+}
@@ -0,0 +1,40 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
+
+import java.util.List;
+
+/**
+ * Répartiteur de groupe : contrôle toute la flotte en un seul appel par tick.
+ *
+ * Contrairement à ElevatorStrategy (un appel par cabine, la première cabine servie
+ * choisit en premier), le répartiteur voit toutes les cabines et toutes les requêtes
+ * activées pendant le tick, et peut donc comparer les cabines entre elles.
+ * Les affectations passent par pendingRequests.assign(...), les arrêts par les cabines.
+ *
+ * Même contrat de réactivité que ElevatorStrategy vis-à-vis du moteur événementiel.
+ */
+public interface GroupDispatcher {
+
+    /**
+     * @param fleet       cabines du bâtiment, dans l'ordre de building.getElevators()
+     * @param newRequests requêtes activées à ce tick (dans l'ordre d'activation)
+     */
+    void dispatch(Building building,
+                  List<Elevator> fleet,
+                  List<ElevatorRequest> newRequests,
+                  PendingRequests pendingRequests,
+                  int currentTimeSeconds,
+                  int tickSeconds);
+
+    /**
+     * Prochain instant (en secondes) où le répartiteur veut être rappelé
+     * même si aucun événement ne se produit. Par défaut : jamais.
+     */
+    default int nextWakeUpTime(Building building, int currentTimeSeconds) {
+        return Integer.MAX_VALUE;
+    }
+}
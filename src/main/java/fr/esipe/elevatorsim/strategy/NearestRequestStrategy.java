@@ -3,9 +3,8 @@ package fr.esipe.elevatorsim.strategy;
 import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.Elevator;
 import fr.esipe.elevatorsim.model.ElevatorRequest;
-
-import java.util.Comparator;
-import java.util.List;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
 
 /**
  * Stratégie "nearest request" :
@@ -13,12 +12,12 @@ import java.util.List;
  * celle dont l'étage d'origine est le plus proche de sa position actuelle.
  * En cas d'égalité, on départage par requête la plus ancienne.
  */
-public class NearestRequestStrategy implements ElevatorStrategy {
+public class NearestRequestStrategy implements ElevatorStrategy, Forkable<ElevatorStrategy> {
 
     @Override
     public void step(Building building,
                      Elevator elevator,
-                     List<ElevatorRequest> pendingRequests,
+                     PendingRequests pendingRequests,
                      int currentTimeSeconds,
                      int tickSeconds) {
 
@@ -29,19 +28,14 @@ public class NearestRequestStrategy implements ElevatorStrategy {
 
         int currentFloor = elevator.getCurrentFloorRounded();
 
-        ElevatorRequest best = pendingRequests.stream()
-                .filter(r -> !r.isAssigned() && !r.isCompleted())
-                .min(Comparator
-                        .comparingInt((ElevatorRequest r) ->
-                                Math.abs(r.getOriginFloor() - currentFloor))
-                        .thenComparingInt(ElevatorRequest::getRequestTime))
-                .orElse(null);
+        // Recherche en s'éloignant de l'étage courant
+        ElevatorRequest best = pendingRequests.nearestUnassigned(currentFloor);
 
         if (best == null) {
             return; // aucune requête à traiter
         }
 
-        best.assignTo(elevator);
+        pendingRequests.assign(best, elevator);
 
         // On ajoute d'abord l'étage d'origine si besoin,
         // puis l'étage de destination.
@@ -50,4 +44,12 @@ public class NearestRequestStrategy implements ElevatorStrategy {
         }
         elevator.addStop(best.getDestinationFloor());
     }
+
+    /**
+     * Sans état : la même instance sert aux copies de simulation.
+     */
+    @Override
+    public ElevatorStrategy newInstance() {
+        return this;
+    }
 }
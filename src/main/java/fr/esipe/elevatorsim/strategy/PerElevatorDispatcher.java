@@ -0,0 +1,86 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+import fr.esipe.elevatorsim.simulation.Checkpointable;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
+
+import java.io.IOException;
+
+import java.util.List;
+
+/**
+ * Adaptateur : fait tourner une ElevatorStrategy comme répartiteur de groupe,
+ * en l'appelant pour chaque cabine dans l'ordre de la flotte (comportement historique).
+ */
+public class PerElevatorDispatcher implements GroupDispatcher, Checkpointable, Forkable<GroupDispatcher> {
+
+    private final ElevatorStrategy strategy;
+
+    public PerElevatorDispatcher(ElevatorStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public ElevatorStrategy getStrategy() {
+        return strategy;
+    }
+
+    @Override
+    public void dispatch(Building building,
+                         List<Elevator> fleet,
+                         List<ElevatorRequest> newRequests,
+                         PendingRequests pendingRequests,
+                         int currentTimeSeconds,
+                         int tickSeconds) {
+        for (Elevator elevator : fleet) {
+            strategy.step(building, elevator, pendingRequests, currentTimeSeconds, tickSeconds);
+        }
+    }
+
+    @Override
+    public int nextWakeUpTime(Building building, int currentTimeSeconds) {
+        return strategy.nextWakeUpTime(building, currentTimeSeconds);
+    }
+
+    /**
+     * État de la stratégie si elle en a un (les stratégies sans état n'écrivent que leur nom).
+     */
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) throws IOException {
+        out.writeUTF(strategy.getClass().getName());
+        if (strategy instanceof Checkpointable) {
+            ((Checkpointable) strategy).writeCheckpoint(out);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) throws IOException {
+        String strategyClass = in.readUTF();
+        if (!strategyClass.equals(strategy.getClass().getName())) {
+            throw new IllegalStateException("Checkpoint was written with strategy " + strategyClass
+                    + ", not " + strategy.getClass().getName());
+        }
+        if (strategy instanceof Checkpointable) {
+            ((Checkpointable) strategy).readCheckpoint(in);
+        }
+    }
+
+    /**
+     * Copiable si la stratégie l'est (cf. Forkable).
+     */
+    public boolean isForkable() {
+        return strategy instanceof Forkable;
+    }
+
+    @Override
+    public GroupDispatcher newInstance() {
+        if (!isForkable()) {
+            throw new IllegalStateException("Cannot fork strategy " + strategy.getClass().getName());
+        }
+        return new PerElevatorDispatcher((ElevatorStrategy) ((Forkable<?>) strategy).newInstance());
+    }
+}
@@ -0,0 +1,291 @@
+package fr.esipe.elevatorsim.strategy;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.model.StopSet;
+import fr.esipe.elevatorsim.simulation.CheckpointInput;
+import fr.esipe.elevatorsim.simulation.CheckpointOutput;
+import fr.esipe.elevatorsim.simulation.Checkpointable;
+import fr.esipe.elevatorsim.simulation.Forkable;
+import fr.esipe.elevatorsim.simulation.PendingRequests;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Commande collective montée/descente ("SCAN" / "LOOK").
+ *
+ * Chaque cabine balaie dans un sens et prend au passage toute requête non assignée
+ * allant dans le même sens dont l'étage d'origine est devant elle, dans la limite de sa capacité
+ * (passagers à bord + requêtes affectées). Elle garde ses arrêts dans un StopSet
+ * (un bitset par sens) : le prochain arrêt devant elle est un parcours de mots de 64 étages.
+ * Quand il n'y a plus d'arrêt devant elle, elle fait demi-tour (LOOK) ou va d'abord
+ * jusqu'à l'étage extrême (SCAN). Une cabine libre prend la requête la plus proche ;
+ * si elle doit d'abord aller la chercher à contre-sens, elle n'accepte rien d'autre en route.
+ *
+ * La file d'arrêts de la cabine ne contient que le prochain arrêt ; elle est réécrite
+ * quand il change. Stratégie réactive (cf. ElevatorStrategy) : ses décisions ne changent
+ * qu'aux activations de requêtes, arrivées et fermetures de portes.
+ */
+public class ScanElevatorStrategy implements ElevatorStrategy, Checkpointable, Forkable<ElevatorStrategy> {
+
+    private static final double EPSILON = 1e-6;
+
+    private final boolean travelToEnds;   // SCAN : va jusqu'au bout avant de faire demi-tour
+    private final Map<Elevator, CarPlan> plans = new IdentityHashMap<>();
+
+    /**
+     * @param travelToEnds true pour SCAN, false pour LOOK
+     */
+    public ScanElevatorStrategy(boolean travelToEnds) {
+        this.travelToEnds = travelToEnds;
+    }
+
+    /**
+     * Plan d'une cabine : sens de balayage et arrêts à desservir dans chaque sens.
+     */
+    private static final class CarPlan {
+        final StopSet stops = new StopSet(StopOrder.SWEEP);
+        Elevator.Direction sweep = Elevator.Direction.IDLE;
+        int approachFloor = -1;   // origine d'une requête à contre-sens qu'on va chercher
+        int arrivals;
+
+        CarPlan(int arrivals) {
+            this.arrivals = arrivals;
+        }
+
+        boolean isEmpty() {
+            return stops.isEmpty();
+        }
+    }
+
+    @Override
+    public void step(Building building,
+                     Elevator elevator,
+                     PendingRequests pendingRequests,
+                     int currentTimeSeconds,
+                     int tickSeconds) {
+
+        CarPlan plan = plans.computeIfAbsent(elevator, e -> new CarPlan(e.getArrivalsCount()));
+        // Les étages que la cabine ne peut plus desservir sans faire demi-tour sont derrière elle
+        double position = elevator.getStoppingPosition();
+
+        // Arrêt atteint depuis le dernier appel : pickups/dropoffs faits par le moteur
+        if (elevator.getArrivalsCount() != plan.arrivals) {
+            plan.arrivals = elevator.getArrivalsCount();
+            int floor = elevator.getCurrentFloorRounded();
+            plan.stops.remove(floor);
+            // Destinations des passagers à bord (montés ici, ou d'un autre sens pas encore déposés).
+            // Celles des requêtes pas encore prises en charge attendent leur montée : une cabine
+            // qui passe trop vite devant une origine y revient plus tard.
+            keepDestinations(plan, pendingRequests.onboard(elevator));
+            if (plan.approachFloor == floor) {
+                plan.approachFloor = -1;
+            }
+        }
+
+        updateSweep(plan, position, building.getFloorsCount(), pendingRequests.hasUnassigned());
+
+        if (pendingRequests.hasUnassigned() && plan.approachFloor < 0) {
+            if (plan.sweep == Elevator.Direction.IDLE) {
+                takeNearest(elevator, plan, pendingRequests, position);
+            }
+            if (plan.sweep != Elevator.Direction.IDLE && plan.approachFloor < 0) {
+                collectAhead(elevator, plan, pendingRequests, position, building.getFloorsCount());
+            }
+        }
+
+        int target = nextTarget(plan, position);
+        if (target != elevator.currentTarget()) {
+            elevator.clearStops();
+            if (target >= 0) {
+                elevator.addStop(target);
+            }
+        }
+    }
+
+    /**
+     * Plans des cabines, dans l'ordre de la flotte.
+     */
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) throws IOException {
+        List<Elevator> planned = new ArrayList<>();
+        for (Elevator elevator : out.fleet()) {
+            if (plans.containsKey(elevator)) {
+                planned.add(elevator);
+            }
+        }
+        out.writeInt(planned.size());
+        for (Elevator elevator : planned) {
+            CarPlan plan = plans.get(elevator);
+            out.writeElevator(elevator);
+            plan.stops.writeState(out);
+            out.writeByte(plan.sweep.ordinal());
+            out.writeInt(plan.approachFloor);
+            out.writeInt(plan.arrivals);
+        }
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) throws IOException {
+        plans.clear();
+        for (int count = in.readInt(); count > 0; count--) {
+            Elevator elevator = in.readElevator();
+            CarPlan plan = new CarPlan(0);
+            plan.stops.readState(in);
+            plan.sweep = Elevator.Direction.values()[in.readByte()];
+            plan.approachFloor = in.readInt();
+            plan.arrivals = in.readInt();
+            plans.put(elevator, plan);
+        }
+    }
+
+    @Override
+    public ElevatorStrategy newInstance() {
+        return new ScanElevatorStrategy(travelToEnds);
+    }
+
+    /**
+     * Garde le sens tant qu'il reste des arrêts devant, sinon fait demi-tour
+     * (après être allée au bout en mode SCAN), ou passe au repos.
+     */
+    private void updateSweep(CarPlan plan, double position, int topFloor, boolean workWaiting) {
+        if (plan.isEmpty()) {
+            plan.sweep = Elevator.Direction.IDLE;
+            plan.approachFloor = -1;
+            return;
+        }
+        if (plan.sweep == Elevator.Direction.IDLE) {
+            plan.sweep = nearestStop(plan, position) >= position
+                    ? Elevator.Direction.UP
+                    : Elevator.Direction.DOWN;
+        }
+        if (stopAhead(plan, plan.sweep, position) >= 0) {
+            return;
+        }
+        if (travelToEnds && (workWaiting || !plan.isEmpty())) {
+            int end = (plan.sweep == Elevator.Direction.UP) ? topFloor : 0;
+            if (Math.abs(position - end) > EPSILON) {
+                plan.stops.add(end, plan.sweep);
+                return;
+            }
+        }
+        Elevator.Direction reverse = opposite(plan.sweep);
+        if (stopAhead(plan, reverse, position) >= 0) {
+            plan.sweep = reverse;
+            return;
+        }
+        // Arrêts restants derrière dans leur propre sens : on va au plus proche
+        plan.sweep = nearestStop(plan, position) >= position
+                ? Elevator.Direction.UP
+                : Elevator.Direction.DOWN;
+    }
+
+    /**
+     * Cabine libre : prend la requête la plus proche (la plus ancienne en cas d'égalité).
+     */
+    private void takeNearest(Elevator elevator, CarPlan plan, PendingRequests pendingRequests, double position) {
+        ElevatorRequest request = pendingRequests.nearestUnassigned(elevator.getCurrentFloorRounded());
+        if (request == null) {
+            return;
+        }
+        pendingRequests.assign(request, elevator);
+        Elevator.Direction direction = directionOf(request);
+        int origin = request.getOriginFloor();
+
+        Elevator.Direction travel;
+        if (Math.abs(position - origin) < EPSILON) {
+            travel = direction;
+        } else {
+            travel = (origin > position) ? Elevator.Direction.UP : Elevator.Direction.DOWN;
+        }
+        plan.sweep = travel;
+        plan.stops.add(origin, travel);
+        plan.stops.add(request.getDestinationFloor(), direction);
+        if (travel != direction) {
+            plan.approachFloor = origin;
+        }
+    }
+
+    /**
+     * Prend les requêtes du même sens dont l'origine est devant la cabine, étage par étage
+     * dans l'ordre de passage, tant que la capacité le permet.
+     */
+    private void collectAhead(Elevator elevator,
+                              CarPlan plan,
+                              PendingRequests pendingRequests,
+                              double position,
+                              int topFloor) {
+        int committed = pendingRequests.onboard(elevator).size() + pendingRequests.awaitingPickup(elevator).size();
+        int free = elevator.getCapacity() - committed;
+        if (free <= 0) {
+            return;
+        }
+        boolean up = plan.sweep == Elevator.Direction.UP;
+        int from = up ? (int) Math.ceil(position - EPSILON) : (int) Math.floor(position + EPSILON);
+        int step = up ? 1 : -1;
+        List<ElevatorRequest> taken = new ArrayList<>();
+        for (int floor = from; floor >= 0 && floor <= topFloor && free > 0; floor += step) {
+            for (ElevatorRequest request : pendingRequests.unassignedAt(floor)) {
+                if (directionOf(request) == plan.sweep) {
+                    taken.add(request);
+                    if (--free == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        for (ElevatorRequest request : taken) {
+            pendingRequests.assign(request, elevator);
+            plan.stops.add(request.getOriginFloor(), plan.sweep);
+            plan.stops.add(request.getDestinationFloor(), plan.sweep);
+        }
+    }
+
+    private static void keepDestinations(CarPlan plan, Iterable<ElevatorRequest> requests) {
+        for (ElevatorRequest request : requests) {
+            plan.stops.add(request.getDestinationFloor(), directionOf(request));
+        }
+    }
+
+    private static int nextTarget(CarPlan plan, double position) {
+        if (plan.sweep == Elevator.Direction.IDLE) {
+            return -1;
+        }
+        int ahead = stopAhead(plan, plan.sweep, position);
+        if (ahead >= 0) {
+            return ahead;
+        }
+        return nearestStop(plan, position);
+    }
+
+    /**
+     * Prochain arrêt du sens donné devant la position (étage courant inclus), ou -1.
+     */
+    private static int stopAhead(CarPlan plan, Elevator.Direction direction, double position) {
+        if (direction == Elevator.Direction.UP) {
+            return plan.stops.nextAbove((int) Math.ceil(position - EPSILON), Elevator.Direction.UP);
+        }
+        return plan.stops.nextBelow((int) Math.floor(position + EPSILON), Elevator.Direction.DOWN);
+    }
+
+    private static int nearestStop(CarPlan plan, double position) {
+        return plan.stops.nearest(position);
+    }
+
+    private static Elevator.Direction directionOf(ElevatorRequest request) {
+        return (request.getDestinationFloor() > request.getOriginFloor())
+                ? Elevator.Direction.UP
+                : Elevator.Direction.DOWN;
+    }
+
+    private static Elevator.Direction opposite(Elevator.Direction direction) {
+        return (direction == Elevator.Direction.UP) ? Elevator.Direction.DOWN : Elevator.Direction.UP;
+    }
+}
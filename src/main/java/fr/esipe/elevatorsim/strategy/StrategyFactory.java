@@ -6,7 +6,7 @@ public final class StrategyFactory {
 
     /**
      * Retourne une stratégie en fonction d'un nom simple.
-     * Exemples: "fcfs", "nearest"
+     * Exemples: "fcfs", "nearest", "scan", "look"
      */
     public static ElevatorStrategy fromName(String name) {
         if (name == null) {
@@ -18,9 +18,27 @@ public final class StrategyFactory {
                 return new FcfsElevatorStrategy();
             case "nearest":
                 return new NearestRequestStrategy();
+            case "scan":
+                return new ScanElevatorStrategy(true);
+            case "look":
+                return new ScanElevatorStrategy(false);
             default:
                 System.out.println("[WARN] Stratégie inconnue '" + name + "', utilisation de 'nearest'.");
                 return new NearestRequestStrategy();
         }
     }
+
+    /**
+     * Retourne un répartiteur de groupe : "cost" (répartition par coût sur toute la flotte),
+     * "destination" (lots de passagers groupés par destination), sinon la stratégie par cabine du même nom derrière l'adaptateur.
+     */
+    public static GroupDispatcher dispatcherFromName(String name) {
+        if (name != null && name.equalsIgnoreCase("cost")) {
+            return new CostBasedDispatcher();
+        }
+        if (name != null && name.equalsIgnoreCase("destination")) {
+            return new DestinationDispatcher();
+        }
+        return new PerElevatorDispatcher(fromName(name));
+    }
 }
@@ -5,6 +5,7 @@ import fr.esipe.elevatorsim.model.Building;
 import fr.esipe.elevatorsim.model.Elevator;
 import fr.esipe.elevatorsim.simulation.Simulation;
 import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
 import fr.esipe.elevatorsim.stats.JsonReportWriter;
 import fr.esipe.elevatorsim.stats.SimulationStats;
 import fr.esipe.elevatorsim.strategy.*;
@@ -19,7 +20,7 @@ public class ConsoleUI {
     private final SimulationConfig cfg;
     private final ConsoleIO io;
     private final Building building;
-    private ElevatorStrategy strategy;
+    private String strategy;   // nom (cf. StrategyFactory.dispatcherFromName), instancié à chaque run
     private String reportPath;
     private final Deque<String> history = new ArrayDeque<>();  // dernieres actions
     private String lastStatus = null;
@@ -33,10 +34,10 @@ public class ConsoleUI {
     private final LastAction lastAction = new LastAction();
 
     public ConsoleUI(Building building, SimulationConfig cfg,
-                     ElevatorStrategy strategy, String reportPath) {
+                     String strategy, String reportPath) {
         this.building = building;
         this.cfg = cfg;
-        this.strategy = strategy;
+        this.strategy = (strategy == null) ? "nearest" : strategy.toLowerCase();
         this.reportPath = reportPath;
         this.io = new ConsoleIO(new Scanner(System.in));
     }
@@ -107,11 +108,19 @@ public class ConsoleUI {
         System.out.println("Courante : " + strategyName());
         System.out.println("1) fcfs");
         System.out.println("2) nearest");
+        System.out.println("3) scan");
+        System.out.println("4) look");
+        System.out.println("5) cost (répartition de groupe)");
+        System.out.println("6) destination (lots par destination)");
         System.out.println("9) Retour");
         int c = io.readInt("> ", 1, 9);
         switch (c) {
-            case 1 -> { strategy = new FcfsElevatorStrategy(); System.out.println("OK: fcfs"); io.pause(); return Menu.STRAT; }
-            case 2 -> { strategy = new NearestRequestStrategy(); System.out.println("OK: nearest"); io.pause(); return Menu.STRAT; }
+            case 1 -> { strategy = "fcfs"; System.out.println("OK: fcfs"); io.pause(); return Menu.STRAT; }
+            case 2 -> { strategy = "nearest"; System.out.println("OK: nearest"); io.pause(); return Menu.STRAT; }
+            case 3 -> { strategy = "scan"; System.out.println("OK: scan"); io.pause(); return Menu.STRAT; }
+            case 4 -> { strategy = "look"; System.out.println("OK: look"); io.pause(); return Menu.STRAT; }
+            case 5 -> { strategy = "cost"; System.out.println("OK: cost"); io.pause(); return Menu.STRAT; }
+            case 6 -> { strategy = "destination"; System.out.println("OK: destination"); io.pause(); return Menu.STRAT; }
             case 9 -> { return Menu.MAIN; }
             default -> { return Menu.STRAT; }
         }
@@ -243,7 +252,7 @@ public class ConsoleUI {
 
     private void runOnce() {
         SimulationClock clock = new SimulationClock(cfg.simulation.dayDurationSeconds, cfg.simulation.tickSeconds);
-        Simulation sim = new Simulation(building, clock, strategy);
+        Simulation sim = new Simulation(building, clock, StrategyFactory.dispatcherFromName(strategy), new SimulationOptions());
         sim.run(); // affiche déjà le résumé détaillé si ton Simulation imprime
 
         SimulationStats stats = sim.getStats();
@@ -254,11 +263,12 @@ public class ConsoleUI {
             fr.esipe.elevatorsim.stats.ResidentsReportJsonWriter.write(
                     reportPath.replace(".json", "-residents.json"), building, sim.getAllRequests());
         } catch (Throwable ignore) {}
+        sim.close();
         System.out.println("Rapports écrits dans " + reportPath + " (+ dérivés).");
     }
 
     private String strategyName() {
-        return (strategy instanceof FcfsElevatorStrategy) ? "fcfs" : "nearest";
+        return strategy;
     }
 
     private static double safe(SupplierD s) {
@@ -0,0 +1,86 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static fr.esipe.elevatorsim.DemoRuns.assertSameRun;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointTest {
+
+    private static final int INTERVAL = 6 * 3600;
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @CsvSource({"nearest, TICK", "look, TICK", "cost, TICK", "destination, TICK", "cost, EVENT", "look, EVENT"})
+    void restoredRunMatchesUninterruptedRun(String strategy, EngineMode mode) {
+        Simulation reference = simulation(strategy, mode, 0);
+        reference.run();
+
+        // Les points de reprise ne changent pas le run qui les écrit
+        Simulation checkpointed = simulation(strategy, mode, INTERVAL);
+        checkpointed.run();
+        assertSameRun(reference, checkpointed);
+
+        Path midday = dir.resolve("checkpoint-" + (2 * INTERVAL) + ".ckpt");
+        assertTrue(Files.exists(midday));
+        Simulation restored = simulation(strategy, mode, 0);
+        restored.restoreCheckpoint(midday);
+        restored.run();
+        assertSameRun(reference, restored);
+    }
+
+    @Test
+    void historyIsArchivedOnceAcrossCheckpoints() throws java.io.IOException {
+        Simulation reference = simulation("look", EngineMode.TICK, 0);
+        reference.run();
+
+        // Petits blocs et déversement précoce : l'archive reçoit des blocs pleins, déversés ou non
+        Simulation checkpointed = DemoRuns.simulation("look", EngineMode.TICK, options -> {
+            options.checkpointIntervalSeconds = 3600;
+            options.checkpointPath = dir.resolve("hourly-%d.ckpt").toString();
+            options.stopLogChunkEvents = 8;
+            options.stopLogMaxInMemoryEvents = 16;
+        });
+        checkpointed.run();
+        assertSameRun(reference, checkpointed);
+        checkpointed.close();
+
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.filter(f -> f.toString().endsWith(".history")).count());
+        }
+        for (int hour : new int[]{9, 13, 20}) {
+            Simulation restored = simulation("look", EngineMode.TICK, 0);
+            restored.restoreCheckpoint(dir.resolve("hourly-" + hour * 3600 + ".ckpt"));
+            restored.run();
+            assertSameRun(reference, restored);
+        }
+    }
+
+    @Test
+    void restoreRejectsAnotherStrategy() {
+        Simulation source = simulation("cost", EngineMode.TICK, INTERVAL);
+        source.run();
+        Simulation other = simulation("look", EngineMode.TICK, 0);
+        assertThrows(IllegalStateException.class,
+                () -> other.restoreCheckpoint(dir.resolve("checkpoint-" + INTERVAL + ".ckpt")));
+    }
+
+    private Simulation simulation(String strategy, EngineMode mode, int checkpointInterval) {
+        return DemoRuns.simulation(strategy, mode, options -> {
+            options.checkpointIntervalSeconds = checkpointInterval;
+            options.checkpointPath = dir.resolve("checkpoint-%d.ckpt").toString();
+        });
+    }
+}
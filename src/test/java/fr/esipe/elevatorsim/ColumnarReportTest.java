@@ -0,0 +1,66 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.simulation.StopEventLog;
+import fr.esipe.elevatorsim.stats.ColumnarReportReader;
+import fr.esipe.elevatorsim.stats.ColumnarReportWriter;
+import fr.esipe.elevatorsim.stats.ColumnarTableWriter;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarReportTest {
+
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void requestColumnsRoundTrip(boolean deflate) {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        Building building = ModelFactory.buildFromConfig(config);
+        SimulationClock clock = new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds);
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        Simulation simulation = new Simulation(building, clock, new NearestRequestStrategy(), options);
+        simulation.run();
+
+        List<ElevatorRequest> requests = simulation.getAllRequests();
+        String dir = tmp.resolve("requests").toString();
+        ColumnarReportWriter.writeRequests(dir, requests, deflate);
+
+        ColumnarReportReader reader = ColumnarReportReader.open(dir);
+        assertEquals(requests.size(), reader.getRowCount());
+        assertEquals(List.of(ColumnarReportWriter.REQUEST_COLUMNS), reader.getColumns());
+
+        IntBuffer origin = reader.column("origin");
+        IntBuffer pickup = reader.column("pickupTime");
+        assertEquals(requests.size(), origin.remaining());
+        for (int i = 0; i < requests.size(); i++) {
+            ElevatorRequest r = requests.get(i);
+            assertEquals(r.getOriginFloor(), origin.get(i));
+            int expected = (r.getPickupTime() == null) ? ColumnarTableWriter.NULL_INT : r.getPickupTime();
+            assertEquals(expected, pickup.get(i));
+        }
+
+        String stopsDir = tmp.resolve("stops").toString();
+        ColumnarReportWriter.writeStops(stopsDir, simulation.getElevatorStopEvents(), deflate);
+        long stops = simulation.getElevatorStopEvents().values().stream().mapToLong(StopEventLog::size).sum();
+        assertEquals(stops, ColumnarReportReader.open(stopsDir).getRowCount());
+        assertEquals(stops, ColumnarReportReader.open(stopsDir).column("onboardAfter").remaining());
+    }
+}
@@ -0,0 +1,79 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Resident;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigLoaderTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void classpathConfigStillLoads() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        assertEquals(10, config.building.floorsCount);
+        assertEquals(2, config.elevators.size());
+        assertFalse(config.residentListPresent);
+    }
+
+    @Test
+    void gzipFileWithResidentListIsStreamedIntoBuilding() throws Exception {
+        Path file = tmp.resolve("scenario.json.gz");
+        int explicit = 5000;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file));
+             Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            w.write("""
+                    {
+                      "building": { "floorsCount": 20, "floorHeight": 3.0 },
+                      "residentList": [
+                    """);
+            for (int i = 0; i < explicit; i++) {
+                int home = 1 + i % 20;
+                w.write((i == 0 ? "" : ",")
+                        + "{\"homeFloor\": " + home + ", \"trips\": ["
+                        + "{\"earliest\": 28800, \"latest\": 30000, \"targetFloor\": 0},"
+                        + "{\"earliest\": 64800, \"latest\": 66000}]}\n");
+            }
+            w.write("""
+                      ],
+                      "residents": { "defaultPerFloor": 1,
+                                     "morning": { "earliest": 28800, "latest": 30000, "targetFloor": 0 } },
+                      "elevators": [ { "id": 1, "capacity": 8, "maxSpeedFloorsPerSecond": 1.0,
+                                       "accelerationFloorsPerSecond2": 0.5, "doorOpenTimeSeconds": 2 } ],
+                      "simulation": { "dayDurationSeconds": 86400, "tickSeconds": 1, "randomSeed": 7 }
+                    }
+                    """);
+        }
+
+        SimulationConfig config = ConfigLoader.load(file.toString());
+        assertTrue(config.residentListPresent);
+        assertEquals(20, config.building.floorsCount);
+
+        Building building = ModelFactory.buildFromConfig(config);
+        assertEquals(20 + explicit, building.getAllResidents().size());
+        assertEquals(1, building.getElevators().size());
+        long withHomeReturn = building.getAllResidents().stream()
+                .filter(r -> r.getTripPlans().size() == 2)
+                .filter(r -> r.getTripPlans().get(1).getTargetFloor() == r.getHomeFloor())
+                .count();
+        assertEquals(explicit, withHomeReturn);
+        assertEquals(20 + explicit, building.getAllResidents().stream().mapToInt(Resident::getId).distinct().count());
+    }
+}
@@ -0,0 +1,76 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.PendingRequestIndex;
+import fr.esipe.elevatorsim.strategy.CostBasedDispatcher;
+import fr.esipe.elevatorsim.strategy.GroupDispatcher;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import fr.esipe.elevatorsim.strategy.PerElevatorDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CostBasedDispatcherTest {
+
+    @Test
+    void requestGoesToTheCheapestCarNotTheFirstOne() {
+        Building building = buildingWithCarsAt(0, 8);
+        ElevatorRequest request = new ElevatorRequest(1, 0, 7, 0);
+
+        dispatch(new CostBasedDispatcher(), building, request);
+        assertSame(building.getElevators().get(1), request.getAssignedElevator());
+        assertTrue(building.getElevators().get(1).getStops().contains(7));
+
+        // L'adaptateur garde le comportement par cabine : la première cabine choisit en premier
+        Building other = buildingWithCarsAt(0, 8);
+        ElevatorRequest same = new ElevatorRequest(1, 0, 7, 0);
+        dispatch(new PerElevatorDispatcher(new NearestRequestStrategy()), other, same);
+        assertSame(other.getElevators().get(0), same.getAssignedElevator());
+    }
+
+    @Test
+    void fullCarsAreSkipped() {
+        Building building = buildingWithCarsAt(0, 9);
+        PendingRequestIndex pending = new PendingRequestIndex(building.getFloorsCount());
+        GroupDispatcher dispatcher = new CostBasedDispatcher();
+
+        // Capacité 2 : les deux premières requêtes au rez-de-chaussée remplissent la cabine 0
+        ElevatorRequest a = new ElevatorRequest(1, 0, 0, 5);
+        ElevatorRequest b = new ElevatorRequest(2, 0, 0, 6);
+        ElevatorRequest c = new ElevatorRequest(3, 0, 0, 7);
+        for (ElevatorRequest r : List.of(a, b, c)) {
+            pending.activate(r);
+        }
+        dispatcher.dispatch(building, building.getElevators(), List.of(a, b, c), pending, 0, 1);
+
+        assertSame(building.getElevators().get(0), a.getAssignedElevator());
+        assertSame(building.getElevators().get(0), b.getAssignedElevator());
+        assertSame(building.getElevators().get(1), c.getAssignedElevator());
+    }
+
+    private static void dispatch(GroupDispatcher dispatcher, Building building, ElevatorRequest request) {
+        PendingRequestIndex pending = new PendingRequestIndex(building.getFloorsCount());
+        pending.activate(request);
+        dispatcher.dispatch(building, building.getElevators(), List.of(request), pending, 0, 1);
+    }
+
+    private static Building buildingWithCarsAt(int... floors) {
+        Building building = new Building(10, 3.0);
+        for (int i = 0; i < floors.length; i++) {
+            Elevator car = new Elevator(i + 1, 2, 1.0, 1.0, 2);
+            if (floors[i] > 0) {
+                car.addStop(floors[i]);
+                while (car.hasStops() || car.isDoorOpen()) {
+                    car.step(1);
+                }
+            }
+            building.addElevator(car);
+        }
+        return building;
+    }
+}
@@ -0,0 +1,110 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.simulation.StopEventLog;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs de la configuration de démo et comparaison complète de deux runs
+ * (stats, requêtes, journaux d'arrêts), pour les tests d'équivalence entre chemins du moteur.
+ */
+final class DemoRuns {
+
+    private DemoRuns() {
+    }
+
+    /**
+     * Simulation de démo, non lancée, sans résumé ; setup ajuste les autres options.
+     */
+    static Simulation simulation(String strategy, EngineMode mode, Consumer<SimulationOptions> setup) {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        return simulation(config, strategy, mode, config.simulation.tickSeconds, setup);
+    }
+
+    /**
+     * Idem avec un pas de tick imposé (celui de la configuration sinon).
+     */
+    static Simulation simulation(String strategy, EngineMode mode, int tickSeconds,
+                                 Consumer<SimulationOptions> setup) {
+        return simulation(ConfigLoader.load("config/demo-config.json"), strategy, mode, tickSeconds, setup);
+    }
+
+    private static Simulation simulation(SimulationConfig config, String strategy, EngineMode mode,
+                                         int tickSeconds, Consumer<SimulationOptions> setup) {
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = mode;
+        options.printSummary = false;
+        setup.accept(options);
+        return new Simulation(
+                ModelFactory.buildFromConfig(config),
+                new SimulationClock(config.simulation.dayDurationSeconds, tickSeconds),
+                StrategyFactory.dispatcherFromName(strategy),
+                options);
+    }
+
+    static void assertSameRun(Simulation expected, Simulation actual) {
+        SimulationStats a = expected.getStats();
+        SimulationStats b = actual.getStats();
+        assertEquals(a.totalRequests, b.totalRequests);
+        assertEquals(a.completedRequests, b.completedRequests);
+        assertEquals(a.averageWait, b.averageWait);
+        assertEquals(a.medianWait, b.medianWait);
+        assertEquals(a.maxWait, b.maxWait);
+        assertEquals(a.stdDevWait, b.stdDevWait);
+        assertEquals(a.p90Wait, b.p90Wait);
+        assertEquals(a.p99Wait, b.p99Wait);
+        assertEquals(a.p999Wait, b.p999Wait);
+        assertEquals(a.averageTravel, b.averageTravel);
+        assertEquals(a.medianTravel, b.medianTravel);
+        assertEquals(a.maxTravel, b.maxTravel);
+        assertEquals(a.stdDevTravel, b.stdDevTravel);
+        assertEquals(a.p90Travel, b.p90Travel);
+        assertEquals(a.p99Travel, b.p99Travel);
+        assertEquals(a.p999Travel, b.p999Travel);
+        assertEquals(a.averageWaitByOriginFloor, b.averageWaitByOriginFloor);
+        assertEquals(a.totalEnergy, b.totalEnergy);
+        assertEquals(a.averageFillRate, b.averageFillRate);
+
+        List<ElevatorRequest> ra = expected.getAllRequests();
+        List<ElevatorRequest> rb = actual.getAllRequests();
+        assertEquals(ra.size(), rb.size());
+        for (int i = 0; i < ra.size(); i++) {
+            assertEquals(ra.get(i).getPickupTime(), rb.get(i).getPickupTime());
+            assertEquals(ra.get(i).getDropoffTime(), rb.get(i).getDropoffTime());
+        }
+
+        Map<Integer, StopEventLog> sa = expected.getElevatorStopEvents();
+        Map<Integer, StopEventLog> sb = actual.getElevatorStopEvents();
+        assertEquals(sa.keySet(), sb.keySet());
+        for (Integer id : sa.keySet()) {
+            assertEquals(sa.get(id).size(), sb.get(id).size());
+            StopEventLog.Cursor ca = sa.get(id).cursor();
+            StopEventLog.Cursor cb = sb.get(id).cursor();
+            while (ca.next()) {
+                assertTrue(cb.next());
+                assertEquals(ca.time(), cb.time());
+                assertEquals(ca.floor(), cb.floor());
+                assertEquals(ca.entered(), cb.entered());
+                assertEquals(ca.left(), cb.left());
+                assertEquals(ca.onboardAfter(), cb.onboardAfter());
+            }
+            assertFalse(cb.next());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.PendingRequestIndex;
+import fr.esipe.elevatorsim.strategy.DestinationDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DestinationDispatcherTest {
+
+    @Test
+    void lobbyBurstIsBatchedByDestinationUpToCapacity() {
+        Building building = new Building(20, 3.0);
+        Elevator first = new Elevator(1, 8, 1.0, 1.0, 2);
+        Elevator second = new Elevator(2, 8, 1.0, 1.0, 2);
+        building.addElevator(first);
+        building.addElevator(second);
+
+        // Hall à 8h : destinations mélangées, 3 appels par étage de 1 à 12
+        List<ElevatorRequest> burst = new ArrayList<>();
+        for (int i = 0; i < 36; i++) {
+            burst.add(new ElevatorRequest(i, 0, 0, 1 + (i * 5) % 12));
+        }
+        PendingRequestIndex pending = new PendingRequestIndex(building.getFloorsCount());
+        burst.forEach(pending::activate);
+
+        new DestinationDispatcher(2).dispatch(building, building.getElevators(), burst, pending, 0, 1);
+
+        // Deux cabines libres : deux lots pleins, chacun dans une zone de destinations
+        assertEquals(16, countAssigned(burst));
+        for (Elevator car : List.of(first, second)) {
+            List<Integer> destinations = pending.awaitingPickup(car).stream()
+                    .map(ElevatorRequest::getDestinationFloor).toList();
+            assertEquals(8, destinations.size());
+            int low = destinations.stream().min(Integer::compare).orElseThrow();
+            int high = destinations.stream().max(Integer::compare).orElseThrow();
+            assertTrue(high - low <= 4, "destinations " + destinations);
+            assertEquals(0, car.currentTarget());
+        }
+        // Le plus ancien appel part dans le premier lot
+        assertSame(first, burst.get(0).getAssignedElevator());
+        assertNull(burst.get(35).getAssignedElevator());
+    }
+
+    private static long countAssigned(List<ElevatorRequest> requests) {
+        return requests.stream().filter(ElevatorRequest::isAssigned).count();
+    }
+}
@@ -0,0 +1,52 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.MotionProfile;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.strategy.EtaEstimator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EtaEstimatorTest {
+
+    @Test
+    void idleCarUsesTheTravelTable() {
+        EtaEstimator eta = new EtaEstimator();
+        Elevator car = new Elevator(1, 8, 2.0, 1.0, 4);
+
+        assertEquals(7.0, eta.travelTime(car, 10), 1e-9);
+        assertEquals(7.0, eta.eta(car, 10), 1e-9);
+        assertEquals(0.0, eta.eta(car, 0), 1e-9);
+    }
+
+    @Test
+    void sweepEtaFollowsStopsAndIsInvalidatedByStopChanges() {
+        EtaEstimator eta = new EtaEstimator();
+        Elevator car = new Elevator(1, 8, 2.0, 1.0, 4);
+        car.setStopOrder(StopOrder.SWEEP);
+        car.addStop(6);
+        car.addStop(2);
+        eta.setTime(0);
+
+        // Arrêt à 2 (trajet de 2 étages), portes 4 s, puis 4 étages jusqu'à 6
+        double toTwo = travel(2);
+        assertEquals(toTwo, eta.eta(car, 2), 1e-9);
+        assertEquals(toTwo + 4 + travel(4), eta.eta(car, 6), 1e-9);
+        // Au-delà du dernier arrêt : le balayage se prolonge depuis 6
+        assertEquals(toTwo + 4 + travel(4) + 4 + travel(3), eta.eta(car, 9), 1e-9);
+
+        // Sans changement d'arrêts, la cabine suit le plan : l'ETA décroît avec le temps
+        car.step(1);
+        eta.setTime(1);
+        assertEquals(toTwo + 4 + travel(4) - 1, eta.eta(car, 6), 1e-9);
+
+        // Arrêt ajouté sur le chemin : plan recalculé
+        car.addStop(4);
+        assertEquals(toTwo - 1 + 4 + travel(2) + 4 + travel(2), eta.eta(car, 6), 1e-9);
+    }
+
+    private static double travel(int floors) {
+        return MotionProfile.plan(0.0, 0.0, floors, 2.0, 1.0).getDuration();
+    }
+}
@@ -0,0 +1,22 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class EventEngineEquivalenceTest {
+
+    @ParameterizedTest
+    @CsvSource({"fcfs, 1", "nearest, 1", "fcfs, 3", "nearest, 7", "scan, 1", "look, 1", "look, 3", "cost, 1", "cost, 3", "destination, 1", "destination, 3"})
+    void eventEngineMatchesTickEngine(String strategy, int tickSeconds) {
+        Simulation tick = DemoRuns.simulation(strategy, EngineMode.TICK, tickSeconds, options -> { });
+        Simulation event = DemoRuns.simulation(strategy, EngineMode.EVENT, tickSeconds, options -> { });
+        tick.run();
+        event.run();
+
+        DemoRuns.assertSameRun(tick, event);
+        tick.close();
+        event.close();
+    }
+}
@@ -0,0 +1,82 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.FleetState;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static fr.esipe.elevatorsim.DemoRuns.assertSameRun;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FleetStateTest {
+
+    @Test
+    void fleetStepMatchesPerCarSteps() {
+        List<Elevator> single = cars();
+        List<Elevator> grouped = cars();
+        FleetState state = FleetState.of(grouped);
+        List<String> arrivalsSingle = new ArrayList<>();
+        List<String> arrivalsGrouped = new ArrayList<>();
+
+        for (int tick = 0; tick < 200; tick++) {
+            if (tick == 40) {
+                // Nouvel arrêt en plein trajet : changement de profil
+                single.get(1).addStop(2);
+                grouped.get(1).addStop(2);
+            }
+            for (Elevator car : single) {
+                car.step(1, (e, floor, offset) -> arrivalsSingle.add(e.getId() + "@" + floor + "+" + offset));
+            }
+            state.step(1, (e, floor, offset) -> arrivalsGrouped.add(e.getId() + "@" + floor + "+" + offset));
+
+            for (int i = 0; i < single.size(); i++) {
+                Elevator a = single.get(i);
+                Elevator b = grouped.get(i);
+                assertEquals(a.getPosition(), b.getPosition());
+                assertEquals(a.getVelocity(), b.getVelocity());
+                assertSame(a.getDirection(), b.getDirection());
+                assertEquals(a.isDoorOpen(), b.isDoorOpen());
+                assertEquals(a.getEnergyConsumed(), b.getEnergyConsumed());
+            }
+        }
+        assertEquals(arrivalsSingle, arrivalsGrouped);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"nearest, TICK", "look, TICK", "cost, TICK", "destination, TICK", "cost, EVENT"})
+    void fleetStateRunMatchesObjectRun(String strategy, EngineMode mode) {
+        Simulation objects = simulation(strategy, mode, false);
+        objects.run();
+        Simulation arrays = simulation(strategy, mode, true);
+        arrays.run();
+
+        assertSameRun(objects, arrays);
+    }
+
+    private static List<Elevator> cars() {
+        List<Elevator> cars = new ArrayList<>();
+        int[][] routes = {{10, 3, 12, 0}, {25, 0}, {1, 2, 3}, {}, {40, 8, 41}};
+        for (int i = 0; i < routes.length; i++) {
+            Elevator car = new Elevator(i + 1, 8, 1.0 + 0.25 * i, 0.6 + 0.1 * i, 3);
+            for (int floor : routes[i]) {
+                car.addStop(floor);
+            }
+            for (int p = 0; p < i; p++) {
+                car.passengerEnters();
+            }
+            cars.add(car);
+        }
+        return cars;
+    }
+
+    private static Simulation simulation(String strategy, EngineMode mode, boolean fleetState) {
+        return DemoRuns.simulation(strategy, mode, options -> options.fleetState = fleetState);
+    }
+}
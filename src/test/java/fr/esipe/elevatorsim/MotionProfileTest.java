@@ -0,0 +1,62 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.MotionProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MotionProfileTest {
+
+    @Test
+    void trapezoidAndReversalDurations() {
+        // 10 étages, vmax 2, a 1 : 2 s d'accélération, 3 s de palier, 2 s de freinage
+        MotionProfile trapezoid = MotionProfile.plan(0.0, 0.0, 10, 2.0, 1.0);
+        assertEquals(7.0, trapezoid.getDuration(), 1e-9);
+        assertEquals(2.0, trapezoid.positionAt(2.0), 1e-9);
+        assertEquals(2.0, trapezoid.velocityAt(4.0), 1e-9);
+        assertEquals(10.0, trapezoid.upwardDistance(0.0, 7.0), 1e-9);
+
+        // 1 étage : triangle, pic à 1 étage/s
+        assertEquals(2.0, MotionProfile.plan(0.0, 0.0, 1, 2.0, 1.0).getDuration(), 1e-9);
+
+        // Cabine qui monte à 2 étages/s alors que la cible est en dessous : freinage (2 s, +2 étages)
+        // puis 7 étages vers le bas
+        MotionProfile reversal = MotionProfile.plan(5.0, 2.0, 0, 2.0, 1.0);
+        assertEquals(7.0, reversal.positionAt(2.0), 1e-9);
+        assertEquals(2.0 + 2.0 + 1.5 + 2.0, reversal.getDuration(), 1e-9);
+        assertEquals(2.0, reversal.upwardDistance(0.0, reversal.getDuration()), 1e-9);
+        assertEquals(0.0, reversal.positionAt(100.0), 1e-9);
+    }
+
+    @Test
+    void arrivalsAndEnergyDoNotDependOnTickSize() {
+        List<Double> reference = null;
+        double referenceEnergy = 0.0;
+        for (int tick : new int[]{1, 7, 30}) {
+            Elevator elevator = new Elevator(1, 8, 1.5, 0.8, 4);
+            for (int floor : new int[]{10, 3, 12, 0}) {
+                elevator.addStop(floor);
+            }
+            List<Double> arrivals = new ArrayList<>();
+            int[] time = {0};
+            for (; time[0] < 120; time[0] += tick) {
+                elevator.step(tick, (car, floor, offset) -> arrivals.add(time[0] + offset));
+            }
+            if (reference == null) {
+                reference = arrivals;
+                referenceEnergy = elevator.getEnergyConsumed();
+                continue;
+            }
+            assertEquals(reference.size(), arrivals.size());
+            for (int i = 0; i < arrivals.size(); i++) {
+                assertEquals(reference.get(i), arrivals.get(i), 1e-6);
+            }
+            assertEquals(referenceEnergy, elevator.getEnergyConsumed(), 1e-6);
+        }
+        assertEquals(4, reference.size());
+    }
+}
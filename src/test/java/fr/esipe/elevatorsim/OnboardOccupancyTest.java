@@ -0,0 +1,64 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OnboardOccupancyTest {
+
+    /**
+     * Le taux d'occupation calculé avec l'index des passagers à bord doit être celui
+     * qu'obtenait l'ancien parcours de toutes les requêtes à chaque tick,
+     * reconstruit ici à partir des heures de pickup/dropoff.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"fcfs", "nearest"})
+    void averageFillRateMatchesFullScan(String strategy) {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        Building building = ModelFactory.buildFromConfig(config);
+        int tick = config.simulation.tickSeconds;
+        int day = config.simulation.dayDurationSeconds;
+        SimulationClock clock = new SimulationClock(day, tick);
+        Simulation simulation = new Simulation(building, clock, StrategyFactory.fromName(strategy));
+        simulation.run();
+
+        // Passagers à bord par ascenseur et par tick : présent du tick de pickup au tick de dropoff exclu
+        int ticks = day / tick;
+        long occupancySum = 0;
+        long capacitySum = 0;
+        for (Elevator elevator : building.getElevators()) {
+            int[] delta = new int[ticks + 1];
+            for (ElevatorRequest r : simulation.getAllRequests()) {
+                if (r.getAssignedElevator() != elevator || !r.isPickedUp()) continue;
+                int from = (r.getPickupTime() - tick) / tick;
+                int to = r.isCompleted() ? (r.getDropoffTime() - tick) / tick : ticks;
+                delta[from]++;
+                delta[to]--;
+            }
+            int onboard = 0;
+            for (int t = 0; t < ticks; t++) {
+                onboard += delta[t];
+                if (onboard > 0) {
+                    occupancySum += onboard;
+                    capacitySum += elevator.getCapacity();
+                }
+            }
+            assertEquals(onboard, elevator.getPassengersOnboard());
+        }
+
+        double expected = (capacitySum == 0) ? 0.0 : (double) occupancySum / capacitySum;
+        assertTrue(expected > 0.0);
+        assertEquals(expected, simulation.getStats().averageFillRate);
+    }
+}
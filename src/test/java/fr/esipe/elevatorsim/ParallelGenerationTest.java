@@ -0,0 +1,62 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.model.Resident;
+import fr.esipe.elevatorsim.model.ResidentTripPlan;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelGenerationTest {
+
+    @Test
+    void generationDoesNotDependOnThreadCount() throws Exception {
+        SimulationConfig config = ScenarioPreset.LARGE.generate();
+        String one = fingerprint(config, 1);
+        assertEquals(one, fingerprint(config, 4));
+        assertEquals(one, fingerprint(config, 13));
+    }
+
+    /**
+     * Résidents, plans et requêtes générés dans un pool de la taille donnée.
+     */
+    private static String fingerprint(SimulationConfig config, int threads) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> {
+                Building building = ModelFactory.buildFromConfig(config);
+                SimulationOptions options = new SimulationOptions();
+                options.printSummary = false;
+                Simulation simulation = new Simulation(building,
+                        new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                        new NearestRequestStrategy(), options);
+
+                StringBuilder sb = new StringBuilder();
+                for (Resident r : building.getAllResidents()) {
+                    sb.append(r.getId()).append('@').append(r.getHomeFloor());
+                    for (ResidentTripPlan p : r.getTripPlans()) {
+                        sb.append(':').append(p.getEarliestDepartureTime()).append('>').append(p.getTargetFloor());
+                    }
+                    sb.append('\n');
+                }
+                for (ElevatorRequest q : simulation.getAllRequests()) {
+                    sb.append(q.getResidentId()).append(',').append(q.getRequestTime()).append(',')
+                            .append(q.getOriginFloor()).append(',').append(q.getDestinationFloor()).append('\n');
+                }
+                return sb.toString();
+            }).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
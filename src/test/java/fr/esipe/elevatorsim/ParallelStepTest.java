@@ -0,0 +1,27 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static fr.esipe.elevatorsim.DemoRuns.assertSameRun;
+
+class ParallelStepTest {
+
+    @ParameterizedTest
+    @CsvSource({"fcfs, TICK", "nearest, TICK", "look, TICK", "cost, TICK", "destination, TICK",
+            "nearest, EVENT", "cost, EVENT"})
+    void parallelStepMatchesSequentialStep(String strategy, EngineMode mode) {
+        Simulation sequential = simulation(strategy, mode, 0);
+        sequential.run();
+        Simulation parallel = simulation(strategy, mode, 1);    // toujours parallèle
+        parallel.run();
+
+        assertSameRun(sequential, parallel);
+    }
+
+    private static Simulation simulation(String strategy, EngineMode mode, int parallelStepMinFleet) {
+        return DemoRuns.simulation(strategy, mode, options -> options.parallelStepMinFleet = parallelStepMinFleet);
+    }
+}
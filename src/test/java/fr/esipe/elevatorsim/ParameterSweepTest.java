@@ -0,0 +1,57 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.ParameterSweep;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.SweepResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterSweepTest {
+
+    @Test
+    void gridIsRunInOrderAndDoesNotDependOnThreadCount() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = EngineMode.EVENT;
+        ParameterSweep sweep = new ParameterSweep(config, options);
+        sweep.elevatorCounts = List.of(1, 2);
+        sweep.strategies = List.of("nearest", "look");
+
+        List<SweepResult> sequential = sweep.run(1);
+        List<SweepResult> parallel = sweep.run(4);
+
+        // Ordre de la grille : nombre d'ascenseurs, puis stratégie
+        assertEquals(4, sequential.size());
+        int[] counts = {1, 1, 2, 2};
+        String[] strategies = {"nearest", "look", "nearest", "look"};
+        for (int i = 0; i < 4; i++) {
+            assertEquals(counts[i], sequential.get(i).elevators);
+            assertEquals(strategies[i], sequential.get(i).strategy);
+            assertEquals(config.elevators.get(0).capacity, sequential.get(i).capacity);
+            assertEquals(counts[i], parallel.get(i).elevators);
+            assertEquals(strategies[i], parallel.get(i).strategy);
+            assertEquals(sequential.get(i).metrics, parallel.get(i).metrics);
+        }
+        assertNotEquals(sequential.get(0).metrics, sequential.get(2).metrics);
+    }
+
+    @Test
+    void rangesAcceptTwoOrThreeParts() {
+        assertEquals(List.of(1, 2, 3), ParameterSweep.parseIntRange("1:3"));
+        assertEquals(List.of(2, 4, 6), ParameterSweep.parseIntRange("2:6:2"));
+        assertEquals(List.of(0.5, 1.0, 1.5), ParameterSweep.parseDoubleRange("0.5:1.5:0.5"));
+
+        // Pas de pas implicite pour les réels, et jamais plus de trois parties
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parseDoubleRange("0.5:2"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parseDoubleRange("0.5:2:0.5:9"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.parseIntRange("1:6:2:9"));
+    }
+}
@@ -0,0 +1,133 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.PendingRequestIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PendingRequestIndexTest {
+
+    private static final int FLOORS = 10;
+
+    @Test
+    void nearestPrefersCloserThenOlderThenFirstActivated() {
+        // Plus proche d'abord, même si plus récente
+        PendingRequestIndex index = new PendingRequestIndex(FLOORS);
+        activate(index, 8, 5);
+        ElevatorRequest near = activate(index, 4, 6);
+        assertSame(near, index.nearestUnassigned(5));
+
+        // À égale distance : la plus ancienne, au-dessus comme en dessous
+        index = new PendingRequestIndex(FLOORS);
+        ElevatorRequest above = activate(index, 7, 10);
+        activate(index, 3, 20);
+        assertSame(above, index.nearestUnassigned(5));
+
+        index = new PendingRequestIndex(FLOORS);
+        ElevatorRequest below = activate(index, 3, 10);
+        activate(index, 7, 20);
+        assertSame(below, index.nearestUnassigned(5));
+
+        // Même heure : la première activée
+        index = new PendingRequestIndex(FLOORS);
+        ElevatorRequest first = activate(index, 7, 10);
+        activate(index, 3, 10);
+        assertSame(first, index.nearestUnassigned(5));
+
+        index = new PendingRequestIndex(FLOORS);
+        first = activate(index, 3, 10);
+        activate(index, 7, 10);
+        assertSame(first, index.nearestUnassigned(5));
+
+        // L'étage de la cabine lui-même passe avant tout le reste
+        index = new PendingRequestIndex(FLOORS);
+        activate(index, 4, 1);
+        ElevatorRequest here = activate(index, 5, 2);
+        assertSame(here, index.nearestUnassigned(5));
+    }
+
+    @Test
+    void oldestSkipsAssignedRequests() {
+        PendingRequestIndex index = new PendingRequestIndex(FLOORS);
+        Elevator car = car(1);
+        ElevatorRequest r1 = activate(index, 1, 10);
+        ElevatorRequest r2 = activate(index, 2, 10);
+        ElevatorRequest r3 = activate(index, 3, 11);
+        ElevatorRequest r4 = activate(index, 4, 12);
+
+        assertSame(r1, index.oldestUnassigned());
+        index.assign(r1, car);
+        index.assign(r3, car);
+        assertSame(r2, index.oldestUnassigned());
+        index.assign(r2, car);
+        assertSame(r4, index.oldestUnassigned());
+        assertEquals(1, index.unassignedCount());
+        assertEquals(List.of(r1, r3, r2), List.copyOf(index.awaitingPickup(car)));
+
+        index.assign(r4, car);
+        assertNull(index.oldestUnassigned());
+        assertNull(index.nearestUnassigned(0));
+        assertFalse(index.hasUnassigned());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void reassignmentMovesTheRequestBetweenCars() {
+        PendingRequestIndex index = new PendingRequestIndex(FLOORS);
+        Elevator a = car(1);
+        Elevator b = car(2);
+        ElevatorRequest request = activate(index, 6, 10);
+
+        index.assign(request, a);
+        index.assign(request, b);
+        assertSame(b, request.getAssignedElevator());
+        assertTrue(index.awaitingPickup(a).isEmpty());
+        assertEquals(List.of(request), List.copyOf(index.awaitingPickup(b)));
+        assertTrue(index.unassignedAt(6).isEmpty());
+
+        index.pickedUp(request, 15);
+        assertThrows(IllegalStateException.class, () -> index.assign(request, a));
+    }
+
+    @Test
+    void dropoffRemovesTheRequestEverywhere() {
+        PendingRequestIndex index = new PendingRequestIndex(FLOORS);
+        Elevator car = car(1);
+        ElevatorRequest request = activate(index, 2, 10);
+        ElevatorRequest other = activate(index, 2, 11);
+
+        index.assign(request, car);
+        index.pickedUp(request, 12);
+        assertTrue(index.awaitingPickup(car).isEmpty());
+        assertEquals(List.of(request), List.copyOf(index.onboard(car)));
+        assertEquals(1, index.onboardCount(car));
+
+        index.droppedOff(request, 30);
+        assertEquals(30, request.getDropoffTime());
+        assertTrue(index.onboard(car).isEmpty());
+        assertTrue(index.awaitingPickup(car).isEmpty());
+        assertEquals(0, index.onboardCount(car));
+        assertEquals(List.of(other), List.copyOf(index.unassigned()));
+        assertEquals(List.of(other), List.copyOf(index.unassignedAt(2)));
+        assertEquals(1, index.size());
+    }
+
+    private static ElevatorRequest activate(PendingRequestIndex index, int origin, int time) {
+        ElevatorRequest request = new ElevatorRequest(0, time, origin, (origin == 0) ? 1 : 0);
+        index.activate(request);
+        return request;
+    }
+
+    private static Elevator car(int id) {
+        return new Elevator(id, 8, 1.0, 0.5, 2);
+    }
+}
@@ -0,0 +1,40 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.ReplicationRunner;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.ReplicationSummary;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationRunnerTest {
+
+    @Test
+    void summaryDoesNotDependOnThreadCount() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = EngineMode.EVENT;
+        ReplicationRunner runner = new ReplicationRunner(config, NearestRequestStrategy::new, options);
+
+        ReplicationSummary sequential = runner.run(6, 123L, 1);
+        ReplicationSummary parallel = runner.run(6, 123L, 3);
+
+        assertEquals(sequential.metrics.keySet(), parallel.metrics.keySet());
+        sequential.metrics.forEach((name, m) -> {
+            ReplicationSummary.MetricSummary p = parallel.metrics.get(name);
+            assertEquals(m.mean, p.mean, name);
+            assertEquals(m.stdDev, p.stdDev, name);
+            assertEquals(m.ci95Low, p.ci95Low, name);
+            assertEquals(m.ci95High, p.ci95High, name);
+        });
+
+        ReplicationSummary.MetricSummary wait = sequential.metrics.get("averageWait");
+        assertTrue(wait.ci95Low <= wait.mean && wait.mean <= wait.ci95High);
+        assertTrue(wait.stdDev > 0.0);
+    }
+}
@@ -0,0 +1,44 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanStrategyTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"scan", "look"})
+    void collectiveControlServesEveryRequestAndBeatsNearest(String strategy) {
+        SimulationStats collective = run(strategy);
+        SimulationStats nearest = run("nearest");
+
+        assertEquals(collective.totalRequests, collective.completedRequests);
+        assertTrue(collective.averageWait < nearest.averageWait,
+                strategy + " " + collective.averageWait + " vs nearest " + nearest.averageWait);
+    }
+
+    private static SimulationStats run(String strategy) {
+        SimulationConfig config = ScenarioPreset.MEDIUM.generate();
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = EngineMode.EVENT;
+        Simulation simulation = new Simulation(
+                ModelFactory.buildFromConfig(config),
+                new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                StrategyFactory.fromName(strategy),
+                options);
+        simulation.run();
+        simulation.close();
+        return simulation.getStats();
+    }
+}
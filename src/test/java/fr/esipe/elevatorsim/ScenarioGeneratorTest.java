@@ -0,0 +1,52 @@
+package fr.esipe.elevatorsim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioGenerator;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.Resident;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ScenarioGeneratorTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void generatedScenarioIsAValidConfig() throws Exception {
+        ScenarioGenerator generator = ScenarioPreset.MEDIUM.generator();
+        generator.tripsPerResident = 4;
+        Path file = tmp.resolve("medium.json");
+        generator.write(file.toString());
+
+        SimulationConfig config = new ObjectMapper().readValue(file.toFile(), SimulationConfig.class);
+        assertNull(config.residents.morning);
+        assertEquals(40, config.building.floorsCount);
+        assertEquals(8, config.elevators.size());
+
+        Building building = ModelFactory.buildFromConfig(config);
+        int expected = config.residents.perFloor.stream().mapToInt(Integer::intValue).sum();
+        assertEquals(expected, building.getAllResidents().size());
+        for (Resident r : building.getAllResidents()) {
+            assertEquals(4, r.getTripPlans().size());
+            assertEquals(0, r.getTripPlans().get(0).getTargetFloor());
+            assertEquals(r.getHomeFloor(), r.getTripPlans().get(3).getTargetFloor());
+        }
+    }
+
+    @Test
+    void generationIsDeterministic() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String a = mapper.writeValueAsString(ScenarioPreset.LARGE.generate());
+        String b = mapper.writeValueAsString(ScenarioPreset.LARGE.generate());
+        assertEquals(a, b);
+    }
+}
@@ -0,0 +1,89 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.ScenarioPreset;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Passage à l'échelle : temps réel et pic de tas pour chaque préréglage (moteur événementiel).
+ * Long : lancé seulement avec mvn test -Dtest=ScenarioScalingTest -Dscaling=true ;
+ * résultats dans target/scaling-report.csv.
+ */
+@EnabledIfSystemProperty(named = "scaling", matches = "true")
+class ScenarioScalingTest {
+
+    @Test
+    void recordWallTimeAndPeakHeapPerPreset() throws IOException {
+        Path out = Path.of("target", "scaling-report.csv");
+        Files.createDirectories(out.getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out))) {
+            csv.println("preset,floors,residents,elevators,requests,setupMillis,runMillis,peakHeapMB");
+            for (ScenarioPreset preset : ScenarioPreset.values()) {
+                System.gc();
+                resetPeakHeap();
+
+                long t0 = System.nanoTime();
+                SimulationConfig config = preset.generate();
+                Building building = ModelFactory.buildFromConfig(config);
+                SimulationOptions options = new SimulationOptions();
+                options.engineMode = EngineMode.EVENT;
+                options.printSummary = false;
+                Simulation simulation = new Simulation(building,
+                        new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                        new NearestRequestStrategy(), options);
+                long t1 = System.nanoTime();
+                simulation.run();
+                SimulationStats stats = simulation.getStats();
+                long t2 = System.nanoTime();
+                simulation.close();
+
+                String line = String.format(java.util.Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%.1f",
+                        preset.name().toLowerCase(), config.building.floorsCount,
+                        building.getAllResidents().size(), building.getElevators().size(),
+                        stats.totalRequests, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000,
+                        peakHeapBytes() / (1024.0 * 1024.0));
+                csv.println(line);
+                csv.flush();
+                System.out.println("[scaling] " + line);
+                assertTrue(stats.totalRequests > 0);
+            }
+        }
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,110 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.Building;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.ElevatorStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static fr.esipe.elevatorsim.DemoRuns.assertSameRun;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationForkTest {
+
+    private static final int FORK_TIME = 8 * 3600 + 600;
+
+    @ParameterizedTest
+    @CsvSource({"nearest, TICK", "look, TICK", "cost, TICK", "destination, TICK", "cost, EVENT"})
+    void forksFinishLikeAnUninterruptedRun(String strategy, EngineMode mode) {
+        Simulation reference = simulation(strategy, mode);
+        reference.run();
+
+        Simulation prefix = simulation(strategy, mode);
+        prefix.runUntil(FORK_TIME);
+        assertEquals(FORK_TIME, prefix.getClock().getCurrentTimeSeconds());
+        Simulation first = prefix.fork();
+        Simulation second = prefix.fork();
+        Simulation diverged = prefix.fork();
+        Building divergedBuilding = diverged.getBuilding();
+        assertTrue(divergedBuilding.removeElevatorById(divergedBuilding.getElevators().get(0).getId()));
+
+        // Historique partagé, requêtes actives copiées
+        List<ElevatorRequest> original = prefix.getAllRequests();
+        for (int i = 0; i < original.size(); i++) {
+            ElevatorRequest request = original.get(i);
+            if (request.isCompleted()) {
+                assertSame(request, first.getAllRequests().get(i));
+            } else if (request.getRequestTime() <= FORK_TIME) {
+                assertNotSame(request, first.getAllRequests().get(i));
+            }
+        }
+
+        // Les branches en parallèle, l'une avec une cabine hors service : les autres n'en voient rien
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(prefix::run),
+                CompletableFuture.runAsync(first::run),
+                CompletableFuture.runAsync(second::run),
+                CompletableFuture.runAsync(diverged::run)).join();
+
+        for (Simulation branch : new Simulation[]{prefix, first, second}) {
+            assertSameRun(reference, branch);
+        }
+        SimulationStats expected = reference.getStats();
+        SimulationStats actual = diverged.getStats();
+        assertNotEquals(expected.totalEnergy, actual.totalEnergy);
+        assertNotEquals(expected.averageWait, actual.averageWait);
+    }
+
+    @Test
+    void forkIsRejectedWhileRunning() {
+        Simulation[] simulation = new Simulation[1];
+        int[] rejected = {0};
+        ElevatorStrategy forkingStrategy = (building, elevator, pending, time, tick) -> {
+            assertThrows(IllegalStateException.class, simulation[0]::fork);
+            rejected[0]++;
+        };
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        simulation[0] = new Simulation(ModelFactory.buildFromConfig(config),
+                new SimulationClock(60, config.simulation.tickSeconds), forkingStrategy, options);
+        simulation[0].run();
+        assertTrue(rejected[0] > 0);
+    }
+
+    @Test
+    void forkNeedsAForkableStrategy() {
+        ElevatorStrategy lambda = (building, elevator, pending, time, tick) -> { };
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        Simulation simulation = new Simulation(ModelFactory.buildFromConfig(config),
+                new SimulationClock(60, config.simulation.tickSeconds), lambda, options);
+        simulation.runUntil(30);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, simulation::fork);
+        assertTrue(e.getMessage().contains(lambda.getClass().getName()));
+        simulation.close();
+    }
+
+    private static Simulation simulation(String strategy, EngineMode mode) {
+        return DemoRuns.simulation(strategy, mode, options -> { });
+    }
+}
@@ -0,0 +1,86 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.simulation.SimulationProfiler;
+import fr.esipe.elevatorsim.simulation.StopEventLog;
+import fr.esipe.elevatorsim.strategy.CostBasedDispatcher;
+import fr.esipe.elevatorsim.strategy.NearestRequestStrategy;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationProfilerTest {
+
+    @Test
+    void countersMatchTheRun() throws Exception {
+        for (EngineMode mode : EngineMode.values()) {
+            SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+            SimulationOptions options = new SimulationOptions();
+            options.printSummary = false;
+            options.profile = true;
+            options.engineMode = mode;
+            SimulationClock clock = new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds);
+            Simulation simulation = new Simulation(ModelFactory.buildFromConfig(config), clock,
+                    new NearestRequestStrategy(), options);
+            simulation.run();
+
+            SimulationProfiler profiler = simulation.getProfiler();
+            int ticks = (config.simulation.dayDurationSeconds + config.simulation.tickSeconds - 1)
+                    / config.simulation.tickSeconds;
+            assertEquals(ticks, profiler.getSimulatedTicks());
+            long stops = simulation.getElevatorStopEvents().values().stream().mapToLong(StopEventLog::size).sum();
+            assertEquals(stops, profiler.getDoorOpenings());
+            if (mode == EngineMode.TICK) {
+                // Une stratégie par cabine est appelée pour chaque cabine à chaque tick
+                assertEquals((long) ticks * config.elevators.size(), profiler.getStrategyInvocations());
+            } else {
+                assertTrue(profiler.getStrategyInvocations() > 0);
+            }
+            assertTrue(profiler.getTicksPerWallSecond() > 0);
+
+            ObjectName pattern = new ObjectName("fr.esipe.elevatorsim:type=SimulationProfiler,*");
+            assertFalse(ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).isEmpty());
+            simulation.close();
+            assertTrue(ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null).isEmpty());
+        }
+    }
+
+    @Test
+    void groupDispatcherIsCountedOncePerTick() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        options.profile = true;
+        SimulationClock clock = new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds);
+        Simulation simulation = new Simulation(ModelFactory.buildFromConfig(config), clock,
+                new CostBasedDispatcher(), options);
+        simulation.run();
+
+        SimulationProfiler profiler = simulation.getProfiler();
+        assertEquals(profiler.getSimulatedTicks(), profiler.getStrategyInvocations());
+        simulation.close();
+    }
+
+    @Test
+    void disabledByDefault() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.printSummary = false;
+        Simulation simulation = new Simulation(ModelFactory.buildFromConfig(config),
+                new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                new NearestRequestStrategy(), options);
+        assertNull(simulation.getProfiler());
+    }
+}
@@ -0,0 +1,95 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.simulation.StopEventLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StopEventLogTest {
+
+    @Test
+    void spilledChunksAreReadBackInOrder() {
+        int events = 10_007;
+        try (StopEventLog log = new StopEventLog(100, 16)) {
+            for (int i = 0; i < events; i++) {
+                log.add(i, i % 11, i % 3, i % 5, i % 7);
+            }
+            assertEquals(events, log.size());
+            assertTrue(log.spilledEvents() > 0);
+            assertTrue(events - log.spilledEvents() <= 100 + 16);
+
+            StopEventLog.Cursor c = log.cursor();
+            for (int i = 0; i < events; i++) {
+                assertTrue(c.next());
+                assertEquals(i, c.time());
+                assertEquals(i % 11, c.floor());
+                assertEquals(i % 3, c.entered());
+                assertEquals(i % 5, c.left());
+                assertEquals(i % 7, c.onboardAfter());
+            }
+            assertFalse(c.next());
+
+            long[] sum = {0};
+            log.forEach((time, floor, entered, left, onboardAfter) -> sum[0] += time);
+            assertEquals((long) events * (events - 1) / 2, sum[0]);
+        }
+    }
+
+    @Test
+    void forkSharesHistoryAndDivergesAfterwards() {
+        StopEventLog log = new StopEventLog(100, 16);
+        for (int i = 0; i < 1_000; i++) {
+            log.add(i, 0, 0, 0, 0);
+        }
+        StopEventLog fork = log.fork();
+        StopEventLog forkOfFork;
+        for (int i = 1_000; i < 2_000; i++) {
+            log.add(i, 1, 0, 0, 0);
+            fork.add(i, 2, 0, 0, 0);
+        }
+        forkOfFork = fork.fork();
+        // Le journal d'origine fermé, ses fichiers restent lisibles par les copies
+        log.close();
+        fork.add(2_000, 2, 0, 0, 0);
+
+        for (StopEventLog copy : new StopEventLog[]{fork, forkOfFork}) {
+            StopEventLog.Cursor c = copy.cursor();
+            int i = 0;
+            while (c.next()) {
+                assertEquals(i, c.time());
+                assertEquals(i < 1_000 ? 0 : 2, c.floor());
+                i++;
+            }
+            assertEquals(copy.size(), i);
+        }
+        assertEquals(2_001, fork.size());
+        assertEquals(2_000, forkOfFork.size());
+        fork.close();
+        forkOfFork.close();
+    }
+
+    @Test
+    void cursorFromSkipsToTheRequestedEvent() {
+        StopEventLog log = new StopEventLog(100, 16);
+        for (int i = 0; i < 500; i++) {
+            log.add(i, 0, 0, 0, 0);
+        }
+        StopEventLog fork = log.fork();     // préfixe déversé hérité + blocs en mémoire
+        for (int i = 500; i < 1_000; i++) {
+            fork.add(i, 0, 0, 0, 0);
+        }
+        assertEquals(0, fork.sealedEvents() % 16);
+        assertEquals(fork.size() - fork.sealedEvents(), 1_000 % 16);
+
+        for (long from : new long[]{0, 15, 16, 17, 480, 500, 999}) {
+            StopEventLog.Cursor c = fork.cursor(from);
+            assertTrue(c.next());
+            assertEquals(from, c.time());
+        }
+        assertFalse(fork.cursor(1_000).next());
+        log.close();
+        fork.close();
+    }
+}
@@ -0,0 +1,82 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.model.Elevator;
+import fr.esipe.elevatorsim.model.StopOrder;
+import fr.esipe.elevatorsim.model.StopSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StopSetTest {
+
+    @Test
+    void nextAboveAndBelowCrossWordBoundaries() {
+        StopSet stops = new StopSet(StopOrder.SWEEP);
+        stops.add(3);
+        stops.add(64, Elevator.Direction.UP);
+        stops.add(200, Elevator.Direction.DOWN);
+
+        assertEquals(3, stops.nextAbove(0));
+        assertEquals(64, stops.nextAbove(4));
+        assertEquals(200, stops.nextAbove(65));
+        assertEquals(-1, stops.nextAbove(201));
+        assertEquals(-1, stops.nextAbove(65, Elevator.Direction.UP));
+        assertEquals(200, stops.nextBelow(1000));
+        assertEquals(64, stops.nextBelow(199));
+        assertEquals(3, stops.nextBelow(199, Elevator.Direction.DOWN));
+        assertEquals(-1, stops.nextBelow(2));
+
+        assertTrue(stops.contains(64));
+        assertFalse(stops.contains(64, Elevator.Direction.DOWN));
+        assertFalse(stops.add(3));
+        assertEquals(3, stops.size());
+
+        assertTrue(stops.remove(3, Elevator.Direction.UP));
+        assertTrue(stops.contains(3, Elevator.Direction.DOWN));
+        assertEquals(3, stops.size());
+        stops.remove(3);
+        assertEquals(2, stops.size());
+        assertFalse(stops.isEmpty(Elevator.Direction.UP));
+        assertFalse(stops.isEmpty(Elevator.Direction.DOWN));
+    }
+
+    @Test
+    void fifoKeepsInsertionOrderWithoutDuplicates() {
+        StopSet stops = new StopSet(StopOrder.FIFO);
+        int[] floors = {7, 2, 9, 2, 15, 0, 11, 4, 30, 1, 8, 12};
+        for (int floor : floors) {
+            stops.add(floor);
+        }
+        stops.remove(15);
+        stops.add(15);
+
+        List<Integer> served = new ArrayList<>();
+        while (!stops.isEmpty()) {
+            int next = stops.peek(0.0, Elevator.Direction.IDLE);
+            served.add(next);
+            stops.remove(next);
+        }
+        assertEquals(List.of(7, 2, 9, 0, 11, 4, 30, 1, 8, 12, 15), served);
+    }
+
+    @Test
+    void sweepServesAheadThenReverses() {
+        StopSet stops = new StopSet(StopOrder.SWEEP);
+        stops.add(2);
+        stops.add(6);
+        stops.add(9);
+
+        assertEquals(6, stops.peek(4.5, Elevator.Direction.UP));
+        assertEquals(2, stops.peek(4.5, Elevator.Direction.DOWN));
+        assertEquals(9, stops.peek(9.5, Elevator.Direction.UP));
+        assertEquals(6, stops.peek(5.0, Elevator.Direction.IDLE));
+
+        stops.setOrder(StopOrder.FIFO);
+        assertEquals(2, stops.peek(8.0, Elevator.Direction.UP));
+    }
+}
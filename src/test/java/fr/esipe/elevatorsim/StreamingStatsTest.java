@@ -0,0 +1,74 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.stats.RunningStats;
+import fr.esipe.elevatorsim.stats.SimulationStats;
+import fr.esipe.elevatorsim.strategy.FcfsElevatorStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingStatsTest {
+
+    @Test
+    void streamingStatsMatchSortBasedComputation() {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        Simulation simulation = new Simulation(
+                ModelFactory.buildFromConfig(config),
+                new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                new FcfsElevatorStrategy());
+        simulation.run();
+        SimulationStats s = simulation.getStats();
+
+        List<Integer> waits = new ArrayList<>();
+        List<Integer> travels = new ArrayList<>();
+        for (ElevatorRequest r : simulation.getAllRequests()) {
+            if (r.isPickedUp()) waits.add(r.getPickupTime() - r.getRequestTime());
+            if (r.isCompleted()) travels.add(r.getDropoffTime() - r.getPickupTime());
+        }
+        Collections.sort(waits);
+        Collections.sort(travels);
+
+        assertEquals(travels.size(), s.completedRequests);
+        assertEquals(waits.stream().mapToInt(Integer::intValue).average().orElse(0), s.averageWait);
+        assertEquals(median(waits), s.medianWait);
+        assertEquals(waits.get(waits.size() - 1), s.maxWait);
+        assertEquals(travels.stream().mapToInt(Integer::intValue).average().orElse(0), s.averageTravel);
+        assertEquals(median(travels), s.medianTravel);
+        assertEquals(travels.get(travels.size() - 1), s.maxTravel);
+        assertEquals((double) waits.get((int) Math.ceil(0.9 * waits.size()) - 1), s.p90Wait);
+    }
+
+    @Test
+    void percentilesStayWithinRelativeErrorForLargeValues() {
+        Random random = new Random(1);
+        RunningStats stats = new RunningStats();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int v = random.nextInt(200_000);
+            values.add(v);
+            stats.record(v);
+        }
+        Collections.sort(values);
+
+        for (double p : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            double exact = values.get((int) Math.ceil(p * values.size()) - 1);
+            assertEquals(exact, stats.getPercentile(p), exact * 0.002, "p" + p);
+        }
+    }
+
+    private static double median(List<Integer> sorted) {
+        int n = sorted.size();
+        return (n % 2 == 1) ? sorted.get(n / 2) : (sorted.get(n / 2 - 1) + sorted.get(n / 2)) / 2.0;
+    }
+}
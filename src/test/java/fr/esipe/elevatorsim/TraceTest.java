@@ -0,0 +1,117 @@
+package fr.esipe.elevatorsim;
+
+import fr.esipe.elevatorsim.config.ConfigLoader;
+import fr.esipe.elevatorsim.config.ModelFactory;
+import fr.esipe.elevatorsim.config.SimulationConfig;
+import fr.esipe.elevatorsim.model.ElevatorRequest;
+import fr.esipe.elevatorsim.simulation.EngineMode;
+import fr.esipe.elevatorsim.simulation.Simulation;
+import fr.esipe.elevatorsim.simulation.SimulationClock;
+import fr.esipe.elevatorsim.simulation.SimulationOptions;
+import fr.esipe.elevatorsim.simulation.TraceEvent;
+import fr.esipe.elevatorsim.simulation.TraceReader;
+import fr.esipe.elevatorsim.strategy.StrategyFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void traceRecordsDecisionsAndSupportsSeeks() throws IOException {
+        Simulation simulation = run("cost", EngineMode.TICK, dir.resolve("tick.trace"));
+        long pickedUp = simulation.getAllRequests().stream().filter(ElevatorRequest::isPickedUp).count();
+        long activated = simulation.getAllRequests().stream()
+                .filter(r -> r.getRequestTime() < simulation.getClock().getEndTimeSeconds()).count();
+
+        try (TraceReader trace = new TraceReader(dir.resolve("tick.trace"))) {
+            long pickups = 0;
+            long activations = 0;
+            for (long i = 0; i < trace.size(); i++) {
+                pickups += (trace.type(i) == TraceEvent.PICKUP) ? 1 : 0;
+                activations += (trace.type(i) == TraceEvent.ACTIVATION) ? 1 : 0;
+                if (i > 0) {
+                    assertTrue(trace.tick(i) >= trace.tick(i - 1));
+                }
+            }
+            assertEquals(pickedUp, pickups);
+            assertEquals(activated, activations);
+
+            long first = trace.seekTime(8 * 3600);
+            assertTrue(trace.tick(first) >= 8 * 3600);
+            assertTrue(first == 0 || trace.tick(first - 1) < 8 * 3600);
+
+            // Chaînage par cabine : mêmes enregistrements qu'un parcours complet filtré
+            int elevatorId = trace.elevatorId(first) >= 0 ? trace.elevatorId(first) : 1;
+            long forward = 0;
+            for (long i = 0; i < trace.size(); i++) {
+                forward += (trace.elevatorId(i) == elevatorId) ? 1 : 0;
+            }
+            long backward = 0;
+            for (long i = trace.lastOfElevator(elevatorId); i >= 0; i = trace.previousOfElevator(i)) {
+                assertEquals(elevatorId, trace.elevatorId(i));
+                backward++;
+            }
+            assertEquals(forward, backward);
+        }
+    }
+
+    @Test
+    void verificationFindsFirstDivergence() throws IOException {
+        run("cost", EngineMode.TICK, dir.resolve("tick.trace"));
+        run("cost", EngineMode.EVENT, dir.resolve("event.trace"));
+        run("look", EngineMode.TICK, dir.resolve("look.trace"));
+
+        try (TraceReader tick = new TraceReader(dir.resolve("tick.trace"));
+             TraceReader event = new TraceReader(dir.resolve("event.trace"));
+             TraceReader look = new TraceReader(dir.resolve("look.trace"))) {
+            assertEquals(-1, tick.firstDifference(event));
+            assertNotEquals(-1, tick.firstDifference(look));
+        }
+    }
+
+    @Test
+    void traceIsIdenticalForEveryStepPath() throws IOException {
+        run("cost", EngineMode.TICK, dir.resolve("objects.trace"));
+        run("cost", EngineMode.TICK, dir.resolve("parallel.trace"), options -> options.parallelStepMinFleet = 1);
+        run("cost", EngineMode.TICK, dir.resolve("fleet.trace"), options -> options.fleetState = true);
+
+        try (TraceReader objects = new TraceReader(dir.resolve("objects.trace"));
+             TraceReader parallel = new TraceReader(dir.resolve("parallel.trace"));
+             TraceReader fleet = new TraceReader(dir.resolve("fleet.trace"))) {
+            assertEquals(-1, objects.firstDifference(parallel));
+            assertEquals(-1, objects.firstDifference(fleet));
+        }
+    }
+
+    private static Simulation run(String strategy, EngineMode mode, Path trace) {
+        return run(strategy, mode, trace, options -> { });
+    }
+
+    private static Simulation run(String strategy, EngineMode mode, Path trace, Consumer<SimulationOptions> setup) {
+        SimulationConfig config = ConfigLoader.load("config/demo-config.json");
+        SimulationOptions options = new SimulationOptions();
+        options.engineMode = mode;
+        setup.accept(options);
+        options.printSummary = false;
+        options.tracePath = trace.toString();
+        Simulation simulation = new Simulation(
+                ModelFactory.buildFromConfig(config),
+                new SimulationClock(config.simulation.dayDurationSeconds, config.simulation.tickSeconds),
+                StrategyFactory.dispatcherFromName(strategy),
+                options);
+        simulation.run();
+        simulation.close();
+        return simulation;
+    }
+}
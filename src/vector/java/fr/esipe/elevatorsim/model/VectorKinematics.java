@@ -0,0 +1,39 @@
+package fr.esipe.elevatorsim.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Cinématique de FleetState avec jdk.incubator.vector (profil Maven vector) : même
+ * expression que FleetState.scalarKinematics, opération par opération (pas de FMA),
+ * donc mêmes résultats au bit près ; la fin du tableau passe par la boucle scalaire.
+ *
+ * Chargée par FleetState avec -Delevatorsim.vector=true et
+ * --add-modules jdk.incubator.vector à l'exécution.
+ */
+final class VectorKinematics implements FleetState.Kinematics {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void advance(int n, int tickSeconds, double[] elapsed, double[] start,
+                        double[] p0, double[] v0, double[] a,
+                        double[] outElapsed, double[] outPosition, double[] outVelocity) {
+        int bound = SPECIES.loopBound(n);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, elapsed, i).add(tickSeconds);
+            DoubleVector dt = t.sub(DoubleVector.fromArray(SPECIES, start, i));
+            DoubleVector acc = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector speed = DoubleVector.fromArray(SPECIES, v0, i);
+            t.intoArray(outElapsed, i);
+            DoubleVector.fromArray(SPECIES, p0, i)
+                    .add(speed.mul(dt))
+                    .add(acc.mul(0.5).mul(dt).mul(dt))
+                    .intoArray(outPosition, i);
+            speed.add(acc.mul(dt)).intoArray(outVelocity, i);
+        }
+        FleetState.scalarKinematics(i, n, tickSeconds, elapsed, start, p0, v0, a,
+                outElapsed, outPosition, outVelocity);
+    }
+}